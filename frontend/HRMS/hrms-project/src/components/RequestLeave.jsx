@@ -5,7 +5,6 @@ import { toast } from 'react-toastify';
 import './Menu.css';
 
 const API = 'http://localhost:8080/api/leave';
-const EMP_LEAV_API = 'http://localhost:8080/api/employees/t-leaves';
 
 /**
  * Normalize many possible backend shapes into one stable object structure.
@@ -57,24 +56,8 @@ const RequestLeave = () => {
       });
   };
 
-  // Update employee approved leave counts in employees table (legacy flow)
-  useEffect(() => {
-    if (leave.length === 0) return;
-    const uniqueEmails = [...new Set(leave.map(lv => lv.email).filter(Boolean))];
-    const approvedCounts = {};
-    leave.forEach(lv => {
-      if (lv.response && lv.response.toLowerCase() === 'yes') {
-        approvedCounts[lv.email] = (approvedCounts[lv.email] || 0) + 1;
-      }
-    });
-    uniqueEmails.forEach(email => {
-      const count = approvedCounts[email] || 0;
-      axios.put(EMP_LEAV_API, { email, leaves: count })
-        .then(() => console.debug(`Updated ${email} -> ${count}`))
-        .catch(err => console.error('Error updating employee leaves:', err));
-    });
-    // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [leave]);
+  // Approved leave counts (employees.leaves) are maintained by the backend when a
+  // leave is approved or rejected; see GET /api/leave/balance?email=
 
   /**
    * handleResponse
@@ -6,7 +6,7 @@ import "../components/NavBar.css";
 import "../components/EmpApprLeave.css"; // <-- new scoped styles
 
 const API = "http://localhost:8080/api/leave";
-const EMP_LEAV_API = "http://localhost:8080/api/employees/t-leaves";
+const BALANCE_API = "http://localhost:8080/api/leave/balance";
 
 // normalize backend responses to a consistent object
 function normalizeLeave(raw) {
@@ -22,41 +22,28 @@ function normalizeLeave(raw) {
 const EmpApprLeave = () => {
   const { email } = useContext(EmailContext);
   const [leaves, setLeaves] = useState([]);
+  const [approvedLeaveDays, setApprovedLeaveDays] = useState(0);
 
-  // load leaves from API
+  // load this employee's leaves, and the approved days from the ledger the backend keeps
   useEffect(() => {
+    if (!email) return;
     axios
-      .get(API)
+      .get(API, { params: { email } })
       .then((res) => {
         const arr = Array.isArray(res.data) ? res.data : [];
         setLeaves(arr.map(normalizeLeave));
       })
       .catch((err) => console.error("Failed to load leaves:", err));
-  }, []);
-
-  const filteredLeaves = leaves.filter(
-    (lv) => (lv.email || "").toLowerCase() === (email || "").toLowerCase()
-  );
-  const approvedLeavesCount = filteredLeaves.filter(
-    (lv) => lv.status === "APPROVED"
-  ).length;
-
-  // update employee approved leave count in backend
-  useEffect(() => {
-    if (email) {
-      axios
-        .put(EMP_LEAV_API, { email, leaves: approvedLeavesCount })
-        .then(() => console.log("Employee leave count updated"))
-        .catch((err) =>
-          console.log("Failed to update employee leave count:", err)
-        );
-    }
-  }, [email, approvedLeavesCount]);
+    axios
+      .get(BALANCE_API, { params: { email } })
+      .then((res) => setApprovedLeaveDays(res.data?.approvedLeaveDays ?? 0))
+      .catch((err) => console.error("Failed to load leave balance:", err));
+  }, [email]);
 
   return (
     <div className="emp-apr-leave-first-div">
       <h1>My Leave Requests</h1>
-      <h2>Total Approved Leaves: {approvedLeavesCount}</h2>
+      <h2>Approved Leave Days: {approvedLeaveDays}</h2>
 
       <div className="emp-apr-table-wrap">
         <table className="emp-apr-leave-first-div-table">
@@ -70,8 +57,8 @@ const EmpApprLeave = () => {
             </tr>
           </thead>
           <tbody>
-            {filteredLeaves.length > 0 ? (
-              filteredLeaves.map((lv) => (
+            {leaves.length > 0 ? (
+              leaves.map((lv) => (
                 <tr key={lv.id}>
                   <td>{lv.id}</td>
                   <td>{lv.email}</td>
@@ -0,0 +1,28 @@
+package com.hrms.controller;
+
+import com.hrms.entity.Attendance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status parsing done for every single and bulk attendance mark.
+ * The canonical spelling hits Enum.valueOf; the others fall through to the
+ * exception + fuzzy matching path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class AttendanceControllerBenchmark {
+
+    @Param({"FULL_DAY", "half-day", "Absent ", "unknown"})
+    public String raw;
+
+    @Benchmark
+    public Attendance.Status parseStatus() {
+        return AttendanceController.parseStatus(raw);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hrms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hrms.dto.EmployeeView;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.Employee;
+import com.hrms.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the list payloads returned by /api/attendance and /api/employees,
+ * each row carrying its nested User. The mapper is built the way Spring Boot builds
+ * the application's (ISO dates, unknown properties ignored).
+ * employeeViewList is the same employees as the EmployeeView records /api/employees
+ * now returns, for comparison with employeeList.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ObjectWriter attendanceWriter;
+    private ObjectWriter employeeWriter;
+    private ObjectWriter employeeViewWriter;
+    private List<Attendance> attendance;
+    private List<Employee> employees;
+    private List<EmployeeView> employeeViews;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        attendanceWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Attendance.class));
+        employeeWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+        employeeViewWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, EmployeeView.class));
+
+        // fixed data: one user per ten attendance rows, one user per employee
+        attendance = new ArrayList<>(rows);
+        employees = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        Attendance.Status[] statuses = Attendance.Status.values();
+        for (int i = 0; i < rows; i++) {
+            User user = user(i / 10);
+            attendance.add(Attendance.builder()
+                    .attendanceId(i + 1)
+                    .user(user)
+                    .date(start.plusDays(i % 365))
+                    .checkIn(LocalTime.of(9, i % 60))
+                    .status(statuses[i % statuses.length])
+                    .build());
+            employees.add(Employee.builder()
+                    .employeeId(i + 1)
+                    .user(user(i))
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .address(i + " Main Street")
+                    .department(i % 2 == 0 ? "ENG" : "OPS")
+                    .position("Engineer")
+                    .phone("555-01" + (i % 100))
+                    .salary(50_000.0 + i)
+                    .gender("other")
+                    .hireDate(java.sql.Date.valueOf(start.minusDays(i)))
+                    .leaves(i % 5)
+                    .build());
+        }
+        employeeViews = new ArrayList<>(rows);
+        for (Employee e : employees) {
+            User u = e.getUser();
+            employeeViews.add(new EmployeeView(e.getEmployeeId(), e.getFirstName(), e.getLastName(), e.getAddress(),
+                    e.getAddress2(), e.getDepartment(), e.getPosition(), e.getPhone(), e.getSalary(), e.getGender(),
+                    e.getHireDate(), e.getLeaves(), e.getVersion(), e.getUpdatedAt(),
+                    u.getUserId(), u.getEmail(), u.getFirstName(), u.getLastName()));
+        }
+    }
+
+    private static User user(int id) {
+        return User.builder()
+                .userId(id + 1)
+                .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+                .email("user" + id + "@example.com")
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .passwordHash("$2a$10$abcdefghijklmnopqrstuv")
+                .role(User.Role.EMPLOYEE)
+                .status(User.Status.ACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] attendanceList() throws Exception {
+        return attendanceWriter.writeValueAsBytes(attendance);
+    }
+
+    @Benchmark
+    public byte[] employeeList() throws Exception {
+        return employeeWriter.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] employeeViewList() throws Exception {
+        return employeeViewWriter.writeValueAsBytes(employeeViews);
+    }
+}
@@ -0,0 +1,43 @@
+package com.hrms.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Employee.getFullName runs once per employee every time an employee list is serialized.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class EmployeeBenchmark {
+
+    private Employee both;
+    private Employee firstOnly;
+    private Employee padded;
+
+    @Setup
+    public void setUp() {
+        both = Employee.builder().firstName("Ada").lastName("Lovelace").build();
+        firstOnly = Employee.builder().firstName("Ada").build();
+        padded = Employee.builder().firstName("  Ada ").lastName(" Lovelace  ").build();
+    }
+
+    @Benchmark
+    public String fullNameBoth() {
+        return both.getFullName();
+    }
+
+    @Benchmark
+    public String fullNameFirstOnly() {
+        return firstOnly.getFullName();
+    }
+
+    @Benchmark
+    public String fullNamePadded() {
+        return padded.getFullName();
+    }
+}
@@ -0,0 +1,70 @@
+package com.hrms.service;
+
+import com.hrms.dao.HolidayRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date validation run by markAttendance before it touches the database.
+ * "today" is pinned so results do not depend on the day the benchmark runs;
+ * the rejected cases include the cost of building the exception. The working-day
+ * check is a bit test in the calendar's prebuilt year (built once in setup).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class AttendanceValidationBenchmark {
+
+    // a Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2025, 9, 17);
+
+    // a Thursday, declared a public holiday below
+    private static final LocalDate HOLIDAY = TODAY.plusDays(1);
+
+    @Param({"today", "past", "future", "weekend", "holiday"})
+    public String kind;
+
+    private LocalDate date;
+    private LocalDate today;
+    private WorkingDayCalendar calendar;
+
+    @Setup
+    public void setUp() {
+        switch (kind) {
+            case "today" -> { date = TODAY; today = TODAY; }
+            case "past" -> { date = TODAY.minusDays(1); today = TODAY; }
+            case "future" -> { date = TODAY.plusDays(1); today = TODAY; }
+            // a Saturday that is also "today"
+            case "weekend" -> { date = TODAY.plusDays(3); today = TODAY.plusDays(3); }
+            // a public holiday that is also "today"
+            default -> { date = HOLIDAY; today = HOLIDAY; }
+        }
+        HolidayRepository holidays = (HolidayRepository) Proxy.newProxyInstance(
+                HolidayRepository.class.getClassLoader(), new Class<?>[]{HolidayRepository.class},
+                (proxy, method, args) -> {
+                    if ("findPublicHolidayDates".equals(method.getName())) return List.of(HOLIDAY);
+                    throw new UnsupportedOperationException("HolidayRepository." + method.getName());
+                });
+        calendar = new WorkingDayCalendar(holidays, EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+        calendar.isWorkingDay(TODAY);   // build the year outside the measurement
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            AttendanceService.validateMarkableDate(date, today, calendar);
+            return Boolean.TRUE;
+        } catch (IllegalArgumentException rejected) {
+            return rejected;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.hrms.service;
+
+import com.hrms.dao.AdminRepository;
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.HrManagerRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserService.authenticate with the same BCrypt encoder the application wires
+ * (SecurityConfig). The user is served from the lookup cache after the first call,
+ * so this measures the cache copy plus BCrypt verification, not the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class AuthenticateBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = new BCryptPasswordEncoder();
+        User user = User.builder()
+                .userId(1)
+                .email(EMAIL)
+                .passwordHash(encoder.encode(PASSWORD))
+                .role(User.Role.EMPLOYEE)
+                .status(User.Status.ACTIVE)
+                .build();
+
+        UserRepository users = stub(UserRepository.class, (method, args) ->
+                "findByEmail".equals(method) && EMAIL.equals(args[0]) ? Optional.of(user) : Optional.empty());
+        userService = new UserService(users, encoder,
+                stub(EmployeeRepository.class, null),
+                stub(AdminRepository.class, null),
+                stub(HrManagerRepository.class, null),
+                new UserLookupCache(1_000, Duration.ofHours(1)));
+    }
+
+    @Benchmark
+    public Optional<User> correctPassword() {
+        return userService.authenticate(EMAIL, PASSWORD);
+    }
+
+    @Benchmark
+    public Optional<User> wrongPassword() {
+        return userService.authenticate(EMAIL, "wrong password");
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    // repositories are interfaces; answer the one lookup authenticate makes and fail on anything else
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            if (answer == null) throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            return answer.answer(method.getName(), args);
+        });
+    }
+}
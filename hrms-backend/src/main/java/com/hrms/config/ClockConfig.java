@@ -0,0 +1,31 @@
+package com.hrms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * The clock "today" is read from when validating attendance dates.
+ *
+ * hrms.clock.fixed-date pins the date (the time of day still advances), so load
+ * tests and demos can mark attendance on a known working day. Leave it empty in production.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock(@Value("${hrms.clock.fixed-date:}") String fixedDate) {
+        Clock system = Clock.systemDefaultZone();
+        if (fixedDate == null || fixedDate.isBlank()) return system;
+
+        ZoneId zone = system.getZone();
+        LocalDate pinned = LocalDate.parse(fixedDate.trim());
+        Duration shift = Duration.between(LocalDate.now(system).atStartOfDay(zone), pinned.atStartOfDay(zone));
+        return Clock.offset(system, shift);
+    }
+}
@@ -0,0 +1,128 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds how many callers may hold or wait for a pooled connection.
+ *
+ * With virtual threads there is no request-thread cap, so thousands of requests can
+ * block inside the pool at once. This wrapper admits at most {@code permits} callers
+ * to the pool (one per pooled connection) and at most {@code maxWaiting} more waiting
+ * for a permit; beyond that, or after {@code acquireTimeout}, getConnection fails fast
+ * with SQLTransientConnectionException instead of queueing.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile Counter rejected;
+
+    public ConnectionLimitingDataSource(DataSource target, int permits, int maxWaiting, Duration acquireTimeout) {
+        super(target);
+        if (permits < 1) throw new IllegalArgumentException("permits must be >= 1");
+        if (maxWaiting < 0) throw new IllegalArgumentException("maxWaiting must be >= 0");
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) return;
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            throw reject("connection wait queue is full (" + maxWaiting + " waiting)");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw reject("timed out waiting for a connection permit");
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("interrupted waiting for a connection permit", ie);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private SQLTransientConnectionException reject(String message) {
+        Counter counter = rejected;
+        if (counter != null) counter.increment();
+        return new SQLTransientConnectionException(message);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    // hand out a connection whose close() returns the permit exactly once
+    private Connection limited(ConnectionSource source) throws SQLException {
+        Connection target;
+        try {
+            target = source.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            target.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hrms.jdbc.limiter.waiting", waiting, AtomicInteger::get)
+                .description("Callers waiting for a connection permit")
+                .register(registry);
+        Gauge.builder("hrms.jdbc.limiter.available", permits, Semaphore::availablePermits)
+                .description("Connection permits currently free")
+                .register(registry);
+        rejected = Counter.builder("hrms.jdbc.limiter.rejected")
+                .description("getConnection calls rejected because the wait queue was full or timed out")
+                .register(registry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.time.Duration;
+
+/**
+ * Request and background execution.
+ *
+ * @Async methods run on Spring Boot's application task executor. With the
+ * "virtual-threads" profile (spring.threads.virtual.enabled=true) Tomcat request
+ * handling and that executor both use virtual threads, and the connection limiter
+ * below is switched on so the pool cannot turn into an unbounded queue.
+ */
+@Configuration
+@EnableAsync
+public class ExecutionConfig {
+
+    // HikariCP's maximumPoolSize when none is configured (it reports -1 until the pool starts)
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    @ConditionalOnProperty(name = "hrms.datasource.limiter.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionLimiter(
+            @Value("${hrms.datasource.limiter.max-waiting:200}") int maxWaiting,
+            @Value("${hrms.datasource.limiter.acquire-timeout:5s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // one permit per pooled connection, so callers queue here rather than inside Hikari
+                if (bean instanceof HikariDataSource hikari) {
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                    return new ConnectionLimitingDataSource(hikari, poolSize, maxWaiting, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
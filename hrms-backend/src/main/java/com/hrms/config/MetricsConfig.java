@@ -0,0 +1,53 @@
+package com.hrms.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of what Actuator binds itself (http.server.requests,
+ * hikaricp.*, hibernate.*, jvm.*): @Timed service methods and per-request Hibernate work.
+ * Everything is exported at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // makes @Timed work on Spring beans (e.g. UserService.authenticate)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public RequestQueryMetrics requestQueryMetrics(ObjectProvider<MeterRegistry> registry) {
+        return new RequestQueryMetrics(registry);
+    }
+
+    // count every statement Hibernate prepares
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounting(RequestQueryMetrics requestQueryMetrics) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, requestQueryMetrics);
+    }
+
+    // count entity loads and flushes (appended after Hibernate's own listeners)
+    @Bean
+    public SmartInitializingSingleton requestHibernateEventCounting(EntityManagerFactory entityManagerFactory,
+                                                                    RequestQueryMetrics requestQueryMetrics) {
+        return () -> {
+            EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_LOAD, requestQueryMetrics);
+            listeners.appendListeners(EventType.FLUSH, requestQueryMetrics);
+            listeners.appendListeners(EventType.AUTO_FLUSH, requestQueryMetrics);
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.hrms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica routing, on when hrms.datasource.replica.enabled=true.
+ *
+ * Two Hikari pools, the primary (spring.datasource.*) and the replica
+ * (hrms.datasource.replica.*), behind a {@link ReadWriteRoutingDataSource} that becomes
+ * the application's DataSource. Requests to {@link ReplicaReads} endpoints run their
+ * read-only transactions on the replica; all other work, and every write, uses the primary.
+ * Both pools are HikariDataSource beans, so with hrms.datasource.limiter.enabled each gets
+ * its own connection limiter (ExecutionConfig).
+ */
+@Configuration
+@ConditionalOnProperty(name = "hrms.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("hrms-primary");
+        return primary;
+    }
+
+    @Bean
+    @ConfigurationProperties("hrms.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("hrms-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AsyncHandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod method
+                        && (method.hasMethodAnnotation(ReplicaReads.class)
+                        || method.getBeanType().isAnnotationPresent(ReplicaReads.class))) {
+                    ReadWriteRoutingDataSource.allowStaleReads();
+                }
+                return true;
+            }
+
+            // streamed bodies are written on another thread, which never sees the setting
+            @Override
+            public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                       Object handler) {
+                ReadWriteRoutingDataSource.clearStaleReads();
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                        Exception ex) {
+                ReadWriteRoutingDataSource.clearStaleReads();
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.hrms.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends a connection request to the replica when the current thread accepts stale reads
+ * (see {@link ReplicaReads}) and is inside a read-only transaction; to the primary otherwise.
+ *
+ * The decision is made when the physical connection is taken, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction manager asks for a connection before the
+ * transaction's read-only flag is published, the proxy only fetches one at the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> STALE_READS_ALLOWED = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Run work with stale reads allowed on this thread (restoring the previous setting after).
+     */
+    public static <T> T withStaleReads(Supplier<T> work) {
+        Boolean previous = STALE_READS_ALLOWED.get();
+        STALE_READS_ALLOWED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) STALE_READS_ALLOWED.remove();
+            else STALE_READS_ALLOWED.set(previous);
+        }
+    }
+
+    static void allowStaleReads() {
+        STALE_READS_ALLOWED.set(Boolean.TRUE);
+    }
+
+    static void clearStaleReads() {
+        STALE_READS_ALLOWED.remove();
+    }
+
+    public static Route currentRoute() {
+        return Boolean.TRUE.equals(STALE_READS_ALLOWED.get())
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentRoute();
+    }
+}
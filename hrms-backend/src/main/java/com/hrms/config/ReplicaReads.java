@@ -0,0 +1,22 @@
+package com.hrms.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint (or every endpoint of a controller) as tolerant of replication lag:
+ * its read-only transactions may be served by the read replica when
+ * hrms.datasource.replica.enabled=true. Without it, reads go to the primary.
+ *
+ * Only for endpoints that read, and that answer from projections or uncached queries:
+ * entities loaded from the replica would be put into the second-level cache and
+ * served from there to endpoints that expect fresh data.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ReplicaReads {
+}
@@ -0,0 +1,107 @@
+package com.hrms.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Hibernate work done per HTTP request: JDBC statements prepared, entities loaded
+ * and flushes, recorded as distribution summaries tagged with the request's method
+ * and URI template (hrms.request.jdbc.statements, .entity.loads, .flushes).
+ *
+ * Counts are collected on the request thread, so work handed to other threads
+ * (streamed response bodies, payroll writers) is not attributed to the request.
+ */
+public class RequestQueryMetrics extends OncePerRequestFilter
+        implements StatementInspector, PostLoadEventListener, FlushEventListener, AutoFlushEventListener {
+
+    private static final int STATEMENTS = 0;
+    private static final int LOADS = 1;
+    private static final int FLUSHES = 2;
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public RequestQueryMetrics(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long[] counts = new long[3];
+        CURRENT.set(counts);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            record(request, counts);
+        }
+    }
+
+    private void record(HttpServletRequest request, long[] counts) {
+        MeterRegistry meters = registry.getIfAvailable();
+        if (meters == null) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        summary(meters, "hrms.request.jdbc.statements", "JDBC statements prepared per request", method, uri)
+                .record(counts[STATEMENTS]);
+        summary(meters, "hrms.request.entity.loads", "Entities loaded per request", method, uri)
+                .record(counts[LOADS]);
+        summary(meters, "hrms.request.flushes", "Persistence-context flushes per request", method, uri)
+                .record(counts[FLUSHES]);
+    }
+
+    private static DistributionSummary summary(MeterRegistry meters, String name, String description,
+                                               String method, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meters);
+    }
+
+    private static void increment(int counter) {
+        long[] counts = CURRENT.get();
+        if (counts != null) counts[counter]++;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        increment(STATEMENTS);
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        increment(LOADS);
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        increment(FLUSHES);
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        // runs after Hibernate's own listener has decided whether the query needed a flush
+        if (event.isFlushRequired()) increment(FLUSHES);
+    }
+}
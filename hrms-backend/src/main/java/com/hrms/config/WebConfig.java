@@ -33,8 +33,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 // allow common headers from client
                 .allowedHeaders("*")
-                // expose any headers you need in the client (for example Set-Cookie if needed)
-                .exposedHeaders("Set-Cookie");
+                // expose any headers you need in the client (for example Set-Cookie if needed);
+                // ETag and X-Sync-Watermark drive conditional list reloads and ?changedSince= deltas
+                .exposedHeaders("Set-Cookie", "ETag", "X-Sync-Watermark");
     }
 
     /**
@@ -50,6 +51,8 @@ public class WebConfig implements WebMvcConfigurer {
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.addAllowedHeader(CorsConfiguration.ALL);
         config.addExposedHeader("Set-Cookie");
+        config.addExposedHeader("ETag");
+        config.addExposedHeader("X-Sync-Watermark");
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -1,14 +1,35 @@
 package com.hrms.controller;
 
-import com.hrms.dao.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hrms.config.ReplicaReads;
+import com.hrms.dto.AttendanceFilter;
+import com.hrms.dto.AttendanceView;
+import com.hrms.dto.AttendanceImportReport;
+import com.hrms.dto.BulkAttendanceRequest;
+import com.hrms.dto.BulkAttendanceResult;
 import com.hrms.entity.Attendance;
+import com.hrms.entity.AuditEvent;
 import com.hrms.entity.User;
+import com.hrms.service.AttendanceImportService;
 import com.hrms.service.AttendanceService;
+import com.hrms.service.AttendanceSummaryService;
+import com.hrms.service.AuditLog;
+import com.hrms.service.UserService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.DayOfWeek;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @RestController
@@ -16,49 +37,107 @@ import java.util.*;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class AttendanceController {
 
+    private static final int MAX_BULK_ENTRIES = 1000;
+
     private final AttendanceService attendanceService;
-    private final UserRepository userRepository;
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceImportService importService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final AuditLog auditLog;
 
-    public AttendanceController(AttendanceService attendanceService, UserRepository userRepository) {
+    public AttendanceController(AttendanceService attendanceService, AttendanceSummaryService summaryService,
+                                AttendanceImportService importService, UserService userService,
+                                ObjectMapper objectMapper, Clock clock, AuditLog auditLog) {
         this.attendanceService = attendanceService;
-        this.userRepository = userRepository;
+        this.summaryService = summaryService;
+        this.importService = importService;
+        this.userService = userService;
+        this.clock = clock;
+        this.auditLog = auditLog;
+        // streaming copy: let the generator buffer rows instead of flushing after each one
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
-    @GetMapping("")
-    public ResponseEntity<?> getAttendance(@RequestParam(required = false) Integer userId) {
+    @ReplicaReads
+    @GetMapping(path = "", params = "userId")
+    public ResponseEntity<?> getAttendance(@RequestParam Integer userId) {
         try {
-            List<Attendance> list;
-            if (userId != null) {
-                list = attendanceService.getAttendanceForUser(userId);
-            } else {
-                list = attendanceService.getAllAttendance();
-            }
-            list.forEach(a -> { if (a.getUser() != null) a.getUser().setPasswordHash(null); });
-            return ResponseEntity.ok(list);
+            return ResponseEntity.ok(attendanceService.getAttendanceForUser(userId));
         } catch (Exception ex) {
             ex.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "Server error"));
         }
     }
 
-    @GetMapping("/all")
-    public ResponseEntity<?> getAllAttendance() {
+    // Every row as one JSON array of AttendanceView, written row by row instead of built in memory.
+    // Each row carries only a UserSummary (no User entity, so no password hash).
+    @GetMapping(path = {"", "/all"}, params = "!userId")
+    public ResponseEntity<StreamingResponseBody> getAllAttendance() {
+        return streamJson(new AttendanceFilter());
+    }
+
+    /**
+     * Cursor-paginated listing, newest first.
+     * GET /api/attendance/page?userId=&department=&from=2025-01-01&to=2025-01-31&size=50&cursor=
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getAttendancePage(@RequestParam(required = false) Integer userId,
+                                               @RequestParam(required = false) String department,
+                                               @RequestParam(required = false) LocalDate from,
+                                               @RequestParam(required = false) LocalDate to,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size) {
         try {
-            List<Attendance> list = attendanceService.getAllAttendance();
-            list.forEach(a -> { if (a.getUser() != null) a.getUser().setPasswordHash(null); });
-            return ResponseEntity.ok(list);
+            AttendanceFilter filter = new AttendanceFilter(userId, blankToNull(department), from, to);
+            return ResponseEntity.ok(attendanceService.getAttendancePage(filter, cursor, size));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
         } catch (Exception ex) {
             ex.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "Server error"));
         }
     }
 
+    /**
+     * Filtered listing streamed as one JSON array; heap use does not grow with the result size.
+     * GET /api/attendance/stream?userId=&department=&from=&to=
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAttendance(@RequestParam(required = false) Integer userId,
+                                                                  @RequestParam(required = false) String department,
+                                                                  @RequestParam(required = false) LocalDate from,
+                                                                  @RequestParam(required = false) LocalDate to) {
+        return streamJson(new AttendanceFilter(userId, blankToNull(department), from, to));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamJson(AttendanceFilter filter) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                attendanceService.forEachAttendance(filter, a -> {
+                    try {
+                        objectMapper.writeValue(gen, a);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException(ioe);
+                    }
+                });
+                gen.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    @ReplicaReads
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getAttendanceForUserPath(@PathVariable Integer userId) {
         try {
-            List<Attendance> list = attendanceService.getAttendanceForUser(userId);
-            list.forEach(a -> { if (a.getUser() != null) a.getUser().setPasswordHash(null); });
-            return ResponseEntity.ok(list);
+            return ResponseEntity.ok(attendanceService.getAttendanceForUser(userId));
         } catch (IllegalArgumentException iae) {
             return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
         } catch (Exception ex) {
@@ -76,18 +155,8 @@ public class AttendanceController {
             }
             LocalDate date = LocalDate.parse(dateObj.toString());
 
-            // server-side validation: past/future/weekend
-            LocalDate today = LocalDate.now();
-            if (date.isBefore(today)) {
-                return ResponseEntity.badRequest().body(Map.of("error", "You cannot mark past days' attendance"));
-            }
-            if (date.isAfter(today)) {
-                return ResponseEntity.badRequest().body(Map.of("error", "You cannot mark future days' attendance"));
-            }
-            DayOfWeek dow = date.getDayOfWeek();
-            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
-                return ResponseEntity.badRequest().body(Map.of("error", "This is a holiday. You cannot mark attendance on weekends"));
-            }
+            // server-side validation: past/future/weekend/holiday (same rule the service enforces)
+            attendanceService.validateMarkableDate(date);
 
             // determine userId
             Integer userId = null;
@@ -102,7 +171,7 @@ public class AttendanceController {
 
             if (userId == null && body.containsKey("email")) {
                 String email = body.get("email").toString().trim().toLowerCase(Locale.ROOT);
-                Optional<User> userOpt = userRepository.findByEmail(email);
+                Optional<User> userOpt = userService.findByEmail(email);
                 if (userOpt.isEmpty()) {
                     return ResponseEntity.badRequest().body(Map.of("error", "User with email not found"));
                 }
@@ -131,10 +200,29 @@ public class AttendanceController {
             }
 
             Attendance saved = attendanceService.markAttendance(userId, date, status);
+            auditLog.publish(AuditEvent.Action.ATTENDANCE_MARKED, AuditEvent.SubjectType.USER, userId,
+                    "date=" + date + " status=" + status);
+            return ResponseEntity.ok(AttendanceView.of(saved));
 
-            if (saved.getUser() != null) saved.getUser().setPasswordHash(null);
-            return ResponseEntity.ok(saved);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
 
+    /**
+     * Per-employee FULL_DAY / HALF_DAY / ABSENT counts for one month, served from the
+     * maintained summary table. GET /api/attendance/summary?month=2025-09
+     */
+    @ReplicaReads
+    @GetMapping("/summary")
+    public ResponseEntity<?> getMonthlySummary(@RequestParam String month) {
+        try {
+            return ResponseEntity.ok(summaryService.getMonth(YearMonth.parse(month.trim())));
+        } catch (DateTimeParseException dtpe) {
+            return ResponseEntity.badRequest().body(Map.of("error", "month must be yyyy-MM"));
         } catch (IllegalArgumentException iae) {
             return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
         } catch (Exception ex) {
@@ -143,7 +231,108 @@ public class AttendanceController {
         }
     }
 
-    private Attendance.Status parseStatus(String raw) {
+    /**
+     * Recompute summaries from the attendance table: one month if ?month= is given, otherwise every month.
+     */
+    @PostMapping("/summary/rebuild")
+    public ResponseEntity<?> rebuildMonthlySummary(@RequestParam(required = false) String month) {
+        try {
+            if (month == null || month.isBlank()) {
+                return ResponseEntity.ok(Map.of("monthsRebuilt", summaryService.rebuildAll()));
+            }
+            YearMonth ym = YearMonth.parse(month.trim());
+            return ResponseEntity.ok(Map.of("month", ym.toString(), "rows", summaryService.rebuild(ym)));
+        } catch (DateTimeParseException dtpe) {
+            return ResponseEntity.badRequest().body(Map.of("error", "month must be yyyy-MM"));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
+
+    /**
+     * Mark a whole shift in one request.
+     * Body: { "date": "2025-09-17", "entries": [ { "userId": 5, "status": "FULL_DAY" },
+     *                                           { "email": "a@b.com", "status": "half day" } ] }
+     * Returns one result per entry, in request order.
+     */
+    @PostMapping("/mark/bulk")
+    public ResponseEntity<?> markAttendanceBulk(@RequestBody BulkAttendanceRequest body) {
+        try {
+            List<BulkAttendanceRequest.Entry> entries = body.getEntries() == null ? List.of() : body.getEntries();
+            if (entries.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "entries are required"));
+            }
+            if (entries.size() > MAX_BULK_ENTRIES) {
+                return ResponseEntity.badRequest().body(Map.of("error", "at most " + MAX_BULK_ENTRIES + " entries per request"));
+            }
+            LocalDate date = body.getDate() != null ? body.getDate() : LocalDate.now(clock);
+
+            // entries we can reject without touching the database are answered here
+            BulkAttendanceResult[] results = new BulkAttendanceResult[entries.size()];
+            List<AttendanceService.BulkMark> marks = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                BulkAttendanceRequest.Entry e = entries.get(i);
+                String email = e == null || e.getEmail() == null || e.getEmail().isBlank() ? null : e.getEmail();
+                Integer userId = e == null ? null : e.getUserId();
+                Attendance.Status status = e == null ? null : parseStatus(e.getStatus());
+                if (userId == null && email == null) {
+                    results[i] = new BulkAttendanceResult(i, null, null,
+                            BulkAttendanceResult.Outcome.INVALID, "userId or email is required");
+                } else if (status == null) {
+                    results[i] = new BulkAttendanceResult(i, userId, email,
+                            BulkAttendanceResult.Outcome.INVALID, "unknown status: " + e.getStatus());
+                } else {
+                    marks.add(new AttendanceService.BulkMark(i, userId, email, status));
+                }
+            }
+
+            for (BulkAttendanceResult r : attendanceService.markAttendanceBulk(date, marks)) {
+                results[r.getIndex()] = r;
+                if (r.getOutcome() == BulkAttendanceResult.Outcome.MARKED) {
+                    auditLog.publish(AuditEvent.Action.ATTENDANCE_MARKED, AuditEvent.SubjectType.USER, r.getUserId(),
+                            "date=" + date + " status=" + parseStatus(entries.get(r.getIndex()).getStatus()) + " bulk");
+                }
+            }
+            long marked = Arrays.stream(results)
+                    .filter(r -> r.getOutcome() == BulkAttendanceResult.Outcome.MARKED)
+                    .count();
+            return ResponseEntity.ok(Map.of("date", date, "marked", marked, "results", Arrays.asList(results)));
+
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
+
+    /**
+     * HR import of a biometric/turnstile punch dump (multipart field "file", CSV).
+     * Any date up to today; existing rows for the same (user, date) are merged, not duplicated.
+     * Returns counts plus a row-level error report.
+     */
+    @PostMapping(path = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importPunches(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "file is required"));
+        }
+        try (InputStream in = file.getInputStream()) {
+            AttendanceImportReport report = importService.importCsv(in);
+            auditLog.publish(AuditEvent.Action.ATTENDANCE_IMPORTED, AuditEvent.SubjectType.FILE,
+                    file.getOriginalFilename(), "userDays=" + report.userDays() + " inserted=" + report.inserted()
+                            + " updated=" + report.updated() + " errors=" + report.errorCount());
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error importing attendance"));
+        }
+    }
+
+    // package-private static: pure function, exercised directly by the JMH benchmarks
+    static Attendance.Status parseStatus(String raw) {
         if (raw == null) return null;
         String s = raw.trim().toUpperCase(Locale.ROOT);
 
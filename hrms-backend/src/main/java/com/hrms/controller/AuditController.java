@@ -0,0 +1,82 @@
+package com.hrms.controller;
+
+import com.hrms.config.ReplicaReads;
+import com.hrms.dao.AuditEventRepository;
+import com.hrms.entity.AuditEvent;
+import com.hrms.service.AuditLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read side of the HR audit trail (written asynchronously by AuditLog).
+ */
+@RestController
+@RequestMapping("/api/audit")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class AuditController {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditEventRepository auditRepo;
+    private final AuditLog auditLog;
+
+    public AuditController(AuditEventRepository auditRepo, AuditLog auditLog) {
+        this.auditRepo = auditRepo;
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Newest first. Every filter is optional; from is inclusive, to exclusive (ISO-8601 instants).
+     * Page on by passing the last auditId as beforeId.
+     * GET /api/audit?actor=user:7&subjectType=LEAVE&subjectId=42&from=2025-09-01T00:00:00Z&to=&limit=100&beforeId=
+     */
+    @ReplicaReads
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam(required = false) String actor,
+                                    @RequestParam(required = false) String subjectType,
+                                    @RequestParam(required = false) String subjectId,
+                                    @RequestParam(required = false) String from,
+                                    @RequestParam(required = false) String to,
+                                    @RequestParam(required = false) Long beforeId,
+                                    @RequestParam(required = false) Integer limit) {
+        if (!auditLog.isQueryable()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                    .body(Map.of("error", "audit events are written to a file (hrms.audit.sink=file) and cannot be queried here"));
+        }
+        try {
+            int n = limit == null ? DEFAULT_LIMIT : limit;
+            if (n < 1 || n > MAX_LIMIT) {
+                throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+            }
+            AuditEvent.SubjectType type = blank(subjectType) ? null
+                    : AuditEvent.SubjectType.valueOf(subjectType.trim().toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(auditRepo.search(
+                    blank(actor) ? null : actor.trim(),
+                    type,
+                    blank(subjectId) ? null : subjectId.trim(),
+                    blank(from) ? null : Instant.parse(from.trim()),
+                    blank(to) ? null : Instant.parse(to.trim()),
+                    beforeId,
+                    Limit.of(n)));
+        } catch (DateTimeParseException dtpe) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from and to must be ISO-8601 instants, e.g. 2025-09-01T00:00:00Z"));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
+
+    private static boolean blank(String s) {
+        return s == null || s.isBlank();
+    }
+}
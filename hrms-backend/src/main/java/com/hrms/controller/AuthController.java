@@ -12,6 +12,7 @@ import jakarta.servlet.http.HttpSession;
 import java.net.URI;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -44,7 +45,7 @@ public class AuthController {
     @PostMapping(path = "/api/register", consumes = "application/json")
     public ResponseEntity<?> registerJson(@RequestBody RegistrationRequest req) {
         try {
-            String email = (req.getEmail() == null ? "" : req.getEmail().trim()).toLowerCase();
+            String email = (req.getEmail() == null ? "" : req.getEmail().trim()).toLowerCase(Locale.ROOT);
             String rawPassword = req.getPassword() == null ? "" : req.getPassword();
 
             if (email.isEmpty() || rawPassword.isEmpty()) {
@@ -69,9 +70,7 @@ public class AuthController {
 
             User created = userService.register(user);
 
-            // don't return password hash
-            created.setPasswordHash(null);
-
+            // explicit fields only (no password hash); the entity itself is not touched
             Map<String, Object> resp = new HashMap<>();
             resp.put("userId", created.getUserId());
             resp.put("email", created.getEmail());
@@ -97,7 +96,7 @@ public class AuthController {
     @PostMapping(path = "/register", consumes = "application/x-www-form-urlencoded")
     public String registerForm(RegistrationRequest req, RedirectAttributes ra) {
         try {
-            String email = (req.getEmail() == null ? "" : req.getEmail().trim()).toLowerCase();
+            String email = (req.getEmail() == null ? "" : req.getEmail().trim()).toLowerCase(Locale.ROOT);
             String rawPassword = req.getPassword() == null ? "" : req.getPassword();
 
             if (email.isEmpty() || rawPassword.isEmpty()) {
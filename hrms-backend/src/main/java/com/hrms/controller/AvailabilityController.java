@@ -0,0 +1,49 @@
+package com.hrms.controller;
+
+import com.hrms.service.AvailabilityService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Team availability: who is present, absent or on leave across a department.
+ */
+@RestController
+@RequestMapping("/api/availability")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+    private final Clock clock;
+
+    public AvailabilityController(AvailabilityService availabilityService, Clock clock) {
+        this.availabilityService = availabilityService;
+        this.clock = clock;
+    }
+
+    /**
+     * One row per employee of the department, one character per day (legend in AvailabilityMatrix),
+     * plus per-day totals. The range defaults to the current month and may span up to 92 days.
+     * GET /api/availability?department=Engineering&from=2025-09-01&to=2025-09-30
+     */
+    @GetMapping
+    public ResponseEntity<?> matrix(@RequestParam String department,
+                                    @RequestParam(required = false) LocalDate from,
+                                    @RequestParam(required = false) LocalDate to) {
+        try {
+            YearMonth month = YearMonth.now(clock);
+            LocalDate start = from != null ? from : month.atDay(1);
+            LocalDate end = to != null ? to : from != null ? YearMonth.from(from).atEndOfMonth() : month.atEndOfMonth();
+            return ResponseEntity.ok(availabilityService.matrix(department, start, end));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error building availability"));
+        }
+    }
+}
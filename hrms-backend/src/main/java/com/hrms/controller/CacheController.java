@@ -0,0 +1,33 @@
+package com.hrms.controller;
+
+import com.hrms.service.UserLookupCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Operational view of the in-process caches: hit/miss counters and a manual flush.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class CacheController {
+
+    private final UserLookupCache userCache;
+
+    public CacheController(UserLookupCache userCache) {
+        this.userCache = userCache;
+    }
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        return userCache.stats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        userCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,19 @@
 package com.hrms.controller;
 
+import com.hrms.dto.EmployeeView;
 import com.hrms.entity.Employee;
+import com.hrms.service.ChangeTracker;
 import com.hrms.service.EmployeeService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
  * Employee REST controller.
@@ -18,93 +23,95 @@ import java.util.Optional;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class EmployeeController {
 
+    static final String SYNC_WATERMARK_HEADER = "X-Sync-Watermark";
+
     private final EmployeeService service;
+    private final ChangeTracker changeTracker;
 
-    public EmployeeController(EmployeeService service) {
+    public EmployeeController(EmployeeService service, ChangeTracker changeTracker) {
         this.service = service;
+        this.changeTracker = changeTracker;
     }
 
+    /**
+     * Conditional: 304 when If-None-Match carries the current ETag (checked without loading
+     * the list). X-Sync-Watermark is the changedSince to send for the next delta.
+     */
     @GetMapping
-    public List<Employee> getAll() {
-        return service.findAll();
+    public ResponseEntity<List<EmployeeView>> getAll(WebRequest request) {
+        if (request.checkNotModified(service.listETag())) return null;
+        Instant watermark = changeTracker.watermark();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header(SYNC_WATERMARK_HEADER, watermark.toString())
+                .body(service.listAll());
+    }
+
+    /**
+     * Employees created or updated after the watermark, and the ids deleted since.
+     * GET /api/employees?changedSince=2025-10-01T09:30:00Z
+     * 410 if the watermark is older than the retained change history (reload the full list).
+     */
+    @GetMapping(params = "changedSince")
+    public ResponseEntity<?> changes(@RequestParam Instant changedSince) {
+        try {
+            return ResponseEntity.ok(service.changedSince(changedSince));
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", ise.getMessage()));
+        }
+    }
+
+    /**
+     * Directory search over name, email, department, position and phone; best match first.
+     * GET /api/employees/search?q=jane eng&page=0&size=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) Integer page,
+                                    @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(service.search(q, page, size));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getById(@PathVariable Integer id) {
-        return service.findById(id)
-                .map(emp -> ResponseEntity.ok(emp))
+    public ResponseEntity<EmployeeView> getById(@PathVariable Integer id) {
+        return service.findViewById(id)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<Employee> create(@RequestBody Employee emp) {
+    public ResponseEntity<EmployeeView> create(@RequestBody Employee emp) {
         Employee saved = service.save(emp);
-        return ResponseEntity.created(URI.create("/api/employees/" + saved.getEmployeeId())).body(saved);
+        return ResponseEntity.created(URI.create("/api/employees/" + saved.getEmployeeId())).body(view(saved));
     }
 
     /**
      * Update only employee-specific fields; do NOT replace the linked user.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Employee> update(@PathVariable Integer id, @RequestBody Employee emp) {
+    public ResponseEntity<EmployeeView> update(@PathVariable Integer id, @RequestBody Employee emp) {
         return service.findById(id).map(existing -> {
             emp.setUser(existing.getUser());
             emp.setEmployeeId(id);
+            // last write wins, as before versioning: the body's version (if any) is not checked
+            emp.setVersion(existing.getVersion());
             Employee saved = service.save(emp);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(view(saved));
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    // response row re-read through the join: the request body's user may carry only its id
+    private EmployeeView view(Employee saved) {
+        return service.findViewById(saved.getEmployeeId()).orElseThrow();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         service.deleteById(id);
         return ResponseEntity.noContent().build();
     }
-
-    /**
-     * Accept aggregated leave counts (from HR UI).
-     * Body: { "email": "user@example.com", "leaves": 3 }
-     *
-     * This persists the leaves value into employees.leaves when an Employee exists for that email.
-     */
-    @PutMapping("/t-leaves")
-    public ResponseEntity<?> updateLeavesByEmail(@RequestBody Map<String, Object> body) {
-        if (body == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Request body required"));
-        }
-
-        Object emailObj = body.get("email");
-        Object leavesObj = body.get("leaves");
-
-        if (emailObj == null) {
-            return ResponseEntity.badRequest().body(Map.of("error", "email required"));
-        }
-
-        String email = emailObj.toString().trim().toLowerCase();
-        int leaves = 0;
-        if (leavesObj instanceof Number) {
-            leaves = ((Number) leavesObj).intValue();
-        } else if (leavesObj instanceof String) {
-            try {
-                leaves = Integer.parseInt(((String) leavesObj).trim());
-            } catch (NumberFormatException ignored) {
-                // keep default 0
-            }
-        }
-
-        if (email.isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "email is empty"));
-        }
-        if (leaves < 0) {
-            return ResponseEntity.badRequest().body(Map.of("error", "leaves must be >= 0"));
-        }
-
-        Optional<Employee> updated = service.updateLeavesByEmail(email, leaves);
-        if (updated.isEmpty()) {
-            return ResponseEntity.status(404).body(Map.of("error", "employee not found for email: " + email));
-        }
-
-        // return updated employee (it will be serialized to JSON)
-        return ResponseEntity.ok(updated.get());
-    }
 }
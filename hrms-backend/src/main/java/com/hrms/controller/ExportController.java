@@ -0,0 +1,75 @@
+package com.hrms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dao.ExportRepository;
+import com.hrms.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk exports for spreadsheets and downstream systems, streamed in constant memory.
+ * GET /api/export/{attendance|leaves|salaries}?from=2023-01-01&to=2025-12-31&department=ENG&format=csv|jsonl&gzip=true
+ */
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    public ExportController(ExportService exportService, ObjectMapper objectMapper) {
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                    @RequestParam(required = false) LocalDate from,
+                                    @RequestParam(required = false) LocalDate to,
+                                    @RequestParam(required = false) String department,
+                                    @RequestParam(defaultValue = "csv") String format,
+                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportRepository.Dataset ds;
+        ExportService.Format fmt;
+        try {
+            ds = ExportRepository.Dataset.valueOf(dataset.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException iae) {
+            return badRequest("unknown export: " + dataset + " (attendance, leaves or salaries)");
+        }
+        try {
+            fmt = ExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException iae) {
+            return badRequest("format must be csv or jsonl");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return badRequest("from must not be after to");
+        }
+        String dept = department == null || department.isBlank() ? null : department.trim();
+
+        String filename = ds.name().toLowerCase(Locale.ROOT)
+                + (from != null || to != null ? "-" + (from == null ? "start" : from) + "_" + (to == null ? "end" : to) : "")
+                + (dept != null ? "-" + dept.replaceAll("[^A-Za-z0-9_-]", "_") : "")
+                + "." + fmt.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> exportService.export(ds, from, to, dept, fmt, gzip, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : fmt.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // streaming handlers can only return a streamed body, so errors are streamed too
+    private ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, Map.of("error", message)));
+    }
+}
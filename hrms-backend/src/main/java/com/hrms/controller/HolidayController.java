@@ -0,0 +1,67 @@
+package com.hrms.controller;
+
+import com.hrms.entity.Holiday;
+import com.hrms.service.HolidayService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/holidays")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+public class HolidayController {
+
+    private final HolidayService holidayService;
+    private final Clock clock;
+
+    public HolidayController(HolidayService holidayService, Clock clock) {
+        this.holidayService = holidayService;
+        this.clock = clock;
+    }
+
+    // GET /api/holidays?year=2025 (defaults to the current year)
+    @GetMapping
+    public ResponseEntity<?> list(@RequestParam(required = false) Integer year) {
+        return ResponseEntity.ok(holidayService.findByYear(year == null ? Year.now(clock) : Year.of(year)));
+    }
+
+    /**
+     * Expect JSON: { "date": "2025-12-25", "name": "Christmas", "description": "...", "isPublic": true }
+     */
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody Holiday holiday) {
+        try {
+            holiday.setHolidayId(null);
+            Holiday saved = holidayService.save(holiday);
+            return ResponseEntity.created(URI.create("/api/holidays/" + saved.getHolidayId())).body(saved);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Integer id) {
+        return holidayService.deleteById(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Working days (not weekend, not a public holiday) in [from, to].
+     * GET /api/holidays/working-days?from=2025-09-01&to=2025-09-30
+     */
+    @GetMapping("/working-days")
+    public ResponseEntity<?> workingDays(@RequestParam LocalDate from, @RequestParam LocalDate to) {
+        if (to.isBefore(from)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "to must not be before from"));
+        }
+        return ResponseEntity.ok(Map.of("from", from, "to", to,
+                "workingDays", holidayService.workingDaysBetween(from, to)));
+    }
+}
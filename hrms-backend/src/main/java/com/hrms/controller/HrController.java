@@ -1,14 +1,26 @@
 package com.hrms.controller;
 
 import com.hrms.dao.UserRepository;
-import com.hrms.entity.Employee;
+import com.hrms.dto.BulkRegistrationRequest;
+import com.hrms.dto.BulkRegistrationResult;
+import com.hrms.dto.UserImportReport;
+import com.hrms.dto.UserView;
+import com.hrms.entity.AuditEvent;
 import com.hrms.entity.User;
+import com.hrms.service.AuditLog;
 import com.hrms.service.EmployeeService;
+import com.hrms.service.RegistrationService;
+import com.hrms.service.UserImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for HR actions: view pending employee registrations and approve/reject them.
@@ -18,62 +30,158 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class HrController {
 
+    private static final int MAX_BULK_ENTRIES = 1000;
+
     private final UserRepository userRepo;
     private final EmployeeService employeeService;
+    private final RegistrationService registrationService;
+    private final UserImportService userImportService;
+    private final AuditLog auditLog;
 
-    public HrController(UserRepository userRepo, EmployeeService employeeService) {
+    public HrController(UserRepository userRepo, EmployeeService employeeService,
+                        RegistrationService registrationService, UserImportService userImportService,
+                        AuditLog auditLog) {
         this.userRepo = userRepo;
         this.employeeService = employeeService;
+        this.registrationService = registrationService;
+        this.userImportService = userImportService;
+        this.auditLog = auditLog;
     }
 
     @GetMapping("/pending-employees")
-    public ResponseEntity<List<User>> listPendingEmployees() {
-        List<User> pending = userRepo.findByRoleAndStatus(User.Role.EMPLOYEE, User.Status.PENDING);
-        // Do NOT call user.setPasswordHash(null) here — will mutate managed entity.
-        // Password will not be serialized because of @JsonIgnore on the getter.
-        return ResponseEntity.ok(pending);
+    public ResponseEntity<List<UserView>> listPendingEmployees() {
+        // projection: no managed users to scrub, no password hash to leak
+        return ResponseEntity.ok(userRepo.findViewsByRoleAndStatus(User.Role.EMPLOYEE, User.Status.PENDING));
     }
 
+    /**
+     * Single decisions go through RegistrationService.decide: the user row is locked and
+     * flipped from PENDING in one transaction with the employee insert, so a decision that
+     * lost a race (or came after one) answers 409 instead of overwriting it.
+     */
     @PostMapping("/users/{id}/approve")
     public ResponseEntity<?> approveUser(@PathVariable Integer id,
                                          @RequestBody(required = false) ApproveRequest req) {
-        return userRepo.findById(id).map(user -> {
-            if (user.getStatus() != User.Status.PENDING || user.getRole() != User.Role.EMPLOYEE) {
-                return ResponseEntity.badRequest().body("User is not a pending employee registration");
+        BulkRegistrationRequest.Entry entry = new BulkRegistrationRequest.Entry();
+        entry.setUserId(id);
+        entry.setDecision("APPROVE");
+        if (req != null) {
+            entry.setAddress(req.getAddress());
+            entry.setPhone(req.getPhone());
+            entry.setDepartment(req.getDepartment());
+            entry.setPosition(req.getPosition());
+            entry.setSalary(req.getSalary());
+        }
+        BulkRegistrationResult result = registrationService.decide(List.of(entry)).get(0);
+        return switch (result.getOutcome()) {
+            case APPROVED -> {
+                auditLog.publish(AuditEvent.Action.USER_APPROVED, AuditEvent.SubjectType.USER, id,
+                        "employeeId=" + result.getEmployeeId());
+                yield ResponseEntity.created(URI.create("/api/employees/" + result.getEmployeeId()))
+                        .body(employeeService.findViewById(result.getEmployeeId()).orElseThrow());
             }
-
-            user.setStatus(User.Status.ACTIVE);
-            userRepo.save(user);
-
-            Employee emp = Employee.builder()
-                    .user(user)
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .address(req != null ? req.getAddress() : null)
-                    .phone(req != null ? req.getPhone() : null)
-                    .department(req != null ? req.getDepartment() : null)
-                    .position(req != null ? req.getPosition() : null)
-                    .salary(req != null ? req.getSalary() : null)
-                    .build();
-
-            Employee saved = employeeService.save(emp);
-
-            return ResponseEntity.created(URI.create("/api/employees/" + saved.getEmployeeId())).body(saved);
-        }).orElse(ResponseEntity.notFound().build());
+            case USER_NOT_FOUND -> ResponseEntity.notFound().build();
+            default -> ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", result.getMessage()));
+        };
     }
 
     @PostMapping("/users/{id}/reject")
     public ResponseEntity<?> rejectUser(@PathVariable Integer id,
                                         @RequestBody(required = false) RejectRequest req) {
-        return userRepo.findById(id).map(user -> {
-            if (user.getStatus() != User.Status.PENDING) {
-                return ResponseEntity.badRequest().body("User is not pending");
+        BulkRegistrationRequest.Entry entry = new BulkRegistrationRequest.Entry();
+        entry.setUserId(id);
+        entry.setDecision("REJECT");
+        entry.setReason(req != null ? req.getReason() : null);
+        BulkRegistrationResult result = registrationService.decide(List.of(entry)).get(0);
+        return switch (result.getOutcome()) {
+            case REJECTED -> {
+                auditLog.publish(AuditEvent.Action.USER_REJECTED, AuditEvent.SubjectType.USER, id,
+                        req != null && req.getReason() != null ? "reason=" + req.getReason() : null);
+                yield ResponseEntity.ok(userRepo.findViewById(id).orElseThrow());
+            }
+            case USER_NOT_FOUND -> ResponseEntity.notFound().build();
+            default -> ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", result.getMessage()));
+        };
+    }
+
+    /**
+     * Decide many registrations in one transaction.
+     * Body: { "entries": [ { "userId": 12, "decision": "APPROVE", "department": "Engineering", "position": "Intern",
+     *                        "salary": 30000, "phone": "...", "address": "..." },
+     *                      { "userId": 13, "decision": "REJECT", "reason": "duplicate" } ] }
+     * Returns one result per entry, in request order.
+     */
+    @PostMapping("/users/decisions")
+    public ResponseEntity<?> decideRegistrations(@RequestBody BulkRegistrationRequest body) {
+        try {
+            List<BulkRegistrationRequest.Entry> entries = body.getEntries() == null ? List.of() : body.getEntries();
+            if (entries.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "entries are required"));
             }
-            user.setStatus(User.Status.REJECTED);
-            userRepo.save(user);
-            // Do NOT mutate user.setPasswordHash(null) here (avoids managed mutation & DB update)
-            return ResponseEntity.ok(user);
-        }).orElse(ResponseEntity.notFound().build());
+            if (entries.size() > MAX_BULK_ENTRIES) {
+                return ResponseEntity.badRequest().body(Map.of("error", "at most " + MAX_BULK_ENTRIES + " entries per request"));
+            }
+
+            List<BulkRegistrationResult> results = registrationService.decide(entries);
+            long approved = 0;
+            long rejected = 0;
+            for (BulkRegistrationResult r : results) {
+                if (r.getOutcome() == BulkRegistrationResult.Outcome.APPROVED) {
+                    approved++;
+                    auditLog.publish(AuditEvent.Action.USER_APPROVED, AuditEvent.SubjectType.USER, r.getUserId(),
+                            "employeeId=" + r.getEmployeeId() + " bulk");
+                } else if (r.getOutcome() == BulkRegistrationResult.Outcome.REJECTED) {
+                    rejected++;
+                    String reason = entries.get(r.getIndex()).getReason();
+                    auditLog.publish(AuditEvent.Action.USER_REJECTED, AuditEvent.SubjectType.USER, r.getUserId(),
+                            reason != null ? "reason=" + reason + " bulk" : "bulk");
+                }
+            }
+            return ResponseEntity.ok(Map.of("approved", approved, "rejected", rejected, "results", results));
+
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error"));
+        }
+    }
+
+    /**
+     * Bulk onboarding from a CSV or JSON file (multipart field "file"; see UserImportService
+     * for the columns). The import runs in the background: the response is 202 with the
+     * report's Location. To resume a FAILED import, upload the same file again with
+     * resumeFrom set to the report's committedThrough.
+     */
+    @PostMapping(path = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importUsers(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(required = false) String format,
+                                         @RequestParam(defaultValue = "0") long resumeFrom) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "file is required"));
+        }
+        try (InputStream in = file.getInputStream()) {
+            UserImportReport report = userImportService.submit(file.getOriginalFilename(), format, in, resumeFrom);
+            auditLog.publish(AuditEvent.Action.USERS_IMPORTED, AuditEvent.SubjectType.FILE,
+                    file.getOriginalFilename(), "importId=" + report.importId() + " format=" + report.format()
+                            + " resumeFrom=" + resumeFrom);
+            return ResponseEntity.accepted().location(URI.create("/api/admin/users/import/" + report.importId()))
+                    .body(report);
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(409).body(Map.of("error", ise.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error importing users"));
+        }
+    }
+
+    /**
+     * Progress of an import, updated after every committed chunk; the final report once done.
+     */
+    @GetMapping("/users/import/{id}")
+    public ResponseEntity<?> importReport(@PathVariable String id) {
+        return userImportService.report(id).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     public static class ApproveRequest {
@@ -1,15 +1,21 @@
 package com.hrms.controller;
 
-import com.hrms.dao.LeaveRepository;
-import com.hrms.dao.UserRepository;
+import com.hrms.dto.LeaveView;
+import com.hrms.entity.AuditEvent;
 import com.hrms.entity.Leave;
-import com.hrms.entity.User;
+import com.hrms.service.AuditLog;
+import com.hrms.service.ChangeTracker;
+import com.hrms.service.LeaveService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -20,56 +26,97 @@ import java.util.*;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class LeaveController {
 
-    private final LeaveRepository leaveRepo;
-    private final UserRepository userRepo;
+    private final LeaveService leaveService;
+    private final AuditLog auditLog;
+    private final ChangeTracker changeTracker;
 
-    public LeaveController(LeaveRepository leaveRepo, UserRepository userRepo) {
-        this.leaveRepo = leaveRepo;
-        this.userRepo = userRepo;
+    public LeaveController(LeaveService leaveService, AuditLog auditLog, ChangeTracker changeTracker) {
+        this.leaveService = leaveService;
+        this.auditLog = auditLog;
+        this.changeTracker = changeTracker;
     }
 
+    /**
+     * Conditional like GET /api/employees: 304 on a matching If-None-Match, and an
+     * X-Sync-Watermark for ?changedSince=. Reads the primary, not the replica: a lagging
+     * replica would make rows committed before the watermark missing from both the list
+     * and the next delta.
+     */
     @GetMapping("")
-    public ResponseEntity<?> listAll() {
+    public ResponseEntity<?> listAll(WebRequest request) {
         try {
-            List<Leave> list = leaveRepo.findAll();
-            // hide password hash on user object before returning
-            list.forEach(l -> { if (l.getUser() != null) l.getUser().setPasswordHash(null); });
-            return ResponseEntity.ok(list);
+            if (request.checkNotModified(leaveService.listETag())) return null;
+            Instant watermark = changeTracker.watermark();
+            // projection: one statement, only the user columns the screens show (no password hash)
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .header(EmployeeController.SYNC_WATERMARK_HEADER, watermark.toString())
+                    .body(leaveService.listAll());
         } catch (Exception ex) {
             ex.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "Server error fetching leaves"));
         }
     }
 
+    /**
+     * One employee's leaves, in id order. GET /api/leave?email=user@example.com
+     */
+    @GetMapping(value = "", params = "email")
+    public ResponseEntity<?> listByEmail(@RequestParam String email) {
+        try {
+            return ResponseEntity.ok(leaveService.listByEmail(email));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error fetching leaves"));
+        }
+    }
+
+    /**
+     * Leaves created or updated after the watermark (no leave is ever deleted, so deleted stays empty).
+     * GET /api/leave?changedSince=2025-10-01T09:30:00Z; 410 if it is older than the change history.
+     */
+    @GetMapping(value = "", params = "changedSince")
+    public ResponseEntity<?> changes(@RequestParam Instant changedSince) {
+        try {
+            return ResponseEntity.ok(leaveService.changedSince(changedSince));
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("error", ise.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error fetching leave changes"));
+        }
+    }
+
+    /**
+     * Apply for leave over a date range (both ends inclusive).
+     * Example payloads:
+     *   { "email": "a@b.com", "startDate": "2025-09-22", "endDate": "2025-10-03", "reason": "Vacation" }
+     *   { "email": "a@b.com", "date": "2025-09-22", "reason": "Personal" }      (single day)
+     * 409 if the range overlaps one of the employee's pending or approved leaves.
+     */
     @PostMapping("")
     public ResponseEntity<?> applyLeave(@RequestBody Map<String, Object> body) {
         try {
             String email = Optional.ofNullable(body.get("email")).map(Object::toString).map(String::trim).orElse(null);
-            String dateStr = Optional.ofNullable(body.get("date")).map(Object::toString).orElse(null);
+            String startStr = Optional.ofNullable(body.get("startDate")).or(() -> Optional.ofNullable(body.get("date")))
+                    .map(Object::toString).orElse(null);
+            String endStr = Optional.ofNullable(body.get("endDate")).map(Object::toString).orElse(null);
             String reason = Optional.ofNullable(body.get("reason")).map(Object::toString).orElse("");
 
-            if (email == null || dateStr == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "email and date are required"));
+            if (email == null || startStr == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "email and startDate (or date) are required"));
             }
 
-            User user = userRepo.findByEmail(email)
-                    .orElseThrow(() -> new IllegalArgumentException("User with that email not found"));
-
-            Leave leave = Leave.builder()
-                    .user(user)
-                    .startDate(LocalDate.parse(dateStr))
-                    .endDate(LocalDate.parse(dateStr))
-                    .status(Leave.Status.PENDING)
-                    .reason(reason.trim())
-                    .rejectReason(null)
-                    .build();
-
-            Leave saved = leaveRepo.save(leave);
-            if (saved.getUser() != null) saved.getUser().setPasswordHash(null);
-            return ResponseEntity.created(URI.create("/api/leave/" + saved.getLeaveId())).body(saved);
+            Leave saved = leaveService.apply(email, LocalDate.parse(startStr),
+                    endStr == null ? null : LocalDate.parse(endStr), reason);
+            return ResponseEntity.created(URI.create("/api/leave/" + saved.getLeaveId())).body(LeaveView.of(saved));
 
+        } catch (DateTimeParseException dtpe) {
+            return ResponseEntity.badRequest().body(Map.of("error", "startDate and endDate must be yyyy-MM-dd"));
         } catch (IllegalArgumentException iae) {
             return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ise.getMessage()));
         } catch (Exception ex) {
             ex.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "Server error creating leave"));
@@ -81,6 +128,7 @@ public class LeaveController {
      * Example payloads:
      *   { "response": "Yes" }
      *   { "response": "No" }
+     * The employee's approved-leave ledger is adjusted in the same transaction.
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> respond(@PathVariable("id") Integer id, @RequestBody Map<String, Object> body) {
@@ -90,31 +138,44 @@ public class LeaveController {
                 return ResponseEntity.badRequest().body(Map.of("error", "response is required (Yes|No)"));
             }
 
-            Optional<Leave> opt = leaveRepo.findById(id);
-            if (opt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Leave not found for id: " + id));
-            }
-
-            Leave existing = opt.get();
-
+            Leave.Status target;
             if ("Yes".equalsIgnoreCase(response)) {
-                existing.setStatus(Leave.Status.APPROVED);
-                existing.setRejectReason(null);
+                target = Leave.Status.APPROVED;
             } else if ("No".equalsIgnoreCase(response)) {
-                existing.setStatus(Leave.Status.REJECTED);
-                // clear any previous rejectReason — we do not record HR reason
-                existing.setRejectReason(null);
+                // any previous rejectReason is cleared — we do not record HR reason
+                target = Leave.Status.REJECTED;
             } else {
                 return ResponseEntity.badRequest().body(Map.of("error", "Unknown response value: " + response));
             }
 
-            Leave saved = leaveRepo.save(existing);
-            if (saved.getUser() != null) saved.getUser().setPasswordHash(null);
-            return ResponseEntity.ok(saved);
+            Optional<LeaveView> updated = leaveService.respond(id, target);
+            if (updated.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Leave not found for id: " + id));
+            }
+            auditLog.publish(target == Leave.Status.APPROVED ? AuditEvent.Action.LEAVE_APPROVED : AuditEvent.Action.LEAVE_REJECTED,
+                    AuditEvent.SubjectType.LEAVE, id, null);
+            return ResponseEntity.ok(updated.get());
 
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ise.getMessage()));
         } catch (Exception ex) {
             ex.printStackTrace();
             return ResponseEntity.status(500).body(Map.of("error", "Server error handling response"));
         }
     }
+
+    /**
+     * Approved leave days for one employee, answered from the ledger (no leave scan).
+     * GET /api/leave/balance?email=user@example.com
+     */
+    @GetMapping("/balance")
+    public ResponseEntity<?> balance(@RequestParam String email) {
+        return leaveService.findBalanceByEmail(email)
+                .<ResponseEntity<?>>map(emp -> ResponseEntity.ok(Map.of(
+                        "email", email.trim().toLowerCase(Locale.ROOT),
+                        "employeeId", emp.getEmployeeId(),
+                        "approvedLeaveDays", emp.getLeaves() == null ? 0 : emp.getLeaves())))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "employee not found for email: " + email)));
+    }
 }
@@ -1,10 +1,20 @@
 package com.hrms.controller;
 
+import com.hrms.config.ReplicaReads;
+import com.hrms.dto.PayrollRunReport;
+import com.hrms.dto.SalaryView;
+import com.hrms.entity.AuditEvent;
 import com.hrms.entity.Salary;
+import com.hrms.service.AuditLog;
+import com.hrms.service.PayrollService;
 import com.hrms.service.SalaryService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -14,20 +24,26 @@ import java.util.Map;
 public class SalaryController {
 
     private final SalaryService salaryService;
+    private final PayrollService payrollService;
+    private final AuditLog auditLog;
 
-    public SalaryController(SalaryService salaryService) {
+    public SalaryController(SalaryService salaryService, PayrollService payrollService, AuditLog auditLog) {
         this.salaryService = salaryService;
+        this.payrollService = payrollService;
+        this.auditLog = auditLog;
     }
 
     // GET /api/salaries
+    @ReplicaReads
     @GetMapping
-    public ResponseEntity<List<Salary>> getAll() {
+    public ResponseEntity<List<SalaryView>> getAll() {
         return ResponseEntity.ok(salaryService.findAll());
     }
 
     // GET /api/salaries/employee/{id}
+    @ReplicaReads
     @GetMapping("/employee/{id}")
-    public ResponseEntity<List<Salary>> getByEmployee(@PathVariable Integer id) {
+    public ResponseEntity<List<SalaryView>> getByEmployee(@PathVariable Integer id) {
         return ResponseEntity.ok(salaryService.findByEmployeeId(id));
     }
 
@@ -59,6 +75,8 @@ public class SalaryController {
             s.setRemarks(remarks);
 
             Salary saved = salaryService.saveForEmployee(employeeId, s);
+            auditLog.publish(AuditEvent.Action.SALARY_POSTED, AuditEvent.SubjectType.SALARY, saved.getSalaryId(),
+                    "employeeId=" + employeeId + " amount=" + amount + " paymentDate=" + paymentDate);
 
             // return salary details + employee info
             return ResponseEntity.ok(Map.of(
@@ -76,4 +94,31 @@ public class SalaryController {
             return ResponseEntity.status(500).body(Map.of("error", "Server error"));
         }
     }
+
+    /**
+     * Run payroll for a month. Safe to repeat: employees already paid for the
+     * month are skipped, so a failed or interrupted run is finished by re-posting.
+     * POST /api/salaries/payroll?month=2025-09[&paymentDate=2025-09-30]
+     */
+    @PostMapping("/payroll")
+    public ResponseEntity<?> runPayroll(@RequestParam String month,
+                                        @RequestParam(required = false) String paymentDate) {
+        try {
+            PayrollRunReport report = payrollService.run(YearMonth.parse(month),
+                    paymentDate == null ? null : LocalDate.parse(paymentDate));
+            auditLog.publish(AuditEvent.Action.PAYROLL_RUN, AuditEvent.SubjectType.PAYROLL, report.month(),
+                    "paid=" + report.paid() + " alreadyPaid=" + report.alreadyPaid() + " failed=" + report.failed()
+                            + " total=" + report.totalPaid());
+            return ResponseEntity.ok(report);
+        } catch (DateTimeParseException dtpe) {
+            return ResponseEntity.badRequest().body(Map.of("error", "month must be yyyy-MM and paymentDate yyyy-MM-dd"));
+        } catch (IllegalArgumentException iae) {
+            return ResponseEntity.badRequest().body(Map.of("error", iae.getMessage()));
+        } catch (IllegalStateException ise) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ise.getMessage()));
+        } catch (Exception ex) {
+            ex.printStackTrace();
+            return ResponseEntity.status(500).body(Map.of("error", "Server error running payroll"));
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Attendance;
+
+import java.util.List;
+
+/**
+ * JDBC batch operations for attendance. Attendance ids are IDENTITY-generated,
+ * which makes Hibernate insert row by row, so bulk paths go through JDBC instead.
+ */
+public interface AttendanceBatchRepository {
+
+    /**
+     * Insert the rows in JDBC batches, skipping any whose (user, date) already exists.
+     * Returns one flag per row: true if inserted, false if skipped as a duplicate.
+     * Must run in a REPEATABLE READ transaction: the flags are worked out from its snapshot.
+     */
+    boolean[] insertIgnoringDuplicates(List<Attendance> rows);
+
+    /**
+     * Insert the rows in JDBC batches; where (user, date) already exists, overwrite its
+     * check-in, check-out and status instead (remarks are kept).
+     */
+    void upsertTimes(List<Attendance> rows);
+}
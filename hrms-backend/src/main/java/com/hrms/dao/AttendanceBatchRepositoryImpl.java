@@ -0,0 +1,116 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Attendance;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Spring Data fragment backing {@link AttendanceBatchRepository}.
+ * A row racing a concurrent mark is skipped by the (user_id, attendance_date) unique
+ * key (ON DUPLICATE KEY UPDATE with a no-op assignment) instead of failing the whole
+ * batch. Unlike INSERT IGNORE, this skips nothing else: a bad foreign key, an
+ * over-long value or an unknown status still fails the batch.
+ *
+ * Which rows were inserted is read back rather than taken from the update counts:
+ * with rewriteBatchedStatements the driver sends multi-row INSERTs and reports
+ * every row as SUCCESS_NO_INFO, skipped or not.
+ */
+class AttendanceBatchRepositoryImpl implements AttendanceBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO attendance (user_id, attendance_date, check_in, check_out, status, remarks) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE attendance_id = attendance_id";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance (user_id, attendance_date, check_in, check_out, status, remarks) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE check_in = VALUES(check_in), check_out = VALUES(check_out), "
+                    + "status = VALUES(status)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AttendanceBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean[] insertIgnoringDuplicates(List<Attendance> rows) {
+        boolean[] inserted = new boolean[rows.size()];
+        if (rows.isEmpty()) return inserted;
+
+        // Both reads use the transaction's snapshot, so a row a concurrent mark commits
+        // in between is visible to neither and comes out as skipped, which it was.
+        Set<Key> before = existingKeys(rows);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, AttendanceBatchRepositoryImpl::bind);
+        Set<Key> after = existingKeys(rows);
+
+        Set<Key> claimed = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Key key = Key.of(rows.get(i));
+            // the same (user, date) twice in one call is inserted once
+            inserted[i] = !before.contains(key) && after.contains(key) && claimed.add(key);
+        }
+        return inserted;
+    }
+
+    @Override
+    public void upsertTimes(List<Attendance> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, AttendanceBatchRepositoryImpl::bind);
+    }
+
+    private Set<Key> existingKeys(List<Attendance> rows) {
+        Set<Integer> userIds = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Attendance a : rows) {
+            userIds.add(a.getUser().getUserId());
+            if (from == null || a.getDate().isBefore(from)) from = a.getDate();
+            if (to == null || a.getDate().isAfter(to)) to = a.getDate();
+        }
+
+        Set<Key> keys = new HashSet<>();
+        List<Integer> ids = new ArrayList<>(userIds);
+        for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(start, Math.min(start + BATCH_SIZE, ids.size()));
+            String sql = "SELECT user_id, attendance_date FROM attendance WHERE attendance_date BETWEEN ? AND ? "
+                    + "AND user_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(Date.valueOf(from));
+            args.add(Date.valueOf(to));
+            args.addAll(chunk);
+            jdbcTemplate.query(sql, rs -> {
+                keys.add(new Key(rs.getInt(1), rs.getDate(2).toLocalDate()));
+            }, args.toArray());
+        }
+        return keys;
+    }
+
+    private record Key(int userId, LocalDate date) {
+        static Key of(Attendance a) {
+            return new Key(a.getUser().getUserId(), a.getDate());
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Attendance a) throws SQLException {
+        ps.setInt(1, a.getUser().getUserId());
+        ps.setDate(2, Date.valueOf(a.getDate()));
+        ps.setTime(3, a.getCheckIn() == null ? null : Time.valueOf(a.getCheckIn()));
+        ps.setTime(4, a.getCheckOut() == null ? null : Time.valueOf(a.getCheckOut()));
+        ps.setString(5, a.getStatus() == null ? null : a.getStatus().name());
+        ps.setString(6, a.getRemarks());
+    }
+}
@@ -1,15 +1,102 @@
 package com.hrms.dao;
 
+import com.hrms.dto.AttendanceTimes;
+import com.hrms.dto.AttendanceView;
 import com.hrms.entity.Attendance;
 import com.hrms.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface AttendanceRepository extends JpaRepository<Attendance, Integer> {
+public interface AttendanceRepository extends JpaRepository<Attendance, Integer>, AttendanceBatchRepository {
     // find attendance rows for a given User entity
+    @EntityGraph(attributePaths = "user")
     List<Attendance> findByUser(User user);
 
     // convenience: find by user id directly
+    @EntityGraph(attributePaths = "user")
     List<Attendance> findByUserUserId(Integer userId);
+
+    // list screens: one statement, only the displayed user columns
+    @Query("select new com.hrms.dto.AttendanceView(a.attendanceId, a.date, a.checkIn, a.checkOut, a.status, "
+            + "a.remarks, u.userId, u.email, u.firstName, u.lastName) "
+            + "from Attendance a join a.user u where u.userId = :userId order by a.date, a.attendanceId")
+    List<AttendanceView> findViewsByUserId(@Param("userId") Integer userId);
+
+    // single indexed probe on (user_id, attendance_date) instead of loading the user's history
+    boolean existsByUserUserIdAndDate(Integer userId, LocalDate date);
+
+    // existing times for a batch of imported (user, date) pairs; callers pick their pairs out of the range
+    @Query("select new com.hrms.dto.AttendanceTimes(a.user.userId, a.date, a.checkIn, a.checkOut, a.status) "
+            + "from Attendance a where a.user.userId in :userIds and a.date between :from and :to")
+    List<AttendanceTimes> findTimes(@Param("userIds") Collection<Integer> userIds,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    // every row in [from, to]; loads one month of the availability bitmaps
+    @Query("select new com.hrms.dto.AttendanceTimes(a.user.userId, a.date, a.checkIn, a.checkOut, a.status) "
+            + "from Attendance a where a.date between :from and :to")
+    List<AttendanceTimes> findTimesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select min(a.date) from Attendance a")
+    LocalDate findFirstDate();
+
+    @Query("select max(a.date) from Attendance a")
+    LocalDate findLastDate();
+
+    // set-based variant of the probe above, for bulk marking
+    @Query("select a.user.userId from Attendance a where a.date = :date and a.user.userId in :userIds")
+    Set<Integer> findMarkedUserIds(@Param("date") LocalDate date, @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Keyset page ordered by (date desc, id desc). Rows strictly after the
+     * (afterDate, afterId) cursor are returned; pass nulls for the first page.
+     */
+    @Query("select new com.hrms.dto.AttendanceView(a.attendanceId, a.date, a.checkIn, a.checkOut, a.status, "
+            + "a.remarks, u.userId, u.email, u.firstName, u.lastName) from Attendance a join a.user u "
+            + "where (:userId is null or u.userId = :userId) "
+            + "and (:department is null or exists "
+            + "     (select 1 from Employee e where e.user = u and e.department = :department)) "
+            + "and (:from is null or a.date >= :from) "
+            + "and (:to is null or a.date <= :to) "
+            + "and (:afterDate is null or a.date < :afterDate "
+            + "     or (a.date = :afterDate and a.attendanceId < :afterId)) "
+            + "order by a.date desc, a.attendanceId desc")
+    List<AttendanceView> findPage(@Param("userId") Integer userId,
+                              @Param("department") String department,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to,
+                              @Param("afterDate") LocalDate afterDate,
+                              @Param("afterId") Integer afterId,
+                              Limit limit);
+
+    /**
+     * Same filters as {@link #findPage} but streamed row by row. Rows are projections, so
+     * nothing accumulates in the persistence context.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.hrms.dto.AttendanceView(a.attendanceId, a.date, a.checkIn, a.checkOut, a.status, "
+            + "a.remarks, u.userId, u.email, u.firstName, u.lastName) from Attendance a join a.user u "
+            + "where (:userId is null or u.userId = :userId) "
+            + "and (:department is null or exists "
+            + "     (select 1 from Employee e where e.user = u and e.department = :department)) "
+            + "and (:from is null or a.date >= :from) "
+            + "and (:to is null or a.date <= :to) "
+            + "order by a.date desc, a.attendanceId desc")
+    Stream<AttendanceView> streamFiltered(@Param("userId") Integer userId,
+                                          @Param("department") String department,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
 }
@@ -0,0 +1,29 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Attendance;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Set-based maintenance of the monthly summary counters (JDBC, MySQL upsert syntax).
+ */
+public interface AttendanceSummaryCounters {
+
+    /**
+     * Add each attendance row to its (user, month) counters, creating rows as needed.
+     */
+    void increment(Collection<Attendance> rows);
+
+    /**
+     * Recompute every counter of one month from the attendance table.
+     * Returns the number of summary rows written.
+     */
+    int rebuildMonth(LocalDate firstDayOfMonth);
+
+    /**
+     * Number of users whose counters for the month disagree with the attendance table:
+     * missing, off in any column, or present without attendance rows behind them.
+     */
+    int countMismatchedUsers(LocalDate firstDayOfMonth);
+}
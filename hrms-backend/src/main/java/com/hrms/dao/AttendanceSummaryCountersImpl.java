@@ -0,0 +1,91 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Attendance;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link AttendanceSummaryCounters}.
+ * Increments are a single INSERT ... ON DUPLICATE KEY UPDATE per row (batched),
+ * so concurrent marks for the same user and month never lose an update.
+ */
+class AttendanceSummaryCountersImpl implements AttendanceSummaryCounters {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO attendance_monthly_summary (user_id, summary_month, full_days, half_days, absent_days) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE full_days = full_days + VALUES(full_days), "
+                    + "half_days = half_days + VALUES(half_days), "
+                    + "absent_days = absent_days + VALUES(absent_days)";
+
+    private static final String DELETE_MONTH_SQL =
+            "DELETE FROM attendance_monthly_summary WHERE summary_month = ?";
+
+    private static final String REBUILD_MONTH_SQL =
+            "INSERT INTO attendance_monthly_summary (user_id, summary_month, full_days, half_days, absent_days) "
+                    + "SELECT user_id, ?, "
+                    + "SUM(CASE WHEN status = 'FULL_DAY' THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN status = 'HALF_DAY' THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN status = 'ABSENT' THEN 1 ELSE 0 END) "
+                    + "FROM attendance WHERE attendance_date >= ? AND attendance_date < ? "
+                    + "GROUP BY user_id";
+
+    private static final String MONTH_COUNTS =
+            "SELECT user_id, "
+                    + "SUM(CASE WHEN status = 'FULL_DAY' THEN 1 ELSE 0 END) AS full_days, "
+                    + "SUM(CASE WHEN status = 'HALF_DAY' THEN 1 ELSE 0 END) AS half_days, "
+                    + "SUM(CASE WHEN status = 'ABSENT' THEN 1 ELSE 0 END) AS absent_days "
+                    + "FROM attendance WHERE attendance_date >= ? AND attendance_date < ? GROUP BY user_id";
+
+    private static final String COUNT_MISMATCHED_SQL =
+            "SELECT (SELECT COUNT(*) FROM (" + MONTH_COUNTS + ") a "
+                    + "LEFT JOIN attendance_monthly_summary s ON s.user_id = a.user_id AND s.summary_month = ? "
+                    + "WHERE s.user_id IS NULL OR s.full_days <> a.full_days OR s.half_days <> a.half_days "
+                    + "OR s.absent_days <> a.absent_days) "
+                    + "+ (SELECT COUNT(*) FROM attendance_monthly_summary s WHERE s.summary_month = ? "
+                    + "AND (s.full_days > 0 OR s.half_days > 0 OR s.absent_days > 0) "
+                    + "AND NOT EXISTS (SELECT 1 FROM attendance t WHERE t.user_id = s.user_id "
+                    + "AND t.attendance_date >= ? AND t.attendance_date < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AttendanceSummaryCountersImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void increment(Collection<Attendance> rows) {
+        List<Attendance> list = new ArrayList<>(rows);
+        if (list.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT_SQL, list, BATCH_SIZE, (ps, a) -> {
+            ps.setInt(1, a.getUser().getUserId());
+            ps.setDate(2, Date.valueOf(a.getDate().withDayOfMonth(1)));
+            ps.setInt(3, a.getStatus() == Attendance.Status.FULL_DAY ? 1 : 0);
+            ps.setInt(4, a.getStatus() == Attendance.Status.HALF_DAY ? 1 : 0);
+            ps.setInt(5, a.getStatus() == Attendance.Status.ABSENT ? 1 : 0);
+        });
+    }
+
+    @Override
+    public int rebuildMonth(LocalDate firstDayOfMonth) {
+        Date month = Date.valueOf(firstDayOfMonth);
+        jdbcTemplate.update(DELETE_MONTH_SQL, month);
+        return jdbcTemplate.update(REBUILD_MONTH_SQL, month, month, Date.valueOf(firstDayOfMonth.plusMonths(1)));
+    }
+
+    @Override
+    public int countMismatchedUsers(LocalDate firstDayOfMonth) {
+        Date month = Date.valueOf(firstDayOfMonth);
+        Date next = Date.valueOf(firstDayOfMonth.plusMonths(1));
+        Integer n = jdbcTemplate.queryForObject(COUNT_MISMATCHED_SQL, Integer.class,
+                month, next, month, month, month, next);
+        return n == null ? 0 : n;
+    }
+}
@@ -0,0 +1,18 @@
+package com.hrms.dao;
+
+import com.hrms.dto.AttendanceSummaryView;
+import com.hrms.entity.AttendanceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AttendanceSummaryRepository extends JpaRepository<AttendanceSummary, Integer>, AttendanceSummaryCounters {
+
+    @Query("select new com.hrms.dto.AttendanceSummaryView(u.userId, u.email, u.firstName, u.lastName, "
+            + "s.summaryMonth, s.fullDays, s.halfDays, s.absentDays) "
+            + "from AttendanceSummary s join s.user u where s.summaryMonth = :month order by u.userId")
+    List<AttendanceSummaryView> findViewsByMonth(@Param("month") LocalDate month);
+}
@@ -0,0 +1,14 @@
+package com.hrms.dao;
+
+import com.hrms.entity.AuditEvent;
+
+import java.util.List;
+
+/**
+ * JDBC batch insert for the audit writer (audit ids are IDENTITY-generated, so
+ * Hibernate would insert them one statement at a time).
+ */
+public interface AuditEventBatchRepository {
+
+    void insertBatch(List<AuditEvent> events);
+}
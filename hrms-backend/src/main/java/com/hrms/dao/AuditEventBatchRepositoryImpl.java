@@ -0,0 +1,38 @@
+package com.hrms.dao;
+
+import com.hrms.entity.AuditEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link AuditEventBatchRepository}.
+ */
+class AuditEventBatchRepositoryImpl implements AuditEventBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (occurred_at, actor, action, subject_type, subject_id, details) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AuditEventBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertBatch(List<AuditEvent> events) {
+        if (events.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, BATCH_SIZE, (ps, e) -> {
+            ps.setTimestamp(1, Timestamp.from(e.getOccurredAt()));
+            ps.setString(2, e.getActor());
+            ps.setString(3, e.getAction().name());
+            ps.setString(4, e.getSubjectType().name());
+            ps.setString(5, e.getSubjectId());
+            ps.setString(6, e.getDetails());
+        });
+    }
+}
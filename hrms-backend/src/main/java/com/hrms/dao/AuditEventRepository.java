@@ -0,0 +1,33 @@
+package com.hrms.dao;
+
+import com.hrms.entity.AuditEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long>, AuditEventBatchRepository {
+
+    /**
+     * Newest first; null filters are ignored. Pass the last auditId of the previous
+     * page as beforeId to continue.
+     */
+    @Query("select a from AuditEvent a "
+            + "where (:actor is null or a.actor = :actor) "
+            + "and (:subjectType is null or a.subjectType = :subjectType) "
+            + "and (:subjectId is null or a.subjectId = :subjectId) "
+            + "and (:from is null or a.occurredAt >= :from) "
+            + "and (:to is null or a.occurredAt < :to) "
+            + "and (:beforeId is null or a.auditId < :beforeId) "
+            + "order by a.auditId desc")
+    List<AuditEvent> search(@Param("actor") String actor,
+                            @Param("subjectType") AuditEvent.SubjectType subjectType,
+                            @Param("subjectId") String subjectId,
+                            @Param("from") Instant from,
+                            @Param("to") Instant to,
+                            @Param("beforeId") Long beforeId,
+                            Limit limit);
+}
@@ -0,0 +1,18 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Employee;
+
+import java.util.List;
+
+/**
+ * JDBC batch inserts for employees (employee ids are IDENTITY-generated, so
+ * Hibernate would insert them one statement at a time).
+ */
+public interface EmployeeBatchRepository {
+
+    /**
+     * Insert the rows in JDBC batches. Each row's user must carry its userId.
+     * Rows are written behind Hibernate's back: callers evict the employee caches.
+     */
+    void insertBatch(List<Employee> rows);
+}
@@ -0,0 +1,50 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Employee;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link EmployeeBatchRepository}.
+ */
+class EmployeeBatchRepositoryImpl implements EmployeeBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO employees (user_id, first_name, last_name, address, address2, department, position, "
+                    + "phone, salary, gender, hire_date, version, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EmployeeBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertBatch(List<Employee> rows) {
+        if (rows.isEmpty()) return;
+        // what @UpdateTimestamp would have written; the rows must show up in ?changedSince= deltas
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, e) -> {
+            ps.setInt(1, e.getUser().getUserId());
+            ps.setString(2, e.getFirstName());
+            ps.setString(3, e.getLastName());
+            ps.setString(4, e.getAddress());
+            ps.setString(5, e.getAddress2());
+            ps.setString(6, e.getDepartment());
+            ps.setString(7, e.getPosition());
+            ps.setString(8, e.getPhone());
+            if (e.getSalary() == null) ps.setNull(9, Types.DOUBLE);
+            else ps.setDouble(9, e.getSalary());
+            ps.setString(10, e.getGender());
+            ps.setDate(11, e.getHireDate());
+            ps.setTimestamp(12, now);
+        });
+    }
+}
@@ -1,11 +1,93 @@
 package com.hrms.dao;
 
+import com.hrms.dto.EmployeeDirectoryEntry;
+import com.hrms.dto.EmployeeView;
+import com.hrms.dto.ListVersion;
+import com.hrms.dto.PayrollEmployee;
+import com.hrms.dto.TeamMember;
 import com.hrms.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
-    // find employee by the associated user's email
+public interface EmployeeRepository extends JpaRepository<Employee, Integer>, EmployeeBatchRepository {
+
+    // response rows: employee columns plus the displayed user columns, no entity or proxy
+    String SELECT_VIEW = "select new com.hrms.dto.EmployeeView(e.employeeId, e.firstName, e.lastName, e.address, "
+            + "e.address2, e.department, e.position, e.phone, e.salary, e.gender, e.hireDate, e.leaves, e.version, "
+            + "e.updatedAt, u.userId, u.email, u.firstName, u.lastName) from Employee e join e.user u ";
+
+    // find employee by the associated user's email (query cache, invalidated by writes to employees/users)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "hrms.query.employee-by-email")
+    })
     Optional<Employee> findByUserEmail(String email);
+
+    // the serialized Employee includes its user; fetch it in the same statement
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Employee> findAll();
+
+    // ETag of GET /api/employees: the list's aggregates, without loading it
+    @Query("select new com.hrms.dto.ListVersion(count(e), max(e.updatedAt), coalesce(sum(e.version), 0L), "
+            + "max(u.updatedAt), coalesce(sum(u.version), 0L), "
+            + "(select coalesce(max(t.tombstoneId), 0L) from Tombstone t "
+            + "where t.entityType = com.hrms.entity.Tombstone.EntityType.EMPLOYEE)) "
+            + "from Employee e join e.user u")
+    ListVersion findListVersion();
+
+    @Query(SELECT_VIEW + "order by e.employeeId")
+    List<EmployeeView> findAllViews();
+
+    @Query(SELECT_VIEW + "where e.employeeId = :id")
+    Optional<EmployeeView> findViewById(@Param("id") Integer id);
+
+    // ?changedSince=: two index range scans (employees.updated_at, users.updated_at) rather than
+    // one OR across the join, which neither index can serve
+    @Query(SELECT_VIEW + "where e.updatedAt > :since")
+    List<EmployeeView> findViewsUpdatedAfter(@Param("since") Instant since);
+
+    @Query(SELECT_VIEW + "where u.updatedAt > :since")
+    List<EmployeeView> findViewsByUserUpdatedAfter(@Param("since") Instant since);
+
+    // leave ledger: relative update, safe against concurrent approvals for the same employee
+    // (bumps version/updatedAt itself: bulk updates bypass @Version and @UpdateTimestamp)
+    @Modifying
+    @Query("update Employee e set e.leaves = coalesce(e.leaves, 0) + :delta, "
+            + "e.version = e.version + 1, e.updatedAt = :now where e.user.userId = :userId")
+    int adjustLeaves(@Param("userId") Integer userId, @Param("delta") int delta, @Param("now") Instant now);
+
+    // payroll input: only the columns the pay calculation needs
+    @Query("select new com.hrms.dto.PayrollEmployee(e.employeeId, e.user.userId, e.salary) "
+            + "from Employee e order by e.employeeId")
+    List<PayrollEmployee> findPayrollInputs();
+
+    // rows of the availability matrix for one department
+    @Query("select new com.hrms.dto.TeamMember(e.employeeId, e.user.userId, e.firstName, e.lastName) "
+            + "from Employee e where e.department = :department order by e.lastName, e.firstName, e.employeeId")
+    List<TeamMember> findTeam(@Param("department") String department);
+
+    // directory search index: every employee, or one after a write
+    @Query("select new com.hrms.dto.EmployeeDirectoryEntry(e.employeeId, u.userId, e.firstName, e.lastName, "
+            + "u.email, e.department, e.position, e.phone) from Employee e join e.user u")
+    List<EmployeeDirectoryEntry> findDirectoryEntries();
+
+    @Query("select new com.hrms.dto.EmployeeDirectoryEntry(e.employeeId, u.userId, e.firstName, e.lastName, "
+            + "u.email, e.department, e.position, e.phone) from Employee e join e.user u where e.employeeId = :id")
+    Optional<EmployeeDirectoryEntry> findDirectoryEntry(@Param("id") Integer id);
+
+    @Query("select new com.hrms.dto.EmployeeDirectoryEntry(e.employeeId, u.userId, e.firstName, e.lastName, "
+            + "u.email, e.department, e.position, e.phone) from Employee e join e.user u where u.userId in :userIds")
+    List<EmployeeDirectoryEntry> findDirectoryEntriesByUserIds(@Param("userIds") Collection<Integer> userIds);
 }
@@ -0,0 +1,111 @@
+package com.hrms.dao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Flat, read-only row streams for the export endpoints. Plain JDBC with a fetch
+ * size (a server-side cursor with MySQL's useCursorFetch=true): no entities, no
+ * persistence context, so memory stays flat however many rows are exported.
+ */
+@Repository
+public class ExportRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    public enum Dataset {
+        ATTENDANCE, LEAVES, SALARIES
+    }
+
+    // department comes from the user's employee record (absent for users without one)
+    private static final String ATTENDANCE_SQL =
+            "SELECT a.attendance_id, a.attendance_date, u.user_id, u.email, u.first_name, u.last_name, "
+                    + "e.department, a.check_in, a.check_out, a.status, a.remarks "
+                    + "FROM attendance a JOIN users u ON u.user_id = a.user_id "
+                    + "LEFT JOIN employees e ON e.user_id = u.user_id "
+                    + "WHERE (? IS NULL OR a.attendance_date >= ?) AND (? IS NULL OR a.attendance_date <= ?) "
+                    + "AND (? IS NULL OR e.department = ?) "
+                    + "ORDER BY a.attendance_date, a.attendance_id";
+
+    // leaves overlapping [from, to]
+    private static final String LEAVES_SQL =
+            "SELECT l.leave_id, u.user_id, u.email, u.first_name, u.last_name, e.department, "
+                    + "l.start_date, l.end_date, l.status, l.reason, l.reject_reason "
+                    + "FROM leaves l JOIN users u ON u.user_id = l.user_id "
+                    + "LEFT JOIN employees e ON e.user_id = u.user_id "
+                    + "WHERE (? IS NULL OR l.end_date >= ?) AND (? IS NULL OR l.start_date <= ?) "
+                    + "AND (? IS NULL OR e.department = ?) "
+                    + "ORDER BY l.start_date, l.leave_id";
+
+    private static final String SALARIES_SQL =
+            "SELECT s.salary_id, e.employee_id, e.first_name, e.last_name, e.department, "
+                    + "s.amount, s.payment_date, s.payroll_month, s.remarks "
+                    + "FROM salaries s JOIN employees e ON e.employee_id = s.employee_id "
+                    + "WHERE (? IS NULL OR s.payment_date >= ?) AND (? IS NULL OR s.payment_date <= ?) "
+                    + "AND (? IS NULL OR e.department = ?) "
+                    + "ORDER BY s.payment_date, s.salary_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Calls header once with the column labels, then row once per row with JDBC values
+     * converted to java.time (dates, times) or left as String / Number. The row array
+     * is reused between calls.
+     */
+    public void forEachRow(Dataset dataset, LocalDate from, LocalDate to, String department,
+                           Consumer<List<String>> header, Consumer<Object[]> row) {
+        String sql = switch (dataset) {
+            case ATTENDANCE -> ATTENDANCE_SQL;
+            case LEAVES -> LEAVES_SQL;
+            case SALARIES -> SALARIES_SQL;
+        };
+        Date f = from == null ? null : Date.valueOf(from);
+        Date t = to == null ? null : Date.valueOf(to);
+        jdbcTemplate.query(sql, ps -> {
+            ps.setDate(1, f);
+            ps.setDate(2, f);
+            ps.setDate(3, t);
+            ps.setDate(4, t);
+            ps.setString(5, department);
+            ps.setString(6, department);
+        }, rs -> {
+            ResultSetMetaData meta = rs.getMetaData();
+            int columns = meta.getColumnCount();
+            List<String> labels = new ArrayList<>(columns);
+            for (int i = 1; i <= columns; i++) labels.add(meta.getColumnLabel(i).toLowerCase(Locale.ROOT));
+            header.accept(labels);
+            Object[] values = new Object[columns];
+            while (rs.next()) {
+                for (int i = 0; i < columns; i++) values[i] = value(rs, i + 1);
+                row.accept(values);
+            }
+            return null;
+        });
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object v = rs.getObject(column);
+        if (v instanceof Date d) return d.toLocalDate();
+        if (v instanceof Time t) return t.toLocalTime();
+        if (v instanceof Timestamp ts) return ts.toLocalDateTime();
+        return v;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface HolidayRepository extends JpaRepository<Holiday, Integer> {
+
+    List<Holiday> findByDateBetweenOrderByDate(LocalDate from, LocalDate to);
+
+    // the non-working days WorkingDayCalendar builds a year from
+    @Query("select distinct h.date from Holiday h "
+            + "where h.date between :from and :to and coalesce(h.isPublic, true) = true")
+    List<LocalDate> findPublicHolidayDates(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,11 +1,79 @@
 package com.hrms.dao;
 
+import com.hrms.dto.LeaveSpan;
+import com.hrms.dto.ListVersion;
+import com.hrms.dto.LeaveView;
 import com.hrms.entity.Leave;
 import com.hrms.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LeaveRepository extends JpaRepository<Leave, Integer> {
+    @EntityGraph(attributePaths = "user")
     List<Leave> findByUser(User user);
+
+    // user fetched in the same statement (no per-row user selects)
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Leave> findAll();
+
+    // list screens: one statement, only the displayed user columns
+    @Query("select new com.hrms.dto.LeaveView(l.leaveId, l.startDate, l.endDate, l.status, l.reason, "
+            + "l.rejectReason, u.userId, u.email, u.firstName, u.lastName) "
+            + "from Leave l join l.user u order by l.leaveId")
+    List<LeaveView> findAllViews();
+
+    // GET /api/leave?email=: one user's leaves, same columns as the list
+    @Query("select new com.hrms.dto.LeaveView(l.leaveId, l.startDate, l.endDate, l.status, l.reason, "
+            + "l.rejectReason, u.userId, u.email, u.firstName, u.lastName) "
+            + "from Leave l join l.user u where u.email = :email order by l.leaveId")
+    List<LeaveView> findViewsByUserEmail(@Param("email") String email);
+
+    // ETag of GET /api/leave: the list's aggregates, without loading it
+    @Query("select new com.hrms.dto.ListVersion(count(l), max(l.updatedAt), coalesce(sum(l.version), 0L), "
+            + "max(u.updatedAt), coalesce(sum(u.version), 0L), "
+            + "(select coalesce(max(t.tombstoneId), 0L) from Tombstone t "
+            + "where t.entityType = com.hrms.entity.Tombstone.EntityType.LEAVE)) "
+            + "from Leave l join l.user u")
+    ListVersion findListVersion();
+
+    // ?changedSince=: leaves changed, and leaves whose (embedded) user changed; one range scan each
+    @Query("select new com.hrms.dto.LeaveView(l.leaveId, l.startDate, l.endDate, l.status, l.reason, "
+            + "l.rejectReason, u.userId, u.email, u.firstName, u.lastName) "
+            + "from Leave l join l.user u where l.updatedAt > :since")
+    List<LeaveView> findViewsUpdatedAfter(@Param("since") Instant since);
+
+    @Query("select new com.hrms.dto.LeaveView(l.leaveId, l.startDate, l.endDate, l.status, l.reason, "
+            + "l.rejectReason, u.userId, u.email, u.firstName, u.lastName) "
+            + "from Leave l join l.user u where u.updatedAt > :since")
+    List<LeaveView> findViewsByUserUpdatedAfter(@Param("since") Instant since);
+
+    // compare-and-set on status (a NULL status counts as PENDING); returns 0 if the leave
+    // is no longer in the expected state. Bumps version/updatedAt like an entity update would
+    @Modifying
+    @Query("update Leave l set l.status = :to, l.rejectReason = null, l.version = l.version + 1, l.updatedAt = :now "
+            + "where l.leaveId = :id and coalesce(l.status, com.hrms.entity.Leave.Status.PENDING) = :from")
+    int transitionStatus(@Param("id") Integer id, @Param("from") Leave.Status from, @Param("to") Leave.Status to,
+                         @Param("now") Instant now);
+
+    // any PENDING (or NULL) / APPROVED leave of the user overlapping [from, to]; served by idx_leave_user_start
+    @Query("select count(l) > 0 from Leave l where l.user.userId = :userId "
+            + "and l.startDate <= :to and l.endDate >= :from "
+            + "and coalesce(l.status, com.hrms.entity.Leave.Status.PENDING) <> com.hrms.entity.Leave.Status.REJECTED")
+    boolean existsActiveOverlap(@Param("userId") Integer userId,
+                                @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    // approved leaves overlapping [from, to]; a missing end date means a single-day leave
+    @Query("select new com.hrms.dto.LeaveSpan(l.user.userId, l.startDate, coalesce(l.endDate, l.startDate)) "
+            + "from Leave l where l.status = com.hrms.entity.Leave.Status.APPROVED "
+            + "and l.startDate <= :to and coalesce(l.endDate, l.startDate) >= :from")
+    List<LeaveSpan> findApprovedSpans(@Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,19 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Salary;
+
+import java.util.List;
+
+/**
+ * JDBC batch writes for payroll runs (salary ids are IDENTITY-generated, so
+ * Hibernate would insert them one statement at a time).
+ */
+public interface SalaryBatchRepository {
+
+    /**
+     * Insert payroll salaries in JDBC batches, skipping any (employee, payroll month)
+     * that already has one. Element i of the result is true if rows[i] was inserted.
+     * Must run in a REPEATABLE READ transaction: the flags are worked out from its snapshot.
+     */
+    boolean[] insertPayrollIgnoringExisting(List<Salary> rows);
+}
@@ -0,0 +1,94 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Salary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Spring Data fragment backing {@link SalaryBatchRepository}.
+ * The (employee_id, payroll_month) unique key, with ON DUPLICATE KEY UPDATE as a no-op,
+ * makes re-running a month, or two runs racing each other, pay every employee at most
+ * once; any other error (a bad employee id, say) still fails the chunk.
+ *
+ * As in {@link AttendanceBatchRepositoryImpl}, the rows inserted are read back: rewritten
+ * multi-row batches report SUCCESS_NO_INFO for skipped rows too.
+ */
+class SalaryBatchRepositoryImpl implements SalaryBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO salaries (amount, payment_date, remarks, employee_id, payroll_month) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE salary_id = salary_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SalaryBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean[] insertPayrollIgnoringExisting(List<Salary> rows) {
+        boolean[] inserted = new boolean[rows.size()];
+        if (rows.isEmpty()) return inserted;
+
+        Set<Key> before = existingKeys(rows);
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, s) -> {
+            ps.setDouble(1, s.getAmount());
+            ps.setDate(2, Date.valueOf(s.getPaymentDate()));
+            ps.setString(3, s.getRemarks());
+            ps.setInt(4, s.getEmployee().getEmployeeId());
+            ps.setDate(5, Date.valueOf(s.getPayrollMonth()));
+        });
+
+        // a row another run commits in between is outside this transaction's snapshot: skipped
+        Set<Key> after = existingKeys(rows);
+
+        Set<Key> claimed = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Key key = Key.of(rows.get(i));
+            inserted[i] = !before.contains(key) && after.contains(key) && claimed.add(key);
+        }
+        return inserted;
+    }
+
+    private Set<Key> existingKeys(List<Salary> rows) {
+        Set<Integer> employeeIds = new HashSet<>();
+        Set<LocalDate> months = new HashSet<>();
+        for (Salary s : rows) {
+            employeeIds.add(s.getEmployee().getEmployeeId());
+            months.add(s.getPayrollMonth());
+        }
+
+        Set<Key> keys = new HashSet<>();
+        List<Integer> ids = new ArrayList<>(employeeIds);
+        for (LocalDate month : months) {
+            for (int start = 0; start < ids.size(); start += BATCH_SIZE) {
+                List<Integer> chunk = ids.subList(start, Math.min(start + BATCH_SIZE, ids.size()));
+                String sql = "SELECT employee_id, payroll_month FROM salaries WHERE payroll_month = ? "
+                        + "AND employee_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                List<Object> args = new ArrayList<>(chunk.size() + 1);
+                args.add(Date.valueOf(month));
+                args.addAll(chunk);
+                jdbcTemplate.query(sql, rs -> {
+                    keys.add(new Key(rs.getInt(1), rs.getDate(2).toLocalDate()));
+                }, args.toArray());
+            }
+        }
+        return keys;
+    }
+
+    private record Key(int employeeId, LocalDate payrollMonth) {
+        static Key of(Salary s) {
+            return new Key(s.getEmployee().getEmployeeId(), s.getPayrollMonth());
+        }
+    }
+}
@@ -1,10 +1,36 @@
 package com.hrms.dao;
 
+import com.hrms.dto.SalaryView;
 import com.hrms.entity.Salary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
-public interface SalaryRepository extends JpaRepository<Salary, Integer> {
+public interface SalaryRepository extends JpaRepository<Salary, Integer>, SalaryBatchRepository {
     // Find salaries for a given employee id
     List<Salary> findByEmployeeEmployeeId(Integer employeeId);
+
+    // employee fetched in the same statement for callers that read it
+    @Override
+    @EntityGraph(attributePaths = "employee")
+    List<Salary> findAll();
+
+    @Query("select new com.hrms.dto.SalaryView(s.salaryId, s.amount, s.paymentDate, s.remarks, "
+            + "e.employeeId, e.firstName, e.lastName) "
+            + "from Salary s join s.employee e order by s.salaryId")
+    List<SalaryView> findAllViews();
+
+    @Query("select new com.hrms.dto.SalaryView(s.salaryId, s.amount, s.paymentDate, s.remarks, "
+            + "e.employeeId, e.firstName, e.lastName) "
+            + "from Salary s join s.employee e where e.employeeId = :employeeId order by s.salaryId")
+    List<SalaryView> findViewsByEmployeeId(@Param("employeeId") Integer employeeId);
+
+    // employees a payroll run has already paid for the month (drives resume / idempotency)
+    @Query("select s.employee.employeeId from Salary s where s.payrollMonth = :month")
+    Set<Integer> findPaidEmployeeIds(@Param("month") LocalDate month);
 }
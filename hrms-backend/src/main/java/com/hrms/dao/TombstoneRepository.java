@@ -0,0 +1,20 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    @Query("select distinct t.entityId from Tombstone t where t.entityType = :type and t.deletedAt > :since")
+    List<Integer> findDeletedIdsSince(@Param("type") Tombstone.EntityType type, @Param("since") Instant since);
+
+    @Modifying
+    @Query("delete from Tombstone t where t.entityType = :type and t.deletedAt < :cutoff")
+    int purgeOlderThan(@Param("type") Tombstone.EntityType type, @Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,31 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Admin;
+import com.hrms.entity.HrManager;
+import com.hrms.entity.User;
+
+import java.util.List;
+
+/**
+ * JDBC batch inserts for bulk-imported users and their role rows (all three tables
+ * use IDENTITY ids, so Hibernate would insert them one statement at a time).
+ */
+public interface UserBatchRepository {
+
+    /**
+     * Insert the users in JDBC batches. A duplicate email fails the batch (callers
+     * check emails first and retry); ids are not read back.
+     * Rows are written behind Hibernate's back: callers evict the user caches.
+     */
+    void insertUsers(List<User> rows);
+
+    /**
+     * Each row's user must carry its userId.
+     */
+    void insertAdmins(List<Admin> rows);
+
+    /**
+     * Each row's user must carry its userId.
+     */
+    void insertHrManagers(List<HrManager> rows);
+}
@@ -0,0 +1,73 @@
+package com.hrms.dao;
+
+import com.hrms.entity.Admin;
+import com.hrms.entity.HrManager;
+import com.hrms.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data fragment backing {@link UserBatchRepository}.
+ */
+class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (created_at, email, first_name, last_name, password_hash, role, status, version, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private static final String INSERT_ADMIN_SQL =
+            "INSERT INTO admins (user_id, first_name, last_name, access_level) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_HR_MANAGER_SQL =
+            "INSERT INTO hr_managers (user_id, first_name, last_name, office_location, phone) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertUsers(List<User> rows) {
+        if (rows.isEmpty()) return;
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows, BATCH_SIZE, (ps, u) -> {
+            ps.setTimestamp(1, u.getCreatedAt() == null ? null : Timestamp.from(u.getCreatedAt()));
+            ps.setString(2, u.getEmail());
+            ps.setString(3, u.getFirstName());
+            ps.setString(4, u.getLastName());
+            ps.setString(5, u.getPasswordHash());
+            ps.setString(6, u.getRole() == null ? null : u.getRole().name());
+            ps.setString(7, u.getStatus() == null ? null : u.getStatus().name());
+            ps.setTimestamp(8, now);
+        });
+    }
+
+    @Override
+    public void insertAdmins(List<Admin> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_ADMIN_SQL, rows, BATCH_SIZE, (ps, a) -> {
+            ps.setInt(1, a.getUser().getUserId());
+            ps.setString(2, a.getFirstName());
+            ps.setString(3, a.getLastName());
+            ps.setString(4, a.getAccessLevel() == null ? null : a.getAccessLevel().name());
+        });
+    }
+
+    @Override
+    public void insertHrManagers(List<HrManager> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_HR_MANAGER_SQL, rows, BATCH_SIZE, (ps, h) -> {
+            ps.setInt(1, h.getUser().getUserId());
+            ps.setString(2, h.getFirstName());
+            ps.setString(3, h.getLastName());
+            ps.setString(4, h.getOfficeLocation());
+            ps.setString(5, h.getPhone());
+        });
+    }
+}
@@ -1,13 +1,69 @@
 package com.hrms.dao;
 
+import com.hrms.dto.UserSummary;
+import com.hrms.dto.UserView;
 import com.hrms.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, UserBatchRepository {
     Optional<User> findByEmail(String email);
 
-    List<User> findByRoleAndStatus(User.Role role, User.Status status);
+    // HR's pending-registrations list: projected rows (no hash), query cache invalidated by any write to users
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "hrms.query.users-by-role-status")
+    })
+    @Query("select new com.hrms.dto.UserView(u.userId, u.createdAt, u.email, u.firstName, u.lastName, u.role, u.status) "
+            + "from User u where u.role = :role and u.status = :status order by u.userId")
+    List<UserView> findViewsByRoleAndStatus(@Param("role") User.Role role, @Param("status") User.Status status);
+
+    @Query("select new com.hrms.dto.UserView(u.userId, u.createdAt, u.email, u.firstName, u.lastName, u.role, u.status) "
+            + "from User u where u.userId = :id")
+    Optional<UserView> findViewById(@Param("id") Integer id);
+
+    // SELECT ... FOR UPDATE on the user's row: serializes per-user check-then-insert sequences
+    // (e.g. leave overlap checks) without locking anything else
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.email = :email")
+    Optional<User> findByEmailForUpdate(@Param("email") String email);
+
+    // resolve a mixed batch of ids and (lower-cased) emails in one query
+    List<User> findByUserIdInOrEmailIn(Collection<Integer> userIds, Collection<String> emails);
+
+    // bulk registration decisions: every user of the batch read and row-locked in one statement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.userId in :userIds")
+    List<User> findAllByIdForUpdate(@Param("userIds") Collection<Integer> userIds);
+
+    // one statement per target status; Hibernate evicts the users cache region for bulk updates.
+    // Bulk updates bypass @Version/@UpdateTimestamp, so both are set here
+    @Modifying
+    @Query("update User u set u.status = :to, u.version = u.version + 1, u.updatedAt = :now "
+            + "where u.userId in :userIds and u.status = :from")
+    int transitionStatus(@Param("userIds") Collection<Integer> userIds,
+                         @Param("from") User.Status from,
+                         @Param("to") User.Status to,
+                         @Param("now") Instant now);
+
+    // bulk import: which of a batch of (lower-cased) emails are already registered, in one query
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // bulk import: ids of freshly inserted users, read back by email
+    @Query("select new com.hrms.dto.UserSummary(u.userId, u.email, u.firstName, u.lastName) "
+            + "from User u where u.email in :emails")
+    List<UserSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
 }
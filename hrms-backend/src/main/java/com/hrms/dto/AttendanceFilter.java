@@ -0,0 +1,20 @@
+package com.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for attendance listings. Null fields are ignored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceFilter {
+    private Integer userId;
+    private String department;
+    private LocalDate from;       // inclusive
+    private LocalDate to;         // inclusive
+}
@@ -0,0 +1,24 @@
+package com.hrms.dto;
+
+import java.util.List;
+
+/**
+ * Result of one punch-file import. errors lists at most the first
+ * AttendanceImportService.MAX_REPORTED_ERRORS rejected rows; errorCount counts all of them.
+ */
+public record AttendanceImportReport(long rows,
+                                     long punches,
+                                     long errorCount,
+                                     long userDays,
+                                     long inserted,
+                                     long updated,
+                                     List<String> monthsRebuilt,
+                                     long elapsedMs,
+                                     List<RowError> errors) {
+
+    /**
+     * line is 1-based and counts the header.
+     */
+    public record RowError(long line, String error) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of attendance rows, newest first.
+ * Pass nextCursor back as ?cursor= to fetch the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class AttendancePage {
+    private List<AttendanceView> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
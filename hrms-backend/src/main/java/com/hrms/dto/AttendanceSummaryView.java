@@ -0,0 +1,16 @@
+package com.hrms.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One employee's attendance counters for a month.
+ */
+public record AttendanceSummaryView(Integer userId,
+                                    String email,
+                                    String firstName,
+                                    String lastName,
+                                    LocalDate month,
+                                    int fullDays,
+                                    int halfDays,
+                                    int absentDays) {
+}
@@ -0,0 +1,16 @@
+package com.hrms.dto;
+
+import com.hrms.entity.Attendance;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The time fields of one attendance row, keyed by (user, date).
+ */
+public record AttendanceTimes(Integer userId,
+                              LocalDate date,
+                              LocalTime checkIn,
+                              LocalTime checkOut,
+                              Attendance.Status status) {
+}
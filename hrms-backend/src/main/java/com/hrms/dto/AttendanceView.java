@@ -0,0 +1,35 @@
+package com.hrms.dto;
+
+import com.hrms.entity.Attendance;
+import com.hrms.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only attendance row with a slim nested user, built directly by a JPQL
+ * constructor expression. JSON field names match the Attendance entity.
+ */
+public record AttendanceView(Integer attendanceId,
+                             LocalDate date,
+                             LocalTime checkIn,
+                             LocalTime checkOut,
+                             Attendance.Status status,
+                             String remarks,
+                             UserSummary user) {
+
+    // flat form used by "select new" (JPQL cannot nest constructor expressions)
+    public AttendanceView(Integer attendanceId, LocalDate date, LocalTime checkIn, LocalTime checkOut,
+                          Attendance.Status status, String remarks,
+                          Integer userId, String email, String firstName, String lastName) {
+        this(attendanceId, date, checkIn, checkOut, status, remarks,
+                new UserSummary(userId, email, firstName, lastName));
+    }
+
+    // response to a write, from the saved entity (its user is already loaded)
+    public static AttendanceView of(Attendance a) {
+        User u = a.getUser();
+        return new AttendanceView(a.getAttendanceId(), a.getDate(), a.getCheckIn(), a.getCheckOut(), a.getStatus(),
+                a.getRemarks(), new UserSummary(u.getUserId(), u.getEmail(), u.getFirstName(), u.getLastName()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.hrms.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Who was present, absent or on leave in one department over [from, to].
+ *
+ * Each employee row carries one character per day of the range, in the order of days:
+ *   P  full day present       H  half day
+ *   L  approved leave         A  marked absent
+ *   -  working day, nothing recorded
+ *   .  weekend or public holiday (unless attendance was recorded)
+ */
+public record AvailabilityMatrix(String department,
+                                 LocalDate from,
+                                 LocalDate to,
+                                 List<Day> days,
+                                 List<Row> employees) {
+
+    public static final char PRESENT = 'P';
+    public static final char HALF_DAY = 'H';
+    public static final char ON_LEAVE = 'L';
+    public static final char ABSENT = 'A';
+    public static final char UNMARKED = '-';
+    public static final char NON_WORKING = '.';
+
+    /**
+     * Column totals for one day; unmarked counts working-day cells with nothing recorded.
+     */
+    public record Day(LocalDate date,
+                      boolean workingDay,
+                      int present,
+                      int halfDay,
+                      int onLeave,
+                      int absent,
+                      int unmarked) {
+    }
+
+    public record Row(Integer employeeId,
+                      Integer userId,
+                      String name,
+                      String days) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.hrms.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of POST /api/attendance/mark/bulk.
+ * Each entry identifies the user by userId or email (userId wins when both are given).
+ */
+@Data
+public class BulkAttendanceRequest {
+    private LocalDate date;                 // defaults to today
+    private List<Entry> entries = new ArrayList<>();
+
+    @Data
+    public static class Entry {
+        private Integer userId;
+        private String email;
+        private String status;              // FULL_DAY / HALF_DAY / ABSENT (same parsing as /mark)
+    }
+}
@@ -0,0 +1,26 @@
+package com.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a bulk attendance request; index is the entry's position in the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAttendanceResult {
+    private int index;
+    private Integer userId;
+    private String email;
+    private Outcome outcome;
+    private String message;
+
+    public enum Outcome {
+        MARKED,
+        ALREADY_MARKED,
+        USER_NOT_FOUND,
+        INVALID
+    }
+}
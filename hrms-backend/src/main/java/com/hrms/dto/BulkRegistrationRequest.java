@@ -0,0 +1,27 @@
+package com.hrms.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body of POST /api/admin/users/decisions: approve or reject many pending registrations at once.
+ * Approvals carry the same employee details as a single approval; rejections may give a reason.
+ */
+@Data
+public class BulkRegistrationRequest {
+    private List<Entry> entries = new ArrayList<>();
+
+    @Data
+    public static class Entry {
+        private Integer userId;
+        private String decision;            // APPROVE / REJECT
+        private String address;
+        private String phone;
+        private String department;
+        private String position;
+        private Double salary;
+        private String reason;              // REJECT only
+    }
+}
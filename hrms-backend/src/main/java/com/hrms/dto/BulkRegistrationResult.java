@@ -0,0 +1,28 @@
+package com.hrms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a bulk registration decision; index is the entry's position in the request.
+ * employeeId is set for approvals.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResult {
+    private int index;
+    private Integer userId;
+    private Outcome outcome;
+    private Integer employeeId;
+    private String message;
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_PENDING,
+        USER_NOT_FOUND,
+        INVALID
+    }
+}
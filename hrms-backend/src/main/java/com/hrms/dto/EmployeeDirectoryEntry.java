@@ -0,0 +1,14 @@
+package com.hrms.dto;
+
+/**
+ * The searchable, displayable slice of an employee: what the directory screens list.
+ */
+public record EmployeeDirectoryEntry(Integer employeeId,
+                                     Integer userId,
+                                     String firstName,
+                                     String lastName,
+                                     String email,
+                                     String department,
+                                     String position,
+                                     String phone) {
+}
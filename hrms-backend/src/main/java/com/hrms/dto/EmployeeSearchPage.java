@@ -0,0 +1,13 @@
+package com.hrms.dto;
+
+import java.util.List;
+
+/**
+ * One page of directory search results, best match first; total counts every match.
+ */
+public record EmployeeSearchPage(String q,
+                                 int total,
+                                 int page,
+                                 int size,
+                                 List<EmployeeDirectoryEntry> items) {
+}
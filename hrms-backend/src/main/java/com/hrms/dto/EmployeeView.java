@@ -0,0 +1,38 @@
+package com.hrms.dto;
+
+import com.hrms.entity.Employee;
+
+import java.sql.Date;
+import java.time.Instant;
+
+/**
+ * Read-only employee row with a slim nested user, built directly by a JPQL constructor
+ * expression. JSON field names match the Employee entity (including fullName).
+ */
+public record EmployeeView(Integer employeeId,
+                           UserSummary user,
+                           String firstName,
+                           String lastName,
+                           String address,
+                           String address2,
+                           String department,
+                           String position,
+                           String phone,
+                           Double salary,
+                           String gender,
+                           Date hireDate,
+                           Integer leaves,
+                           long version,
+                           Instant updatedAt,
+                           String fullName) {
+
+    // flat form used by "select new" (JPQL cannot nest constructor expressions)
+    public EmployeeView(Integer employeeId, String firstName, String lastName, String address, String address2,
+                        String department, String position, String phone, Double salary, String gender,
+                        Date hireDate, Integer leaves, long version, Instant updatedAt,
+                        Integer userId, String email, String userFirstName, String userLastName) {
+        this(employeeId, new UserSummary(userId, email, userFirstName, userLastName), firstName, lastName,
+                address, address2, department, position, phone, salary, gender, hireDate, leaves, version,
+                updatedAt, Employee.fullName(firstName, lastName));
+    }
+}
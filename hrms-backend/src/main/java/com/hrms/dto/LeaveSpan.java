@@ -0,0 +1,11 @@
+package com.hrms.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive date range of one leave, keyed by the user who took it.
+ */
+public record LeaveSpan(Integer userId,
+                        LocalDate startDate,
+                        LocalDate endDate) {
+}
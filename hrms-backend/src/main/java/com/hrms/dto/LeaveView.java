@@ -0,0 +1,33 @@
+package com.hrms.dto;
+
+import com.hrms.entity.Leave;
+import com.hrms.entity.User;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only leave row with a slim nested user. JSON field names match the Leave entity.
+ */
+public record LeaveView(Integer leaveId,
+                        LocalDate startDate,
+                        LocalDate endDate,
+                        Leave.Status status,
+                        String reason,
+                        String rejectReason,
+                        UserSummary user) {
+
+    // flat form used by "select new" (JPQL cannot nest constructor expressions)
+    public LeaveView(Integer leaveId, LocalDate startDate, LocalDate endDate, Leave.Status status,
+                     String reason, String rejectReason,
+                     Integer userId, String email, String firstName, String lastName) {
+        this(leaveId, startDate, endDate, status, reason, rejectReason,
+                new UserSummary(userId, email, firstName, lastName));
+    }
+
+    // response to a write, from the saved entity (its user is already loaded)
+    public static LeaveView of(Leave l) {
+        User u = l.getUser();
+        return new LeaveView(l.getLeaveId(), l.getStartDate(), l.getEndDate(), l.getStatus(), l.getReason(),
+                l.getRejectReason(), new UserSummary(u.getUserId(), u.getEmail(), u.getFirstName(), u.getLastName()));
+    }
+}
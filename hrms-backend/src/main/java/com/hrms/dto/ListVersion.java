@@ -0,0 +1,16 @@
+package com.hrms.dto;
+
+import java.time.Instant;
+
+/**
+ * Aggregates over a synced list, the users embedded in it and its tombstones, read by one
+ * query instead of the list itself: any insert, update or delete changes at least one of them
+ * (a deletion always moves lastTombstoneId, even when count and max(updatedAt) stay put).
+ */
+public record ListVersion(long rows,
+                          Instant lastUpdated,
+                          long versionSum,
+                          Instant lastUserUpdated,
+                          long userVersionSum,
+                          long lastTombstoneId) {
+}
@@ -0,0 +1,9 @@
+package com.hrms.dto;
+
+/**
+ * The slice of an employee a payroll run reads; monthlySalary is employees.salary.
+ */
+public record PayrollEmployee(Integer employeeId,
+                              Integer userId,
+                              Double monthlySalary) {
+}
@@ -0,0 +1,18 @@
+package com.hrms.dto;
+
+import java.time.YearMonth;
+
+/**
+ * Outcome of one payroll run. Re-running the month pays only the employees
+ * counted here as failed or noPayableDays (once they have payable days).
+ */
+public record PayrollRunReport(YearMonth month,
+                               int employees,
+                               int paid,
+                               int alreadyPaid,
+                               int noSalary,
+                               int noPayableDays,
+                               int failed,
+                               double totalPaid,
+                               long elapsedMs) {
+}
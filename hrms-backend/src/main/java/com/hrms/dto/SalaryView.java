@@ -0,0 +1,21 @@
+package com.hrms.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only salary row. Salary fields keep their entity names; the employee
+ * id and display name are added so clients need not join against /api/employees.
+ */
+public record SalaryView(Integer salaryId,
+                         Double amount,
+                         LocalDate paymentDate,
+                         String remarks,
+                         Integer employeeId,
+                         String employeeName) {
+
+    public SalaryView(Integer salaryId, Double amount, LocalDate paymentDate, String remarks,
+                      Integer employeeId, String firstName, String lastName) {
+        this(salaryId, amount, paymentDate, remarks, employeeId,
+                ((firstName == null ? "" : firstName.trim()) + " " + (lastName == null ? "" : lastName.trim())).trim());
+    }
+}
@@ -0,0 +1,12 @@
+package com.hrms.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Answer to ?changedSince=: rows created or updated after the watermark the client sent,
+ * the ids deleted since then, and the watermark to send next time. Rows may repeat across
+ * consecutive deltas (the watermark overlaps), so clients apply them as upserts.
+ */
+public record SyncDelta<T>(List<T> changed, List<Integer> deleted, Instant watermark) {
+}
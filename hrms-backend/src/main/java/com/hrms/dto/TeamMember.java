@@ -0,0 +1,10 @@
+package com.hrms.dto;
+
+/**
+ * One employee of a department, as listed in the availability matrix.
+ */
+public record TeamMember(Integer employeeId,
+                         Integer userId,
+                         String firstName,
+                         String lastName) {
+}
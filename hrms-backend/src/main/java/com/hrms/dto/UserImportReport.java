@@ -0,0 +1,36 @@
+package com.hrms.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress (while running) or outcome of one bulk user import.
+ *
+ * Records are numbered from 1 in file order (the CSV header does not count).
+ * committedThrough is the last record whose chunk is committed: a FAILED import is
+ * resumed by uploading the same file again with resumeFrom=committedThrough. Re-importing
+ * records that did commit is harmless too, they are counted as alreadyRegistered.
+ * errors lists at most UserImportService.MAX_REPORTED_ERRORS rejected records; errorCount counts all.
+ */
+public record UserImportReport(String importId,
+                               String fileName,
+                               String format,
+                               Status status,
+                               long resumeFrom,
+                               long recordsRead,
+                               long created,
+                               long admins,
+                               long hrManagers,
+                               long alreadyRegistered,
+                               long errorCount,
+                               long committedThrough,
+                               Instant submittedAt,
+                               long elapsedMs,
+                               String failure,
+                               List<RowError> errors) {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public record RowError(long record, String email, String error) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.hrms.dto;
+
+/**
+ * The user columns list screens actually display. Never carries the password hash.
+ */
+public record UserSummary(Integer userId, String email, String firstName, String lastName) {
+}
@@ -0,0 +1,23 @@
+package com.hrms.dto;
+
+import com.hrms.entity.User;
+
+import java.time.Instant;
+
+/**
+ * A user account as HR screens show it. JSON field names match the User entity; never
+ * carries the password hash.
+ */
+public record UserView(Integer userId,
+                       Instant createdAt,
+                       String email,
+                       String firstName,
+                       String lastName,
+                       User.Role role,
+                       User.Status status) {
+
+    public static UserView of(User u) {
+        return new UserView(u.getUserId(), u.getCreatedAt(), u.getEmail(), u.getFirstName(), u.getLastName(),
+                u.getRole(), u.getStatus());
+    }
+}
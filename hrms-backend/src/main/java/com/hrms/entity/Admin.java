@@ -2,9 +2,13 @@ package com.hrms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "admins")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hrms.admins")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.hrms.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -7,20 +8,29 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "attendance")
+@Table(name = "attendance",
+        uniqueConstraints = @UniqueConstraint(name = Attendance.UNIQUE_USER_DATE,
+                columnNames = {"user_id", "attendance_date"}),
+        // keyset listing walks (attendance_date, attendance_id); InnoDB appends the PK to the index
+        indexes = @Index(name = "idx_attendance_date", columnList = "attendance_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Attendance {
 
+    // one row per user per day; the composite key also serves the "already marked?" lookup
+    public static final String UNIQUE_USER_DATE = "uk_attendance_user_date";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "attendance_id")
     private Integer attendanceId;
 
-    @ManyToOne
+    // lazy: list queries fetch it explicitly (entity graph / join fetch) or project it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User user;
 
     // ✅ Correct mapping to "attendance_date"
@@ -0,0 +1,45 @@
+package com.hrms.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Per-user, per-month attendance counters, maintained alongside every attendance insert.
+ * summaryMonth is always the first day of the month.
+ */
+@Entity
+@Table(name = "attendance_monthly_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_attendance_summary_user_month",
+                columnNames = {"user_id", "summary_month"}),
+        indexes = @Index(name = "idx_attendance_summary_month", columnList = "summary_month"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "summary_id")
+    private Integer summaryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    private User user;
+
+    @Column(name = "summary_month", nullable = false)
+    private LocalDate summaryMonth;
+
+    @Column(name = "full_days", nullable = false)
+    private int fullDays;
+
+    @Column(name = "half_days", nullable = false)
+    private int halfDays;
+
+    @Column(name = "absent_days", nullable = false)
+    private int absentDays;
+}
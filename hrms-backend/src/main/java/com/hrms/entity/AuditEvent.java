@@ -0,0 +1,64 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One audited HR action. Written asynchronously in batches by the audit pipeline
+ * (AuditLog), never updated.
+ */
+@Entity
+@Table(name = "audit_events",
+        indexes = {
+                @Index(name = "idx_audit_occurred", columnList = "occurred_at"),
+                @Index(name = "idx_audit_actor_occurred", columnList = "actor, occurred_at"),
+                @Index(name = "idx_audit_subject_occurred", columnList = "subject_type, subject_id, occurred_at")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditEvent {
+
+    public static final int MAX_DETAILS = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "audit_id")
+    private Long auditId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // "user:<id>" for a logged-in session, otherwise "anonymous"
+    @Column(name = "actor", nullable = false, length = 64)
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 32)
+    private Action action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 16)
+    private SubjectType subjectType;
+
+    @Column(name = "subject_id", length = 64)
+    private String subjectId;
+
+    @Column(name = "details", length = MAX_DETAILS)
+    private String details;
+
+    public enum Action {
+        USER_APPROVED, USER_REJECTED,
+        LEAVE_APPROVED, LEAVE_REJECTED,
+        ATTENDANCE_MARKED, ATTENDANCE_IMPORTED,
+        USERS_IMPORTED,
+        SALARY_POSTED, PAYROLL_RUN
+    }
+
+    public enum SubjectType {
+        USER, LEAVE, SALARY, PAYROLL, FILE
+    }
+}
@@ -4,9 +4,16 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = @Index(name = "idx_employee_updated", columnList = "updated_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hrms.employees")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,9 +65,24 @@ public class Employee {
     @Column(name = "leaves")
     private Integer leaves;
 
+    // optimistic lock and change tracking: bumped (with updatedAt) by every write, including
+    // the bulk JPQL updates and JDBC inserts; list ETags and ?changedSince= deltas read them
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     // Provide a JSON property fullName combining first+last
     @JsonProperty("fullName")
     public String getFullName() {
+        return fullName(firstName, lastName);
+    }
+
+    // shared with EmployeeView
+    public static String fullName(String firstName, String lastName) {
         String f = firstName == null ? "" : firstName.trim();
         String l = lastName == null ? "" : lastName.trim();
         if (f.isEmpty() && l.isEmpty()) return "";
@@ -0,0 +1,40 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Mapping for the "holidays" table (database/Holidays.sql). Public holidays are
+ * non-working days in WorkingDayCalendar; non-public ones (optional / restricted
+ * holidays) are listed but still count as working days.
+ */
+@Entity
+@Table(name = "holidays",
+        indexes = @Index(name = "idx_holiday_date", columnList = "holiday_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "holiday_id")
+    private Integer holidayId;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "holiday_name", nullable = false, length = 100)
+    private String name;
+
+    @Column(name = "description", length = 255)
+    private String description;
+
+    // NULL (rows inserted without the column) is treated as public, like the table default
+    @Builder.Default
+    @Column(name = "is_public")
+    private Boolean isPublic = Boolean.TRUE;
+}
@@ -2,9 +2,13 @@ package com.hrms.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "hr_managers")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hrms.hr-managers")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
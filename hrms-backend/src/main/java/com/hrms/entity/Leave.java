@@ -1,12 +1,21 @@
 package com.hrms.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leaves")
+@Table(name = "leaves",
+        // overlap probe: one user's leaves by start date (end date checked on the few rows found)
+        indexes = {
+                @Index(name = "idx_leave_user_start", columnList = "user_id, start_date"),
+                // ?changedSince= deltas
+                @Index(name = "idx_leave_updated", columnList = "updated_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,8 +27,10 @@ public class Leave {
     @Column(name = "leave_id")
     private Integer leaveId;
 
-    @ManyToOne
+    // lazy: list queries fetch it explicitly (entity graph / join fetch) or project it
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User user;
 
     @Column(name = "start_date", nullable = false)
@@ -28,6 +39,12 @@ public class Leave {
     @Column(name = "end_date", nullable = false)
     private LocalDate endDate;
 
+    // working days in [startDate, endDate] when the leave was applied for; this is what
+    // the ledger charges, so a later holiday change cannot unbalance approve/reject.
+    // NULL for leaves created before it was recorded (counted from the calendar instead)
+    @Column(name = "working_days")
+    private Integer workingDays;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 20)
     private Status status = Status.PENDING;
@@ -40,6 +57,15 @@ public class Leave {
     @Column(name = "reject_reason", length = 1000)
     private String rejectReason;
 
+    // optimistic lock and change tracking (see Employee)
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     public enum Status {
         PENDING,
         APPROVED,
@@ -10,7 +10,10 @@ import java.time.LocalDate;
  * Entity mapping for the "salaries" table.
  */
 @Entity
-@Table(name = "salaries")
+@Table(name = "salaries",
+        // one payroll-run salary per employee per month; manual salaries leave payroll_month NULL
+        uniqueConstraints = @UniqueConstraint(name = "uk_salary_employee_month",
+                columnNames = {"employee_id", "payroll_month"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +34,10 @@ public class Salary {
     @Column(name = "remarks", length = 255)
     private String remarks;
 
+    // first day of the month a payroll run paid; null for salaries posted by hand
+    @Column(name = "payroll_month")
+    private LocalDate payrollMonth;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id", nullable = false)
     @JsonIgnore // avoid circular serialization problems
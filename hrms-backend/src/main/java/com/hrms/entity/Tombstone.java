@@ -0,0 +1,39 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Marker for a deleted row of a synced list, so ?changedSince= deltas can report the
+ * deletion. Purged after hrms.sync.tombstone-retention (ChangeTracker).
+ */
+@Entity
+@Table(name = "tombstones",
+        indexes = @Index(name = "idx_tombstone_type_deleted", columnList = "entity_type, deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "tombstone_id")
+    private Long tombstoneId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public enum EntityType {
+        EMPLOYEE, LEAVE
+    }
+}
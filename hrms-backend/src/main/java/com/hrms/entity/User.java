@@ -3,11 +3,16 @@ package com.hrms.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_user_updated", columnList = "updated_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hrms.users")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,6 +45,15 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    // optimistic lock and change tracking (see Employee)
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     // other fields, relationships...
 
     // Hide the password from JSON output — do not remove the setter.
@@ -22,6 +22,7 @@ public class AdminService {
         return repo.save(admin);
     }
 
+    @Transactional(readOnly = true)
     public List<Admin> findAll() {
         return repo.findAll();
     }
@@ -0,0 +1,374 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.AttendanceImportReport;
+import com.hrms.dto.AttendanceTimes;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Imports biometric / turnstile punch dumps.
+ *
+ * The CSV is read line by line (never held in memory). Punches are resolved to
+ * users {@link #RESOLVE_BATCH} rows at a time (one query per batch, ids and emails
+ * together) and folded into one first/last time per (user, date). Every
+ * {@link #FLUSH_DAYS} user-days the aggregate is merged with what the attendance
+ * table already holds and upserted, {@link #WRITE_BATCH} rows per transaction.
+ * Merging is min/max, so flushing early, re-importing a file or importing several
+ * devices' files for the same day all give the same rows.
+ *
+ * Derived row: checkIn = first punch, checkOut = last punch (none for a single
+ * punch), status FULL_DAY if last - first reaches hrms.attendance.import.full-day,
+ * otherwise HALF_DAY. Monthly summaries of the touched months are rebuilt at the end.
+ *
+ * CSV header (case-insensitive, any column order, extra columns ignored):
+ * userId and/or email, plus either timestamp (2025-09-17T09:02:11 or "2025-09-17 09:02:11")
+ * or date + time.
+ */
+@Service
+@Transactional
+public class AttendanceImportService {
+
+    private static final Logger LOG = Logger.getLogger(AttendanceImportService.class.getName());
+
+    static final int RESOLVE_BATCH = 1000;
+    static final int FLUSH_DAYS = 5000;
+    static final int WRITE_BATCH = 500;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final AttendanceRepository attendanceRepository;
+    private final UserRepository userRepository;
+    private final AttendanceSummaryService summaryService;
+    private final AvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration fullDay;
+
+    public AttendanceImportService(AttendanceRepository attendanceRepository,
+                                   UserRepository userRepository,
+                                   AttendanceSummaryService summaryService,
+                                   AvailabilityIndex availabilityIndex,
+                                   PlatformTransactionManager transactionManager,
+                                   Clock clock,
+                                   @Value("${hrms.attendance.import.full-day:8h}") Duration fullDay) {
+        this.attendanceRepository = Objects.requireNonNull(attendanceRepository, "attendanceRepository");
+        this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.summaryService = Objects.requireNonNull(summaryService, "summaryService");
+        this.availabilityIndex = Objects.requireNonNull(availabilityIndex, "availabilityIndex");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.fullDay = Objects.requireNonNull(fullDay, "fullDay");
+    }
+
+    /**
+     * Throws IllegalArgumentException if the header is missing or unusable; bad data rows
+     * are reported in the result instead.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AttendanceImportReport importCsv(InputStream csv) throws IOException {
+        long started = System.nanoTime();
+        Run run = new Run(LocalDate.now(clock));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) throw new IllegalArgumentException("file is empty");
+        Columns columns = Columns.of(splitCsv(stripBom(headerLine)));
+
+        List<Punch> pending = new ArrayList<>(RESOLVE_BATCH);
+        long line = 1;
+        for (String raw; (raw = reader.readLine()) != null; ) {
+            line++;
+            if (raw.isBlank()) continue;
+            run.rows++;
+            try {
+                pending.add(columns.parse(line, splitCsv(raw)));
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                run.error(line, ex.getMessage());
+            }
+            if (pending.size() == RESOLVE_BATCH) {
+                resolveAndAggregate(pending, run);
+                pending.clear();
+            }
+        }
+        resolveAndAggregate(pending, run);
+        flush(run);
+
+        for (YearMonth month : run.months) {
+            transactionTemplate.executeWithoutResult(tx -> summaryService.rebuild(month));
+        }
+        // rows were merged in place, so touched months are reloaded rather than patched
+        availabilityIndex.invalidate(run.months);
+        // parse errors are found while reading, unknown users a batch later
+        run.errors.sort(Comparator.comparingLong(AttendanceImportReport.RowError::line));
+        AttendanceImportReport report = new AttendanceImportReport(run.rows, run.punches, run.errorCount,
+                run.userDays, run.inserted, run.updated,
+                run.months.stream().map(YearMonth::toString).toList(),
+                (System.nanoTime() - started) / 1_000_000, run.errors);
+        LOG.info("Attendance import rows=" + report.rows() + " punches=" + report.punches()
+                + " errors=" + report.errorCount() + " inserted=" + report.inserted()
+                + " updated=" + report.updated() + " in " + report.elapsedMs() + " ms");
+        return report;
+    }
+
+    private void resolveAndAggregate(List<Punch> punches, Run run) {
+        if (punches.isEmpty()) return;
+
+        // one query for every id / email this batch has not seen yet
+        Set<Integer> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Punch p : punches) {
+            if (p.userId() != null && !run.knownIds.containsKey(p.userId())) ids.add(p.userId());
+            else if (p.userId() == null && !run.emailToId.containsKey(p.email())) emails.add(p.email());
+        }
+        if (!ids.isEmpty() || !emails.isEmpty()) {
+            for (User u : userRepository.findByUserIdInOrEmailIn(ids, emails)) {
+                run.knownIds.put(u.getUserId(), Boolean.TRUE);
+                if (u.getEmail() != null) run.emailToId.put(u.getEmail().toLowerCase(Locale.ROOT), u.getUserId());
+            }
+            // remember misses too, so an unknown badge is looked up once per import
+            ids.forEach(id -> run.knownIds.putIfAbsent(id, Boolean.FALSE));
+            emails.forEach(e -> run.emailToId.putIfAbsent(e, null));
+        }
+
+        for (Punch p : punches) {
+            Integer userId = p.userId() != null
+                    ? (run.knownIds.get(p.userId()) ? p.userId() : null)
+                    : run.emailToId.get(p.email());
+            if (userId == null) {
+                run.error(p.line(), "User not found: " + (p.userId() != null ? p.userId() : p.email()));
+            } else if (p.at().toLocalDate().isAfter(run.today)) {
+                run.error(p.line(), "Punch is in the future: " + p.at());
+            } else {
+                run.punches++;
+                run.days.computeIfAbsent(new DayKey(userId, p.at().toLocalDate()), k -> new Span())
+                        .add(p.at().toLocalTime());
+                if (run.days.size() >= FLUSH_DAYS) flush(run);
+            }
+        }
+    }
+
+    private void flush(Run run) {
+        if (run.days.isEmpty()) return;
+        List<Map.Entry<DayKey, Span>> entries = new ArrayList<>(run.days.entrySet());
+        entries.sort(Map.Entry.comparingByKey(DayKey.ORDER));
+        for (int from = 0; from < entries.size(); from += WRITE_BATCH) {
+            List<Map.Entry<DayKey, Span>> chunk = entries.subList(from, Math.min(from + WRITE_BATCH, entries.size()));
+            transactionTemplate.executeWithoutResult(tx -> write(chunk, run));
+        }
+        run.userDays += entries.size();
+        run.days.clear();
+    }
+
+    private void write(List<Map.Entry<DayKey, Span>> chunk, Run run) {
+        Set<Integer> userIds = new HashSet<>();
+        LocalDate first = null;
+        LocalDate last = null;
+        for (Map.Entry<DayKey, Span> e : chunk) {
+            userIds.add(e.getKey().userId());
+            LocalDate d = e.getKey().date();
+            if (first == null || d.isBefore(first)) first = d;
+            if (last == null || d.isAfter(last)) last = d;
+        }
+        Map<DayKey, AttendanceTimes> existing = new HashMap<>();
+        for (AttendanceTimes t : attendanceRepository.findTimes(userIds, first, last)) {
+            existing.put(new DayKey(t.userId(), t.date()), t);
+        }
+
+        List<Attendance> rows = new ArrayList<>(chunk.size());
+        for (Map.Entry<DayKey, Span> e : chunk) {
+            AttendanceTimes old = existing.get(e.getKey());
+            Span span = e.getValue();
+            if (old != null) {
+                span.add(old.checkIn());
+                span.add(old.checkOut());
+            }
+            LocalTime checkOut = span.last.equals(span.first) ? null : span.last;
+            Attendance.Status status = checkOut == null
+                    ? (old != null && old.status() != null ? old.status() : Attendance.Status.HALF_DAY)
+                    : deriveStatus(span.first, checkOut, fullDay);
+            rows.add(Attendance.builder()
+                    .user(User.builder().userId(e.getKey().userId()).build())
+                    .date(e.getKey().date())
+                    .checkIn(span.first)
+                    .checkOut(checkOut)
+                    .status(status)
+                    .remarks("Imported")
+                    .build());
+            if (old == null) run.inserted++;
+            else run.updated++;
+            run.months.add(YearMonth.from(e.getKey().date()));
+        }
+        attendanceRepository.upsertTimes(rows);
+    }
+
+    static Attendance.Status deriveStatus(LocalTime checkIn, LocalTime checkOut, Duration fullDay) {
+        return Duration.between(checkIn, checkOut).compareTo(fullDay) >= 0
+                ? Attendance.Status.FULL_DAY : Attendance.Status.HALF_DAY;
+    }
+
+    /**
+     * Minimal RFC 4180 field splitting: commas, double-quoted fields, "" as an escaped quote.
+     * Quoted fields spanning lines are not supported (punch dumps do not have them).
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    static String stripBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+
+    private record Punch(long line, Integer userId, String email, LocalDateTime at) {
+    }
+
+    private record DayKey(int userId, LocalDate date) {
+        static final Comparator<DayKey> ORDER = Comparator.comparingInt(DayKey::userId).thenComparing(DayKey::date);
+    }
+
+    private static final class Span {
+        LocalTime first;
+        LocalTime last;
+
+        void add(LocalTime t) {
+            if (t == null) return;
+            if (first == null || t.isBefore(first)) first = t;
+            if (last == null || t.isAfter(last)) last = t;
+        }
+    }
+
+    /**
+     * Column positions from the header row.
+     */
+    private record Columns(int userId, int email, int timestamp, int date, int time) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                index.putIfAbsent(header.get(i).toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            Columns c = new Columns(index.getOrDefault("userid", -1), index.getOrDefault("email", -1),
+                    index.getOrDefault("timestamp", -1), index.getOrDefault("date", -1),
+                    index.getOrDefault("time", -1));
+            if (c.userId < 0 && c.email < 0) {
+                throw new IllegalArgumentException("header must have a userId or email column");
+            }
+            if (c.timestamp < 0 && (c.date < 0 || c.time < 0)) {
+                throw new IllegalArgumentException("header must have a timestamp column, or date and time columns");
+            }
+            return c;
+        }
+
+        Punch parse(long line, List<String> fields) {
+            String id = field(fields, userId);
+            String mail = field(fields, email);
+            Integer parsedId = null;
+            if (id != null) {
+                try {
+                    parsedId = Integer.valueOf(id);
+                } catch (NumberFormatException nfe) {
+                    throw new IllegalArgumentException("userId is not a number: " + id);
+                }
+            } else if (mail == null) {
+                throw new IllegalArgumentException("userId or email is required");
+            }
+
+            LocalDateTime at;
+            if (timestamp >= 0 && field(fields, timestamp) != null) {
+                at = LocalDateTime.parse(field(fields, timestamp).replace(' ', 'T'));
+            } else {
+                String d = field(fields, date);
+                String t = field(fields, time);
+                if (d == null || t == null) throw new IllegalArgumentException("timestamp is required");
+                at = LocalDateTime.of(LocalDate.parse(d), LocalTime.parse(t));
+            }
+            return new Punch(line, parsedId, parsedId == null ? mail.toLowerCase(Locale.ROOT) : null, at);
+        }
+
+        private static String field(List<String> fields, int i) {
+            if (i < 0 || i >= fields.size() || fields.get(i).isEmpty()) return null;
+            return fields.get(i);
+        }
+    }
+
+    /**
+     * Mutable state of one import.
+     */
+    private static final class Run {
+        final LocalDate today;
+        final Map<Integer, Boolean> knownIds = new HashMap<>();
+        final Map<String, Integer> emailToId = new HashMap<>();
+        final Map<DayKey, Span> days = new HashMap<>();
+        final Set<YearMonth> months = new TreeSet<>();
+        final List<AttendanceImportReport.RowError> errors = new ArrayList<>();
+        long rows;
+        long punches;
+        long errorCount;
+        long userDays;
+        long inserted;
+        long updated;
+
+        Run(LocalDate today) {
+            this.today = today;
+        }
+
+        void error(long line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new AttendanceImportReport.RowError(line, message));
+        }
+    }
+}
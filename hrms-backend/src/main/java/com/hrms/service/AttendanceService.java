@@ -2,20 +2,37 @@ package com.hrms.service;
 
 import com.hrms.dao.AttendanceRepository;
 import com.hrms.dao.UserRepository;
+import com.hrms.dto.AttendanceFilter;
+import com.hrms.dto.AttendancePage;
+import com.hrms.dto.AttendanceView;
+import com.hrms.dto.BulkAttendanceResult;
 import com.hrms.entity.Attendance;
 import com.hrms.entity.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -23,68 +40,82 @@ public class AttendanceService {
 
     private static final Logger LOG = Logger.getLogger(AttendanceService.class.getName());
 
+    static final String ALREADY_MARKED = "Attendance already marked for this date";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final AttendanceRepository attendanceRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final AttendanceSummaryService summaryService;
+    private final WorkingDayCalendar calendar;
+    private final AvailabilityIndex availabilityIndex;
+    private final Clock clock;
 
     public AttendanceService(AttendanceRepository attendanceRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             UserService userService,
+                             AttendanceSummaryService summaryService,
+                             WorkingDayCalendar calendar,
+                             AvailabilityIndex availabilityIndex,
+                             Clock clock) {
         this.attendanceRepository = Objects.requireNonNull(attendanceRepository, "attendanceRepository");
         this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.userService = Objects.requireNonNull(userService, "userService");
+        this.summaryService = Objects.requireNonNull(summaryService, "summaryService");
+        this.calendar = Objects.requireNonNull(calendar, "calendar");
+        this.availabilityIndex = Objects.requireNonNull(availabilityIndex, "availabilityIndex");
+        this.clock = Objects.requireNonNull(clock, "clock");
     }
 
     /**
      * Mark attendance for a user on a date.
      * Throws IllegalArgumentException if user not found or already marked for the date.
-     * Also validates past/future/weekend to keep backend safe.
+     * Also validates past/future/non-working day to keep backend safe.
      */
+    @Timed(value = "hrms.attendance.mark", description = "Single attendance mark, validation to commit")
     public Attendance markAttendance(Integer userId, LocalDate date, Attendance.Status status) {
         if (userId == null) throw new IllegalArgumentException("userId is required");
         if (date == null) throw new IllegalArgumentException("date is required");
         if (status == null) throw new IllegalArgumentException("status is required");
 
-        // backend safety: do not allow past/future/weekend
-        LocalDate today = LocalDate.now();
-        if (date.isBefore(today)) {
-            throw new IllegalArgumentException("You cannot mark past days' attendance");
-        }
-        if (date.isAfter(today)) {
-            throw new IllegalArgumentException("You cannot mark future days' attendance");
-        }
-        DayOfWeek dow = date.getDayOfWeek();
-        if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
-            throw new IllegalArgumentException("This is a holiday. You cannot mark attendance on weekends");
-        }
+        validateMarkableDate(date);
 
-        Optional<User> userOpt = userRepository.findById(userId);
+        Optional<User> userOpt = userService.findById(userId);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
 
         User user = userOpt.get();
 
-        // Check if record already exists for that day
-        boolean alreadyMarked = attendanceRepository.findByUser(user)
-                .stream()
-                .anyMatch(a -> date.equals(a.getDate()));
-
-        if (alreadyMarked) {
-            throw new IllegalArgumentException("Attendance already marked for this date");
+        // Check if record already exists for that day (indexed lookup on the unique key)
+        if (attendanceRepository.existsByUserUserIdAndDate(userId, date)) {
+            throw new IllegalArgumentException(ALREADY_MARKED);
         }
 
         Attendance attendance = Attendance.builder()
                 .user(user)
                 .date(date)
                 .status(status)
-                .checkIn(status == Attendance.Status.FULL_DAY ? LocalTime.now() : null)
+                .checkIn(status == Attendance.Status.FULL_DAY ? LocalTime.now(clock) : null)
                 .checkOut(null)
                 .remarks(null)
                 .build();
 
         try {
-            Attendance saved = attendanceRepository.save(attendance);
+            // flush now so a concurrent submit that slipped past the check above
+            // hits the unique key here, inside the try, rather than at commit
+            Attendance saved = attendanceRepository.saveAndFlush(attendance);
+            summaryService.recordInserted(List.of(saved));
+            availabilityIndex.attendanceMarked(userId, date, status);
             LOG.info("Saved attendance for user " + user.getEmail() + " date=" + date + " status=" + status);
             return saved;
         } catch (DataIntegrityViolationException dive) {
+            if (isDuplicateMark(dive)) {
+                LOG.info("Concurrent duplicate attendance for userId=" + userId + " date=" + date);
+                throw new IllegalArgumentException(ALREADY_MARKED);
+            }
             LOG.log(Level.WARNING, "Data integrity error saving attendance for userId=" + userId + " date=" + date, dive);
             throw new IllegalArgumentException("Unable to save attendance (data integrity).");
         } catch (Exception ex) {
@@ -93,14 +124,180 @@ public class AttendanceService {
         }
     }
 
-    public List<Attendance> getAttendanceForUser(Integer userId) {
+    /**
+     * Backend safety shared by single and bulk marking: do not allow past/future/weekend/holiday.
+     */
+    public void validateMarkableDate(LocalDate date) {
+        validateMarkableDate(date, LocalDate.now(clock), calendar);
+    }
+
+    static void validateMarkableDate(LocalDate date, LocalDate today, WorkingDayCalendar calendar) {
+        if (date.isBefore(today)) {
+            throw new IllegalArgumentException("You cannot mark past days' attendance");
+        }
+        if (date.isAfter(today)) {
+            throw new IllegalArgumentException("You cannot mark future days' attendance");
+        }
+        if (!calendar.isWorkingDay(date)) {
+            throw new IllegalArgumentException(calendar.isWeekend(date)
+                    ? "This is a holiday. You cannot mark attendance on weekends"
+                    : "This is a holiday. You cannot mark attendance on public holidays");
+        }
+    }
+
+    /**
+     * One already-parsed entry of a bulk request; index is its position in the request.
+     */
+    public record BulkMark(int index, Integer userId, String email, Attendance.Status status) {
+    }
+
+    /**
+     * Mark attendance for many users on one date with a constant number of round trips:
+     * one query resolves every userId/email, one query finds who is already marked,
+     * and the new rows go in as JDBC batches.
+     * Throws IllegalArgumentException when the date itself is not markable; per-entry
+     * problems are reported in the returned results (same order as the input).
+     * REPEATABLE READ because the batch insert tells inserted rows from skipped ones by its snapshot.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public List<BulkAttendanceResult> markAttendanceBulk(LocalDate date, List<BulkMark> marks) {
+        if (date == null) throw new IllegalArgumentException("date is required");
+        validateMarkableDate(date);
+        if (marks == null || marks.isEmpty()) return List.of();
+
+        Set<Integer> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (BulkMark m : marks) {
+            if (m.userId() != null) ids.add(m.userId());
+            else if (m.email() != null) emails.add(normalizeEmail(m.email()));
+        }
+
+        Map<Integer, User> byId = new HashMap<>();
+        Map<String, User> byEmail = new HashMap<>();
+        if (!ids.isEmpty() || !emails.isEmpty()) {
+            for (User u : userRepository.findByUserIdInOrEmailIn(ids, emails)) {
+                byId.put(u.getUserId(), u);
+                if (u.getEmail() != null) byEmail.put(u.getEmail().toLowerCase(Locale.ROOT), u);
+            }
+        }
+
+        Set<Integer> alreadyMarked = byId.isEmpty()
+                ? Set.of()
+                : attendanceRepository.findMarkedUserIds(date, byId.keySet());
+
+        List<BulkAttendanceResult> results = new ArrayList<>(marks.size());
+        List<Attendance> toInsert = new ArrayList<>();
+        List<BulkAttendanceResult> pending = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        LocalTime now = LocalTime.now(clock);
+
+        for (BulkMark m : marks) {
+            User user = m.userId() != null ? byId.get(m.userId())
+                    : m.email() != null ? byEmail.get(normalizeEmail(m.email())) : null;
+            if (user == null) {
+                results.add(new BulkAttendanceResult(m.index(), m.userId(), m.email(),
+                        BulkAttendanceResult.Outcome.USER_NOT_FOUND, "User not found"));
+                continue;
+            }
+            BulkAttendanceResult r = new BulkAttendanceResult(m.index(), user.getUserId(), user.getEmail(), null, null);
+            results.add(r);
+            if (alreadyMarked.contains(user.getUserId()) || !seen.add(user.getUserId())) {
+                r.setOutcome(BulkAttendanceResult.Outcome.ALREADY_MARKED);
+                r.setMessage(ALREADY_MARKED);
+                continue;
+            }
+            toInsert.add(Attendance.builder()
+                    .user(user)
+                    .date(date)
+                    .status(m.status())
+                    .checkIn(m.status() == Attendance.Status.FULL_DAY ? now : null)
+                    .build());
+            pending.add(r);
+        }
+
+        boolean[] inserted = attendanceRepository.insertIgnoringDuplicates(toInsert);
+        List<Attendance> counted = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < inserted.length; i++) {
+            BulkAttendanceResult r = pending.get(i);
+            r.setOutcome(inserted[i] ? BulkAttendanceResult.Outcome.MARKED : BulkAttendanceResult.Outcome.ALREADY_MARKED);
+            r.setMessage(inserted[i] ? null : ALREADY_MARKED);
+            if (inserted[i]) counted.add(toInsert.get(i));
+        }
+        summaryService.recordInserted(counted);
+        counted.forEach(a -> availabilityIndex.attendanceMarked(a.getUser().getUserId(), date, a.getStatus()));
+        LOG.info("Bulk attendance date=" + date + " entries=" + marks.size() + " inserted=" + counted.size());
+        return results;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * True when the violation comes from the (user_id, attendance_date) unique key.
+     */
+    private static boolean isDuplicateMark(DataIntegrityViolationException dive) {
+        String msg = dive.getMostSpecificCause().getMessage();
+        return msg != null && msg.toLowerCase(Locale.ROOT).contains(Attendance.UNIQUE_USER_DATE);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceView> getAttendanceForUser(Integer userId) {
         if (userId == null) throw new IllegalArgumentException("userId is required");
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return attendanceRepository.findByUser(user);
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        return attendanceRepository.findViewsByUserId(userId);
     }
 
-    public List<Attendance> getAllAttendance() {
-        return attendanceRepository.findAll();
+    /**
+     * Keyset-paginated listing, newest first. The cursor is the opaque value returned
+     * as nextCursor by the previous page (null for the first page).
+     * Throws IllegalArgumentException for a malformed cursor.
+     */
+    @Transactional(readOnly = true)
+    public AttendancePage getAttendancePage(AttendanceFilter filter, String cursor, Integer size) {
+        AttendanceFilter f = filter == null ? new AttendanceFilter() : filter;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDate afterDate = null;
+        Integer afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterDate = LocalDate.parse(parts[0]);
+                afterId = Integer.valueOf(parts[1]);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        // fetch one extra row to learn whether another page exists
+        List<AttendanceView> rows = attendanceRepository.findPage(f.getUserId(), f.getDepartment(),
+                f.getFrom(), f.getTo(), afterDate, afterId, Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<AttendanceView> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = null;
+        if (hasMore) {
+            AttendanceView last = items.get(items.size() - 1);
+            String raw = last.date() + "|" + last.attendanceId();
+            next = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new AttendancePage(List.copyOf(items), next, hasMore);
+    }
+
+    /**
+     * Stream every matching row to the action, newest first, without holding the
+     * result set in memory: rows are projections read with a JDBC fetch size, so the
+     * persistence context stays empty.
+     */
+    @Transactional(readOnly = true)
+    public void forEachAttendance(AttendanceFilter filter, Consumer<AttendanceView> action) {
+        AttendanceFilter f = filter == null ? new AttendanceFilter() : filter;
+        try (Stream<AttendanceView> rows = attendanceRepository.streamFiltered(
+                f.getUserId(), f.getDepartment(), f.getFrom(), f.getTo())) {
+            rows.forEach(action);
+        }
     }
 }
@@ -0,0 +1,98 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.AttendanceSummaryRepository;
+import com.hrms.dto.AttendanceSummaryView;
+import com.hrms.entity.Attendance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Keeps per-user monthly attendance counters in step with the attendance table,
+ * so summary screens read O(employees) rows instead of every attendance row.
+ */
+@Service
+@Transactional
+public class AttendanceSummaryService {
+
+    private static final Logger LOG = Logger.getLogger(AttendanceSummaryService.class.getName());
+
+    private final AttendanceSummaryRepository summaryRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+
+    public AttendanceSummaryService(AttendanceSummaryRepository summaryRepository,
+                                    AttendanceRepository attendanceRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${hrms.attendance.summary.backfill-on-startup:false}") boolean backfillOnStartup) {
+        this.summaryRepository = Objects.requireNonNull(summaryRepository, "summaryRepository");
+        this.attendanceRepository = Objects.requireNonNull(attendanceRepository, "attendanceRepository");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Count freshly inserted attendance rows. Must run in the transaction that inserted them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordInserted(Collection<Attendance> inserted) {
+        summaryRepository.increment(inserted);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AttendanceSummaryView> getMonth(YearMonth month) {
+        if (month == null) throw new IllegalArgumentException("month is required");
+        return summaryRepository.findViewsByMonth(month.atDay(1));
+    }
+
+    /**
+     * Recompute one month from the attendance table (replaces its counters).
+     */
+    public int rebuild(YearMonth month) {
+        if (month == null) throw new IllegalArgumentException("month is required");
+        int rows = summaryRepository.rebuildMonth(month.atDay(1));
+        LOG.info("Rebuilt attendance summary for " + month + " rows=" + rows);
+        return rows;
+    }
+
+    /**
+     * Backfill every month that has attendance, one transaction per month.
+     * Returns the number of months rebuilt.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        LocalDate first = attendanceRepository.findFirstDate();
+        LocalDate last = attendanceRepository.findLastDate();
+        if (first == null || last == null) return 0;
+
+        int months = 0;
+        for (YearMonth m = YearMonth.from(first); !m.isAfter(YearMonth.from(last)); m = m.plusMonths(1)) {
+            YearMonth month = m;
+            transactionTemplate.executeWithoutResult(tx -> rebuild(month));
+            months++;
+        }
+        return months;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEnabled() {
+        if (backfillOnStartup) {
+            LOG.info("Backfilling attendance summaries on startup");
+            rebuildAll();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dao.AuditEventRepository;
+import com.hrms.entity.AuditEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-process audit trail for HR actions.
+ *
+ * Request threads {@link #publish} into a bounded lock-free ring buffer and return
+ * immediately; one writer thread drains it in batches of up to hrms.audit.batch-size
+ * into the configured sink (hrms.audit.sink=jdbc: the audit_events table,
+ * file: a rotating JSON-lines file). When the buffer is full, hrms.audit.overflow
+ * decides: DROP the event (counted) or BLOCK the publisher for up to
+ * hrms.audit.block-timeout, then drop.
+ *
+ * Events still buffered are written on shutdown; events buffered when the process
+ * dies are lost, which is the price of keeping the insert off the request path.
+ */
+@Component
+public class AuditLog implements MeterBinder {
+
+    private static final Logger LOG = Logger.getLogger(AuditLog.class.getName());
+
+    private static final long BLOCK_PARK_NANOS = 50_000;
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Overflow { DROP, BLOCK }
+
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final AuditSink sink;
+    private final Clock clock;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Overflow overflow;
+    private final long blockTimeoutNanos;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean closing;
+    private Thread writer;
+
+    public AuditLog(AuditEventRepository repository,
+                    PlatformTransactionManager transactionManager,
+                    ObjectMapper objectMapper,
+                    Clock clock,
+                    @Value("${hrms.audit.sink:jdbc}") String sink,
+                    @Value("${hrms.audit.capacity:8192}") int capacity,
+                    @Value("${hrms.audit.batch-size:500}") int batchSize,
+                    @Value("${hrms.audit.flush-interval:200ms}") Duration flushInterval,
+                    @Value("${hrms.audit.overflow:DROP}") Overflow overflow,
+                    @Value("${hrms.audit.block-timeout:100ms}") Duration blockTimeout,
+                    @Value("${hrms.audit.file.path:logs/audit.jsonl}") Path filePath,
+                    @Value("${hrms.audit.file.max-size:10MB}") DataSize fileMaxSize,
+                    @Value("${hrms.audit.file.max-files:5}") int fileMaxFiles) throws IOException {
+        Objects.requireNonNull(repository, "repository");
+        if (batchSize < 1) throw new IllegalArgumentException("hrms.audit.batch-size must be >= 1");
+        this.buffer = new AuditRingBuffer<>(capacity);
+        this.sink = switch (sink.trim().toLowerCase(Locale.ROOT)) {
+            case "jdbc" -> new JdbcAuditSink(repository, new TransactionTemplate(transactionManager));
+            case "file" -> new FileAuditSink(filePath, fileMaxSize.toBytes(), fileMaxFiles, objectMapper);
+            default -> throw new IllegalArgumentException("hrms.audit.sink must be jdbc or file: " + sink);
+        };
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflow = overflow;
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+    }
+
+    @PostConstruct
+    void start() {
+        writer = new Thread(this::drainLoop, "hrms-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records an action by the current session's user ("anonymous" outside a logged-in request).
+     * Never throws and never waits on the database.
+     */
+    public void publish(AuditEvent.Action action, AuditEvent.SubjectType subjectType, Object subjectId,
+                        String details) {
+        if (closing) {
+            dropped.increment();
+            return;
+        }
+        AuditEvent event = AuditEvent.builder()
+                .occurredAt(clock.instant())
+                .actor(currentActor())
+                .action(action)
+                .subjectType(subjectType)
+                .subjectId(subjectId == null ? null : subjectId.toString())
+                .details(details == null || details.length() <= AuditEvent.MAX_DETAILS
+                        ? details : details.substring(0, AuditEvent.MAX_DETAILS))
+                .build();
+        if (buffer.offer(event) || (overflow == Overflow.BLOCK && offerBlocking(event))) {
+            published.increment();
+            // a full batch is waiting: no need to sit out the flush interval
+            if (buffer.size() >= batchSize) LockSupport.unpark(writer);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean offerBlocking(AuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) return true;
+        } while (System.nanoTime() - deadline < 0 && !closing);
+        return false;
+    }
+
+    private static String currentActor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs) {
+            HttpSession session = attrs.getRequest().getSession(false);
+            Object userId = session == null ? null : session.getAttribute("userId");
+            if (userId != null) return "user:" + userId;
+        }
+        return "anonymous";
+    }
+
+    /**
+     * Whether events can be read back from audit_events (false for the file sink).
+     */
+    public boolean isQueryable() {
+        return sink.queryable();
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        for (;;) {
+            int n = buffer.drainTo(batch, batchSize);
+            if (n > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (n < batchSize) {
+                if (closing) {
+                    if (buffer.size() == 0) return;
+                } else {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            sink.write(batch);
+            written.add(batch.size());
+        } catch (Exception ex) {
+            failed.add(batch.size());
+            LOG.log(Level.WARNING, "Audit batch of " + batch.size() + " events could not be written", ex);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        closing = true;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+            if (writer.isAlive()) {
+                // still writing: leave the sink open rather than close it under the writer
+                LOG.warning("Audit writer did not finish within " + SHUTDOWN_TIMEOUT + "; "
+                        + buffer.size() + " events not written");
+                return;
+            }
+        }
+        sink.close();
+    }
+
+    // hrms.audit.queue.depth plus published / dropped / written / failed event counts
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hrms.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting for the writer")
+                .register(registry);
+        Gauge.builder("hrms.audit.queue.capacity", buffer, AuditRingBuffer::capacity)
+                .register(registry);
+        counter(registry, "hrms.audit.published", "Audit events accepted into the buffer", published);
+        counter(registry, "hrms.audit.dropped", "Audit events dropped because the buffer was full", dropped);
+        counter(registry, "hrms.audit.written", "Audit events written by the sink", written);
+        counter(registry, "hrms.audit.failed", "Audit events lost to sink errors", failed);
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, LongAdder adder) {
+        FunctionCounter.builder(name, adder, LongAdder::sum).description(description).register(registry);
+    }
+}
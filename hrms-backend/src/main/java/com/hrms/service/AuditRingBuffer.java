@@ -0,0 +1,93 @@
+package com.hrms.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue (Vyukov's bounded
+ * queue): every slot carries a sequence number telling producers and the consumer
+ * whose turn it is, so publishing costs one CAS on the tail and never blocks.
+ *
+ * {@link #offer} may be called from any thread; {@link #poll} and {@link #drainTo}
+ * only from the single consumer.
+ */
+final class AuditRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    // written by the consumer only; volatile so size() is sane from other threads
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two >= 2: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequences.set(i, i);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false if the buffer is full
+     */
+    boolean offer(E e) {
+        if (e == null) throw new NullPointerException("e");
+        long pos = tail.get();
+        for (;;) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, e);
+                    sequences.set(index, pos + 1);    // publishes the element to the consumer
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;                         // the consumer has not freed this slot yet
+            } else {
+                pos = tail.get();                     // another producer took pos
+            }
+        }
+    }
+
+    E poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) return null;
+        E e = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, pos + mask + 1);         // hands the slot to the producer one lap ahead
+        head = pos + 1;
+        return e;
+    }
+
+    /**
+     * Moves up to max elements into out.
+     *
+     * @return the number moved
+     */
+    int drainTo(List<? super E> out, int max) {
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            out.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,22 @@
+package com.hrms.service;
+
+import com.hrms.entity.AuditEvent;
+
+import java.util.List;
+
+/**
+ * Where the audit writer puts drained batches. Called from the writer thread only.
+ */
+interface AuditSink extends AutoCloseable {
+
+    void write(List<AuditEvent> batch) throws Exception;
+
+    /**
+     * Whether written events can be read back through AuditEventRepository.
+     */
+    boolean queryable();
+
+    @Override
+    default void close() throws Exception {
+    }
+}
@@ -0,0 +1,316 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dto.AttendanceTimes;
+import com.hrms.dto.LeaveSpan;
+import com.hrms.entity.Attendance;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Per-day sets of user ids, kept as compressed (Roaring) bitmaps: who was marked
+ * full day, half day or absent, and who was on approved leave.
+ *
+ * Months are loaded on first use (one attendance and one leave query each) and the
+ * most recently used hrms.availability.max-months are kept. Loaded months follow
+ * writes incrementally: attendance marks and leave decisions are applied once their
+ * transaction commits, and bulk rewrites (imports) drop the months they touched.
+ */
+@Component
+public class AvailabilityIndex implements MeterBinder {
+
+    private static final Logger LOG = Logger.getLogger(AvailabilityIndex.class.getName());
+
+    private final AttendanceRepository attendanceRepository;
+    private final LeaveRepository leaveRepository;
+    private final TransactionTemplate loadTransaction;
+
+    // access-ordered, least recently used month evicted first; guarded by itself
+    private final Map<YearMonth, MonthBitmaps> months;
+
+    public AvailabilityIndex(AttendanceRepository attendanceRepository,
+                             LeaveRepository leaveRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${hrms.availability.max-months:24}") int maxMonths) {
+        this.attendanceRepository = Objects.requireNonNull(attendanceRepository, "attendanceRepository");
+        this.leaveRepository = Objects.requireNonNull(leaveRepository, "leaveRepository");
+        this.loadTransaction = new TransactionTemplate(Objects.requireNonNull(transactionManager, "transactionManager"));
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        if (maxMonths < 1) throw new IllegalArgumentException("hrms.availability.max-months must be at least 1");
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthBitmaps> eldest) {
+                return size() > maxMonths;
+            }
+        };
+    }
+
+    /**
+     * The index's view of one day, restricted to the users asked about.
+     */
+    public record Day(LocalDate date,
+                      RoaringBitmap present,
+                      RoaringBitmap halfDay,
+                      RoaringBitmap absent,
+                      RoaringBitmap onLeave) {
+    }
+
+    /**
+     * One entry per day of [from, to], each bitmap intersected with users.
+     */
+    public List<Day> days(LocalDate from, LocalDate to, RoaringBitmap users) {
+        List<Day> days = new ArrayList<>();
+        for (YearMonth ym = YearMonth.from(from); !ym.atDay(1).isAfter(to); ym = ym.plusMonths(1)) {
+            MonthBitmaps month = loaded(ym);
+            LocalDate first = from.isAfter(ym.atDay(1)) ? from : ym.atDay(1);
+            LocalDate last = to.isBefore(ym.atEndOfMonth()) ? to : ym.atEndOfMonth();
+            synchronized (month) {
+                for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                    int i = d.getDayOfMonth() - 1;
+                    days.add(new Day(d,
+                            RoaringBitmap.and(month.full[i], users),
+                            RoaringBitmap.and(month.half[i], users),
+                            RoaringBitmap.and(month.absent[i], users),
+                            RoaringBitmap.and(month.leave[i], users)));
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Record a new attendance row once the current transaction commits.
+     */
+    public void attendanceMarked(Integer userId, LocalDate date, Attendance.Status status) {
+        afterCommit(() -> {
+            MonthBitmaps month = registeredOrNull(YearMonth.from(date));
+            if (month == null) return;
+            synchronized (month) {
+                month.apply(m -> m.mark(userId, date, status));
+            }
+        });
+    }
+
+    /**
+     * Record that a leave over [start, end] became approved (or stopped being approved)
+     * once the current transaction commits.
+     */
+    public void leaveChanged(Integer userId, LocalDate start, LocalDate end, boolean approved) {
+        LocalDate last = end == null ? start : end;
+        afterCommit(() -> {
+            for (YearMonth ym = YearMonth.from(start); !ym.atDay(1).isAfter(last); ym = ym.plusMonths(1)) {
+                MonthBitmaps month = registeredOrNull(ym);
+                if (month == null) continue;
+                synchronized (month) {
+                    month.apply(m -> m.leave(userId, start, last, approved));
+                }
+            }
+        });
+    }
+
+    /**
+     * Forget these months (they are reloaded on next use) once the current transaction commits.
+     */
+    public void invalidate(Collection<YearMonth> changed) {
+        List<YearMonth> copy = List.copyOf(changed);
+        afterCommit(() -> {
+            synchronized (months) {
+                copy.forEach(months::remove);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private MonthBitmaps registeredOrNull(YearMonth ym) {
+        synchronized (months) {
+            return months.get(ym);
+        }
+    }
+
+    /**
+     * The month, loading it if needed. It is registered before its queries take their
+     * snapshot, so every write commits either before the snapshot (the queries see it)
+     * or after the registration (its update finds the month). Updates arriving while the
+     * month loads are queued and replayed on top of the query results.
+     * The queries run in a transaction of their own: a caller's transaction may hold a
+     * snapshot older than the registration.
+     */
+    private MonthBitmaps loaded(YearMonth ym) {
+        MonthBitmaps month;
+        synchronized (months) {
+            month = months.computeIfAbsent(ym, MonthBitmaps::new);
+        }
+        // one loader per month; the month's own monitor is not held across the queries,
+        // so committing writers only ever wait to queue an update
+        synchronized (month.loadLock) {
+            if (!month.isLoaded()) load(month);
+        }
+        return month;
+    }
+
+    private void load(MonthBitmaps month) {
+        long started = System.nanoTime();
+        LocalDate first = month.ym.atDay(1);
+        LocalDate last = month.ym.atEndOfMonth();
+        MonthRows loaded = loadTransaction.execute(tx -> new MonthRows(
+                attendanceRepository.findTimesBetween(first, last),
+                leaveRepository.findApprovedSpans(first, last)));
+        List<AttendanceTimes> rows = loaded.attendance();
+        List<LeaveSpan> spans = loaded.leaves();
+        synchronized (month) {
+            month.clear();
+            for (AttendanceTimes row : rows) {
+                month.mark(row.userId(), row.date(), row.status());
+            }
+            for (LeaveSpan span : spans) {
+                month.leave(span.userId(), span.startDate(), span.endDate(), true);
+            }
+            month.pending.forEach(update -> update.accept(month));
+            month.pending = null;
+            month.optimize();
+        }
+        LOG.info("Loaded availability for " + month.ym + " attendanceRows=" + rows.size()
+                + " leaves=" + spans.size() + " in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    private record MonthRows(List<AttendanceTimes> attendance, List<LeaveSpan> leaves) {
+    }
+
+    // hrms.availability.months: months currently held; hrms.availability.bytes: their serialized bitmap size
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hrms.availability.months", this, index -> index.snapshot().size())
+                .description("Months held by the availability index")
+                .register(registry);
+        Gauge.builder("hrms.availability.bytes", this, index -> index.snapshot().stream()
+                        .mapToLong(MonthBitmaps::sizeInBytes).sum())
+                .description("Serialized size of the availability bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private List<MonthBitmaps> snapshot() {
+        synchronized (months) {
+            return List.copyOf(months.values());
+        }
+    }
+
+    /**
+     * One month of per-day bitmaps, indexed by day of month - 1. Guarded by its own monitor.
+     * Until loaded, updates are queued in pending instead of applied.
+     */
+    private static final class MonthBitmaps {
+        final YearMonth ym;
+        final RoaringBitmap[] full;
+        final RoaringBitmap[] half;
+        final RoaringBitmap[] absent;
+        final RoaringBitmap[] leave;
+        final Object loadLock = new Object();
+        List<Consumer<MonthBitmaps>> pending = new ArrayList<>();
+
+        MonthBitmaps(YearMonth ym) {
+            this.ym = ym;
+            int length = ym.lengthOfMonth();
+            this.full = new RoaringBitmap[length];
+            this.half = new RoaringBitmap[length];
+            this.absent = new RoaringBitmap[length];
+            this.leave = new RoaringBitmap[length];
+            clear();
+        }
+
+        boolean isLoaded() {
+            synchronized (this) {
+                return pending == null;
+            }
+        }
+
+        void apply(Consumer<MonthBitmaps> update) {
+            if (pending != null) pending.add(update);
+            else update.accept(this);
+        }
+
+        void clear() {
+            for (int i = 0; i < full.length; i++) {
+                full[i] = new RoaringBitmap();
+                half[i] = new RoaringBitmap();
+                absent[i] = new RoaringBitmap();
+                leave[i] = new RoaringBitmap();
+            }
+        }
+
+        void mark(int userId, LocalDate date, Attendance.Status status) {
+            int i = date.getDayOfMonth() - 1;
+            full[i].remove(userId);
+            half[i].remove(userId);
+            absent[i].remove(userId);
+            if (status == null) return;
+            switch (status) {
+                case FULL_DAY -> full[i].add(userId);
+                case HALF_DAY -> half[i].add(userId);
+                case ABSENT -> absent[i].add(userId);
+            }
+        }
+
+        // the part of [start, end] that falls in this month
+        void leave(int userId, LocalDate start, LocalDate end, boolean approved) {
+            int from = start.isBefore(ym.atDay(1)) ? 0 : start.getDayOfMonth() - 1;
+            int to = end.isAfter(ym.atEndOfMonth()) ? leave.length - 1 : end.getDayOfMonth() - 1;
+            for (int i = from; i <= to; i++) {
+                if (approved) leave[i].add(userId);
+                else leave[i].remove(userId);
+            }
+        }
+
+        void optimize() {
+            for (int i = 0; i < full.length; i++) {
+                full[i].runOptimize();
+                half[i].runOptimize();
+                absent[i].runOptimize();
+                leave[i].runOptimize();
+            }
+        }
+
+        synchronized long sizeInBytes() {
+            long bytes = 0;
+            for (int i = 0; i < full.length; i++) {
+                bytes += full[i].serializedSizeInBytes() + half[i].serializedSizeInBytes()
+                        + absent[i].serializedSizeInBytes() + leave[i].serializedSizeInBytes();
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dto.AvailabilityMatrix;
+import com.hrms.dto.TeamMember;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Department availability matrices, answered from {@link AvailabilityIndex}: the
+ * department's members become one bitmap, each day's bitmaps are intersected with
+ * it, and the matrix cells are membership tests on those (small) intersections.
+ * No transaction of its own: the team query runs in the repository's, and a month the
+ * index has to load is read in a fresh one, so no connection is held while waiting on it.
+ */
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AvailabilityService {
+
+    static final int MAX_SPAN_DAYS = 92;
+
+    private final EmployeeRepository employeeRepository;
+    private final AvailabilityIndex index;
+    private final WorkingDayCalendar calendar;
+
+    public AvailabilityService(EmployeeRepository employeeRepository, AvailabilityIndex index,
+                               WorkingDayCalendar calendar) {
+        this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
+        this.index = Objects.requireNonNull(index, "index");
+        this.calendar = Objects.requireNonNull(calendar, "calendar");
+    }
+
+    /**
+     * Throws IllegalArgumentException for a missing department or a bad range
+     * (to before from, or longer than MAX_SPAN_DAYS).
+     */
+    public AvailabilityMatrix matrix(String department, LocalDate from, LocalDate to) {
+        if (department == null || department.isBlank()) throw new IllegalArgumentException("department is required");
+        if (from == null || to == null) throw new IllegalArgumentException("from and to are required");
+        if (to.isBefore(from)) throw new IllegalArgumentException("to must not be before from");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SPAN_DAYS) {
+            throw new IllegalArgumentException("the range can span at most " + MAX_SPAN_DAYS + " days");
+        }
+        String dept = department.trim();
+
+        List<TeamMember> team = employeeRepository.findTeam(dept);
+        RoaringBitmap members = new RoaringBitmap();
+        team.forEach(m -> members.add(m.userId()));
+
+        List<AvailabilityIndex.Day> days = index.days(from, to, members);
+        boolean[] working = new boolean[days.size()];
+        List<AvailabilityMatrix.Day> totals = new ArrayList<>(days.size());
+        for (int d = 0; d < days.size(); d++) {
+            AvailabilityIndex.Day day = days.get(d);
+            working[d] = calendar.isWorkingDay(day.date());
+            // same precedence as the cells; a user has at most one attendance status per day
+            int present = day.present().getCardinality();
+            int halfDay = day.halfDay().getCardinality();
+            int onLeave = 0;
+            int absent = 0;
+            int unmarked = 0;
+            if (working[d]) {
+                RoaringBitmap recorded = RoaringBitmap.or(day.present(), day.halfDay());
+                onLeave = RoaringBitmap.andNotCardinality(day.onLeave(), recorded);
+                absent = RoaringBitmap.andNotCardinality(day.absent(), day.onLeave());
+                unmarked = team.size() - present - halfDay - onLeave - absent;
+            }
+            totals.add(new AvailabilityMatrix.Day(day.date(), working[d], present, halfDay, onLeave, absent, unmarked));
+        }
+
+        List<AvailabilityMatrix.Row> rows = new ArrayList<>(team.size());
+        char[] cells = new char[days.size()];
+        for (TeamMember m : team) {
+            int userId = m.userId();
+            for (int d = 0; d < cells.length; d++) {
+                cells[d] = cell(days.get(d), userId, working[d]);
+            }
+            rows.add(new AvailabilityMatrix.Row(m.employeeId(), m.userId(), name(m), new String(cells)));
+        }
+        return new AvailabilityMatrix(dept, from, to, totals, rows);
+    }
+
+    // recorded attendance first, then leave, then an explicit absence
+    static char cell(AvailabilityIndex.Day day, int userId, boolean workingDay) {
+        if (day.present().contains(userId)) return AvailabilityMatrix.PRESENT;
+        if (day.halfDay().contains(userId)) return AvailabilityMatrix.HALF_DAY;
+        if (!workingDay) return AvailabilityMatrix.NON_WORKING;
+        if (day.onLeave().contains(userId)) return AvailabilityMatrix.ON_LEAVE;
+        if (day.absent().contains(userId)) return AvailabilityMatrix.ABSENT;
+        return AvailabilityMatrix.UNMARKED;
+    }
+
+    private static String name(TeamMember m) {
+        String first = m.firstName() == null ? "" : m.firstName();
+        String last = m.lastName() == null ? "" : m.lastName();
+        return (first + " " + last).trim();
+    }
+}
@@ -0,0 +1,76 @@
+package com.hrms.service;
+
+import com.hrms.dao.TombstoneRepository;
+import com.hrms.dto.ListVersion;
+import com.hrms.entity.Tombstone;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Change tracking for the lists clients keep in sync (employees, leaves).
+ *
+ * A list's ETag is a digest of its ListVersion aggregates, so a conditional GET costs one
+ * aggregate query instead of loading and serializing the list.
+ * Deltas select rows by updatedAt; deletions are remembered as tombstones for the retention
+ * period, and a changedSince older than that can no longer be answered.
+ */
+@Component
+public class ChangeTracker {
+
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration overlap;
+    private final Duration retention;
+
+    public ChangeTracker(TombstoneRepository tombstoneRepository,
+                         @Value("${hrms.sync.overlap:5s}") Duration overlap,
+                         @Value("${hrms.sync.tombstone-retention:30d}") Duration retention) {
+        this.tombstoneRepository = Objects.requireNonNull(tombstoneRepository, "tombstoneRepository");
+        this.overlap = Objects.requireNonNull(overlap, "overlap");
+        this.retention = Objects.requireNonNull(retention, "retention");
+    }
+
+    /**
+     * Watermark for a read that starts now. updatedAt is stamped at flush, before commit, so a
+     * transaction still in flight may commit rows stamped earlier than this read; backdating by
+     * the overlap makes the next delta pick them up (at the price of some repeated rows).
+     */
+    public Instant watermark() {
+        return Instant.now().minus(overlap);
+    }
+
+    /**
+     * Throws IllegalStateException when tombstones from that far back may already be purged.
+     */
+    public void checkAnswerable(Instant since) {
+        if (since == null) throw new IllegalArgumentException("changedSince is required");
+        if (since.isBefore(Instant.now().minus(retention))) {
+            throw new IllegalStateException("changedSince is older than the " + retention.toDays()
+                    + "-day change history; reload the full list");
+        }
+    }
+
+    public String eTag(Tombstone.EntityType type, ListVersion version) {
+        String state = type + "|" + version.rows() + "|" + version.lastUpdated() + "|" + version.versionSum()
+                + "|" + version.lastUserUpdated() + "|" + version.userVersionSum() + "|" + version.lastTombstoneId();
+        // weak: equal ETags mean the same rows, not byte-identical JSON
+        return "W/\"" + DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public void recordDeletion(Tombstone.EntityType type, Integer id) {
+        Instant now = Instant.now();
+        tombstoneRepository.save(Tombstone.builder().entityType(type).entityId(id).deletedAt(now).build());
+        // deletions are rare; trimming here saves a scheduled job
+        tombstoneRepository.purgeOlderThan(type, now.minus(retention));
+    }
+
+    public List<Integer> deletedSince(Tombstone.EntityType type, Instant since) {
+        return tombstoneRepository.findDeletedIdsSince(type, since);
+    }
+}
@@ -0,0 +1,407 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dto.EmployeeDirectoryEntry;
+import com.hrms.dto.EmployeeSearchPage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory employee directory search over name, email, department, position and phone.
+ *
+ * Every field is split into lower-cased, accent-free words, and each word is posted,
+ * per field, under its 1-4 character prefixes, its trigrams and itself, each key
+ * mapping to a bitmap of documents. A query word of one or two characters matches word
+ * prefixes; a longer one matches anywhere inside a word. Every query word must match.
+ * Up to three characters the bitmaps are exact; longer words intersect their trigrams
+ * and the candidates that do not contain the query word whole are confirmed against
+ * the document's words.
+ *
+ * Ranking: per query word the best field match counts, an exact word beating a prefix
+ * beating a substring, weighted by field (name, then email, then department and
+ * position, then phone); ties are broken by name. Scores are accumulated by walking
+ * the match bitmaps, and only the requested page is kept in order (bounded heap).
+ *
+ * Built when the application is ready and kept in step by EmployeeService after each
+ * committed save or delete.
+ */
+@Component
+public class EmployeeSearchIndex implements MeterBinder {
+
+    private static final Logger LOG = Logger.getLogger(EmployeeSearchIndex.class.getName());
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_QUERY_WORDS = 8;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // longest prefix posted as its own key; longer prefixes are confirmed per document
+    private static final int MAX_PREFIX = 4;
+
+    private static final int EXACT = 3;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 1;
+
+    private enum Field {
+        NAME('n', 4), EMAIL('e', 3), DEPARTMENT('d', 2), POSITION('p', 2), PHONE('t', 1);
+
+        final char code;
+        final int weight;
+
+        Field(char code, int weight) {
+            this.code = code;
+            this.weight = weight;
+        }
+
+        // posting keys: "n^ja" prefix, "njan" trigram, "n=jane" whole word
+        String prefixKey(String prefix) {
+            return code + "^" + prefix;
+        }
+
+        String gramKey(String gram) {
+            return code + gram;
+        }
+
+        String wordKey(String word) {
+            return code + "=" + word;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // guarded by lock; postings hold slots, dense indexes into docs that are reused after removals
+    private Doc[] docs = new Doc[1024];
+    private final Map<Integer, Integer> slotByEmployeeId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int slots;
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+    private volatile boolean built;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
+    }
+
+    /**
+     * One indexed employee: its words per field (by Field ordinal) and every key it is posted under.
+     */
+    private record Doc(EmployeeDirectoryEntry entry, String[][] words, Set<String> keys, String sortName) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Re-read every employee. Holding the write lock across the query means an update
+     * committed meanwhile is applied after the rebuild rather than overwritten by it.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            docs = new Doc[1024];
+            slotByEmployeeId.clear();
+            freeSlots.clear();
+            slots = 0;
+            postings.clear();
+            List<EmployeeDirectoryEntry> entries = employeeRepository.findDirectoryEntries();
+            entries.forEach(this::add);
+            postings.values().forEach(RoaringBitmap::runOptimize);
+            built = true;
+            LOG.info("Built employee search index documents=" + slotByEmployeeId.size() + " keys=" + postings.size()
+                    + " in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index (or re-index) an employee once the current transaction commits.
+     */
+    public void update(EmployeeDirectoryEntry entry) {
+        Objects.requireNonNull(entry, "entry");
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(entry.employeeId());
+                add(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Drop an employee once the current transaction commits.
+     */
+    public void delete(Integer employeeId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(employeeId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ranked matches for q, page (0-based) of size entries.
+     * Throws IllegalArgumentException if q has no searchable characters or too many words.
+     */
+    public EmployeeSearchPage search(String q, int page, int size) {
+        Set<String> words = new LinkedHashSet<>(words(q));
+        if (words.isEmpty()) throw new IllegalArgumentException("q must contain a letter or digit");
+        if (words.size() > MAX_QUERY_WORDS) {
+            throw new IllegalArgumentException("q can have at most " + MAX_QUERY_WORDS + " words");
+        }
+        if (page < 0) throw new IllegalArgumentException("page must be >= 0");
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (!built) rebuild();
+
+        lock.readLock().lock();
+        try {
+            int[] score = new int[slots];
+            int[] best = new int[slots];
+            RoaringBitmap candidates = null;
+            for (String word : words) {
+                candidates = match(word, candidates, best, score);
+                if (candidates.isEmpty()) return new EmployeeSearchPage(q, 0, page, pageSize, List.of());
+            }
+            return page(q, candidates, score, page, pageSize);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Slots among candidates (all slots when null) that match word in some field; adds
+     * each one's best field score for the word to score. best is scratch space, left zeroed.
+     */
+    private RoaringBitmap match(String word, RoaringBitmap candidates, int[] best, int[] score) {
+        RoaringBitmap matched = new RoaringBitmap();
+        for (Field f : FIELDS) {
+            RoaringBitmap anywhere;
+            RoaringBitmap prefix;
+            if (word.length() < 3) {
+                anywhere = restrict(posting(f.prefixKey(word)), candidates);
+                prefix = anywhere;
+            } else if (word.length() == 3) {
+                anywhere = restrict(posting(f.gramKey(word)), candidates);
+                prefix = RoaringBitmap.and(anywhere, posting(f.prefixKey(word)));
+            } else {
+                // whole-word hits need no confirmation, only the rest of the trigram candidates do
+                RoaringBitmap whole = restrict(posting(f.wordKey(word)), candidates);
+                RoaringBitmap rest = RoaringBitmap.andNot(restrict(grams(f, word), candidates), whole);
+                anywhere = RoaringBitmap.or(whole, confirm(rest, f, word, String::contains));
+                RoaringBitmap startsLike = RoaringBitmap.and(anywhere,
+                        posting(f.prefixKey(word.substring(0, Math.min(word.length(), MAX_PREFIX)))));
+                prefix = word.length() <= MAX_PREFIX ? startsLike
+                        : RoaringBitmap.or(whole, confirm(RoaringBitmap.andNot(startsLike, whole), f, word, String::startsWith));
+            }
+            if (anywhere.isEmpty()) continue;
+            RoaringBitmap exact = RoaringBitmap.and(prefix, posting(f.wordKey(word)));
+            raise(best, anywhere, f.weight * (word.length() < 3 ? WORD_PREFIX : SUBSTRING));
+            raise(best, prefix, f.weight * WORD_PREFIX);
+            raise(best, exact, f.weight * EXACT);
+            matched.or(anywhere);
+        }
+        matched.forEach((int slot) -> {
+            score[slot] += best[slot];
+            best[slot] = 0;
+        });
+        return matched;
+    }
+
+    private static RoaringBitmap restrict(RoaringBitmap bitmap, RoaringBitmap candidates) {
+        return candidates == null ? bitmap : RoaringBitmap.and(bitmap, candidates);
+    }
+
+    private static void raise(int[] best, RoaringBitmap slots, int value) {
+        slots.forEach((int slot) -> {
+            if (best[slot] < value) best[slot] = value;
+        });
+    }
+
+    // intersection of the word's trigram postings in field f
+    private RoaringBitmap grams(Field f, String word) {
+        RoaringBitmap result = null;
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            RoaringBitmap gram = posting(f.gramKey(word.substring(i, i + 3)));
+            result = result == null ? gram.clone() : RoaringBitmap.and(result, gram);
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    // keep the slots where some word of field f satisfies test(documentWord, queryWord)
+    private RoaringBitmap confirm(RoaringBitmap slots, Field f, String word, BiPredicate<String, String> test) {
+        RoaringBitmap confirmed = new RoaringBitmap();
+        slots.forEach((int slot) -> {
+            for (String w : docs[slot].words()[f.ordinal()]) {
+                if (test.test(w, word)) {
+                    confirmed.add(slot);
+                    return;
+                }
+            }
+        });
+        return confirmed;
+    }
+
+    private RoaringBitmap posting(String key) {
+        RoaringBitmap bitmap = postings.get(key);
+        return bitmap == null ? new RoaringBitmap() : bitmap;
+    }
+
+    // best first: higher score, then name, then employee id
+    private EmployeeSearchPage page(String q, RoaringBitmap candidates, int[] score, int page, int pageSize) {
+        Comparator<Integer> rank = Comparator.<Integer>comparingInt(slot -> -score[slot])
+                .thenComparing(slot -> docs[slot].sortName())
+                .thenComparing(slot -> docs[slot].entry().employeeId());
+        long keep = Math.min((long) (page + 1) * pageSize, candidates.getCardinality());
+        // worst kept slot on top, so each candidate costs one comparison unless it makes the cut
+        PriorityQueue<Integer> top = new PriorityQueue<>((int) Math.max(1, keep), rank.reversed());
+        candidates.forEach((int slot) -> {
+            if (top.size() < keep) {
+                top.add(slot);
+            } else if (rank.compare(slot, top.peek()) < 0) {
+                top.poll();
+                top.add(slot);
+            }
+        });
+        Integer[] ordered = top.toArray(new Integer[0]);
+        Arrays.sort(ordered, rank);
+        List<EmployeeDirectoryEntry> items = new ArrayList<>(pageSize);
+        for (int i = (int) Math.min((long) page * pageSize, ordered.length); i < ordered.length; i++) {
+            items.add(docs[ordered[i]].entry());
+        }
+        return new EmployeeSearchPage(q, candidates.getCardinality(), page, pageSize, items);
+    }
+
+    private void add(EmployeeDirectoryEntry e) {
+        String[][] words = new String[FIELDS.length][];
+        words[Field.NAME.ordinal()] = wordArray(Objects.toString(e.firstName(), "") + " " + Objects.toString(e.lastName(), ""));
+        words[Field.EMAIL.ordinal()] = wordArray(e.email());
+        words[Field.DEPARTMENT.ordinal()] = wordArray(e.department());
+        words[Field.POSITION.ordinal()] = wordArray(e.position());
+        words[Field.PHONE.ordinal()] = phoneWords(e.phone());
+
+        Set<String> keys = new HashSet<>();
+        for (Field f : FIELDS) {
+            for (String w : words[f.ordinal()]) keys(f, w, keys);
+        }
+        int slot = freeSlots.isEmpty() ? slots++ : freeSlots.pop();
+        if (slot == docs.length) docs = Arrays.copyOf(docs, docs.length * 2);
+        docs[slot] = new Doc(e, words, keys, String.join(" ", words[Field.NAME.ordinal()]));
+        slotByEmployeeId.put(e.employeeId(), slot);
+        for (String key : keys) postings.computeIfAbsent(key, k -> new RoaringBitmap()).add(slot);
+    }
+
+    private void remove(Integer employeeId) {
+        Integer slot = slotByEmployeeId.remove(employeeId);
+        if (slot == null) return;
+        for (String key : docs[slot].keys()) {
+            RoaringBitmap bitmap = postings.get(key);
+            if (bitmap == null) continue;
+            bitmap.remove(slot);
+            if (bitmap.isEmpty()) postings.remove(key);
+        }
+        docs[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private static void keys(Field f, String word, Set<String> keys) {
+        for (int n = 1; n <= Math.min(MAX_PREFIX, word.length()); n++) keys.add(f.prefixKey(word.substring(0, n)));
+        for (int i = 0; i + 3 <= word.length(); i++) keys.add(f.gramKey(word.substring(i, i + 3)));
+        keys.add(f.wordKey(word));
+    }
+
+    private static String[] wordArray(String text) {
+        return words(text).toArray(String[]::new);
+    }
+
+    // the separate digit groups plus all digits run together, so "5551234" finds "555-1234"
+    private static String[] phoneWords(String phone) {
+        List<String> words = words(phone);
+        if (words.size() > 1) {
+            words = new ArrayList<>(words);
+            words.add(String.join("", words));
+        }
+        return words.toArray(String[]::new);
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String w : NON_WORD.split(folded)) {
+            if (!w.isEmpty()) words.add(w);
+        }
+        return words;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // hrms.employee.search.documents: employees currently indexed
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hrms.employee.search.documents", this, EmployeeSearchIndex::size)
+                .description("Employees in the directory search index")
+                .register(registry);
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return slotByEmployeeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,29 +1,71 @@
 package com.hrms.service;
 
 import com.hrms.dao.EmployeeRepository;
+import com.hrms.dto.EmployeeSearchPage;
+import com.hrms.dto.EmployeeView;
+import com.hrms.dto.SyncDelta;
 import com.hrms.entity.Employee;
+import com.hrms.entity.Tombstone;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 @Transactional
 public class EmployeeService {
 
     private final EmployeeRepository repo;
+    private final EmployeeSearchIndex searchIndex;
+    private final ChangeTracker changeTracker;
 
-    public EmployeeService(EmployeeRepository repo) {
+    public EmployeeService(EmployeeRepository repo, EmployeeSearchIndex searchIndex, ChangeTracker changeTracker) {
         this.repo = repo;
+        this.searchIndex = Objects.requireNonNull(searchIndex, "searchIndex");
+        this.changeTracker = Objects.requireNonNull(changeTracker, "changeTracker");
     }
 
-    public List<Employee> findAll() {
-        // return entities as-is — do NOT mutate the nested User object here.
-        // Password hiding is handled by the User entity @JsonIgnore on the getter.
-        return repo.findAll();
+    /**
+     * Response rows straight from a projection: no entities, proxies or password hashes.
+     */
+    @Transactional(readOnly = true)
+    public List<EmployeeView> listAll() {
+        return repo.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EmployeeView> findViewById(Integer id) {
+        return repo.findViewById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public String listETag() {
+        return changeTracker.eTag(Tombstone.EntityType.EMPLOYEE, repo.findListVersion());
+    }
+
+    /**
+     * Employees created or updated after since (or whose user was), in id order, and the
+     * ids deleted since. Throws IllegalStateException if since is older than the change history.
+     */
+    @Transactional(readOnly = true)
+    public SyncDelta<EmployeeView> changedSince(Instant since) {
+        changeTracker.checkAnswerable(since);
+        Instant watermark = changeTracker.watermark();
+        Map<Integer, EmployeeView> changed = new TreeMap<>();
+        repo.findViewsUpdatedAfter(since).forEach(v -> changed.put(v.employeeId(), v));
+        repo.findViewsByUserUpdatedAfter(since).forEach(v -> changed.putIfAbsent(v.employeeId(), v));
+        return new SyncDelta<>(List.copyOf(changed.values()),
+                changeTracker.deletedSince(Tombstone.EntityType.EMPLOYEE, since), watermark);
     }
 
+    // not read-only: PUT /api/employees/{id} loads through here and then saves in the same
+    // (open-in-view) session, where an entity loaded read-only would not be dirty-checked
     public Optional<Employee> findById(Integer id) {
         // same: do not mutate managed User instances
         return repo.findById(id);
@@ -31,22 +73,27 @@ public class EmployeeService {
 
     public Employee save(Employee e) {
         // don't touch user passwordHash here; other logic manages user.
-        return repo.save(e);
+        Employee saved = repo.save(e);
+        // re-read through the join: the request body's user may carry only its id
+        repo.findDirectoryEntry(saved.getEmployeeId()).ifPresent(searchIndex::update);
+        return saved;
     }
 
     public void deleteById(Integer id) {
-        repo.deleteById(id);
+        repo.findById(id).ifPresent(e -> {
+            repo.delete(e);
+            changeTracker.recordDeletion(Tombstone.EntityType.EMPLOYEE, id);
+        });
+        searchIndex.delete(id);
     }
 
     /**
-     * Find employee by associated user's email and update the numeric leaves value.
-     * Returns Optional.empty() if no employee found.
+     * Ranked directory search, answered from the in-memory index: no transaction, so no
+     * pooled connection is borrowed per query.
      */
-    public Optional<Employee> updateLeavesByEmail(String email, int leaves) {
-        return repo.findByUserEmail(email.toLowerCase().trim())
-                .map(emp -> {
-                    emp.setLeaves(leaves);
-                    return repo.save(emp);
-                });
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EmployeeSearchPage search(String q, Integer page, Integer size) {
+        return searchIndex.search(q, page == null ? 0 : page,
+                size == null ? EmployeeSearchIndex.DEFAULT_PAGE_SIZE : size);
     }
 }
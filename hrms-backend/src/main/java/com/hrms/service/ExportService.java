@@ -0,0 +1,161 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hrms.dao.ExportRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes attendance, leave and salary exports straight from a JDBC cursor to the
+ * response: one row in memory at a time, optionally gzip-compressed on the fly.
+ *
+ * CSV: header row, RFC 4180 quoting, and text cells starting with = + - @ prefixed
+ * with ' so spreadsheets do not evaluate them. JSONL: one JSON object per line.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final Logger LOG = Logger.getLogger(ExportService.class.getName());
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSONL("application/x-ndjson", "jsonl");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final ExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = Objects.requireNonNull(exportRepository, "exportRepository");
+        // streaming copy: let the generator buffer rows instead of flushing after each value
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper").copy()
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Streams every matching row to out. from/to are inclusive and filter the
+     * attendance date, the leave span (overlap) or the salary payment date.
+     */
+    public long export(ExportRepository.Dataset dataset, LocalDate from, LocalDate to, String department,
+                       Format format, boolean gzip, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        long rows;
+        try {
+            rows = switch (format) {
+                case CSV -> writeCsv(dataset, from, to, department, target);
+                case JSONL -> writeJsonLines(dataset, from, to, department, target);
+            };
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+        if (target instanceof GZIPOutputStream gz) gz.finish();
+        out.flush();
+        LOG.info("Exported " + rows + " " + dataset + " rows as " + format + (gzip ? ".gz" : "")
+                + " in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return rows;
+    }
+
+    private long writeCsv(ExportRepository.Dataset dataset, LocalDate from, LocalDate to, String department,
+                          OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] rows = {0};
+        exportRepository.forEachRow(dataset, from, to, department,
+                header -> writeCsvLine(writer, header.toArray()),
+                values -> {
+                    writeCsvLine(writer, values);
+                    rows[0]++;
+                });
+        writer.flush();
+        return rows[0];
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                if (values[i] != null) writer.write(csvCell(values[i]));
+            }
+            writer.write("\r\n");
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    static String csvCell(Object value) {
+        // same HH:mm:ss as the JSON output (LocalTime.toString drops zero seconds)
+        String s = value instanceof LocalTime t ? DateTimeFormatter.ISO_LOCAL_TIME.format(t) : value.toString();
+        if (value instanceof String && !s.isEmpty() && "=+-@".indexOf(s.charAt(0)) >= 0) {
+            s = "'" + s;
+        }
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + s.replace("\"", "\"\"") + '"' : s;
+    }
+
+    private long writeJsonLines(ExportRepository.Dataset dataset, LocalDate from, LocalDate to, String department,
+                                OutputStream out) throws IOException {
+        long[] rows = {0};
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);   // lines are ended explicitly below
+            String[][] names = new String[1][];
+            exportRepository.forEachRow(dataset, from, to, department,
+                    header -> names[0] = header.toArray(String[]::new),
+                    values -> {
+                        try {
+                            gen.writeStartObject();
+                            for (int i = 0; i < values.length; i++) {
+                                gen.writeFieldName(names[0][i]);
+                                objectMapper.writeValue(gen, values[i]);
+                            }
+                            gen.writeEndObject();
+                            gen.writeRaw('\n');
+                        } catch (IOException ioe) {
+                            throw new UncheckedIOException(ioe);
+                        }
+                        rows[0]++;
+                    });
+        }
+        return rows[0];
+    }
+}
@@ -0,0 +1,89 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.AuditEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends one JSON object per line to a local file, rotating it once it passes
+ * maxBytes: audit.jsonl -> audit.jsonl.1 -> ... -> audit.jsonl.{maxFiles - 1}, oldest deleted.
+ */
+class FileAuditSink implements AuditSink {
+
+    private final Path path;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final ObjectMapper objectMapper;
+
+    private BufferedWriter writer;
+    private long size;
+
+    FileAuditSink(Path path, long maxBytes, int maxFiles, ObjectMapper objectMapper) throws IOException {
+        if (maxBytes < 1) throw new IllegalArgumentException("hrms.audit.file.max-size must be positive");
+        if (maxFiles < 1) throw new IllegalArgumentException("hrms.audit.file.max-files must be >= 1");
+        this.path = path.toAbsolutePath();
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        // no auditId (never assigned outside the table) or empty details
+        this.objectMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        if (this.path.getParent() != null) Files.createDirectories(this.path.getParent());
+        open();
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) throws IOException {
+        for (AuditEvent event : batch) {
+            String line = objectMapper.writeValueAsString(event);
+            writer.write(line);
+            writer.newLine();
+            // close enough for rotation: ASCII except for free-text details
+            size += line.length() + 1;
+        }
+        writer.flush();
+        if (size >= maxBytes) rotate();
+    }
+
+    @Override
+    public boolean queryable() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(path);
+    }
+
+    private void rotate() throws IOException {
+        writer.close();
+        if (maxFiles == 1) {
+            Files.delete(path);
+        } else {
+            Files.deleteIfExists(rotated(maxFiles - 1));
+            for (int i = maxFiles - 2; i >= 1; i--) {
+                Path from = rotated(i);
+                if (Files.exists(from)) Files.move(from, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(path, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rotated(int n) {
+        return path.resolveSibling(path.getFileName() + "." + n);
+    }
+}
@@ -0,0 +1,58 @@
+package com.hrms.service;
+
+import com.hrms.dao.HolidayRepository;
+import com.hrms.entity.Holiday;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Holiday maintenance. Every change invalidates the working-day calendar once the
+ * transaction commits.
+ */
+@Service
+@Transactional
+public class HolidayService {
+
+    private static final Logger LOG = Logger.getLogger(HolidayService.class.getName());
+
+    private final HolidayRepository holidayRepository;
+    private final WorkingDayCalendar calendar;
+
+    public HolidayService(HolidayRepository holidayRepository, WorkingDayCalendar calendar) {
+        this.holidayRepository = Objects.requireNonNull(holidayRepository, "holidayRepository");
+        this.calendar = Objects.requireNonNull(calendar, "calendar");
+    }
+
+    @Transactional(readOnly = true)
+    public List<Holiday> findByYear(Year year) {
+        return holidayRepository.findByDateBetweenOrderByDate(year.atDay(1), year.atDay(year.length()));
+    }
+
+    public Holiday save(Holiday holiday) {
+        if (holiday.getDate() == null) throw new IllegalArgumentException("date is required");
+        if (holiday.getName() == null || holiday.getName().isBlank()) throw new IllegalArgumentException("name is required");
+        holiday.setName(holiday.getName().trim());
+        if (holiday.getIsPublic() == null) holiday.setIsPublic(Boolean.TRUE);
+        Holiday saved = holidayRepository.save(holiday);
+        calendar.invalidate();
+        LOG.info("Saved holiday " + saved.getDate() + " " + saved.getName() + " public=" + saved.getIsPublic());
+        return saved;
+    }
+
+    public boolean deleteById(Integer id) {
+        if (!holidayRepository.existsById(id)) return false;
+        holidayRepository.deleteById(id);
+        calendar.invalidate();
+        return true;
+    }
+
+    public int workingDaysBetween(LocalDate from, LocalDate to) {
+        return calendar.workingDaysBetween(from, to);
+    }
+}
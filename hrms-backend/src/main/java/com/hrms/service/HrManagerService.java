@@ -22,6 +22,7 @@ public class HrManagerService {
         return repo.save(hr);
     }
 
+    @Transactional(readOnly = true)
     public List<HrManager> findAll() {
         return repo.findAll();
     }
@@ -0,0 +1,31 @@
+package com.hrms.service;
+
+import com.hrms.dao.AuditEventRepository;
+import com.hrms.entity.AuditEvent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Batch-inserts into audit_events, one transaction per batch.
+ */
+class JdbcAuditSink implements AuditSink {
+
+    private final AuditEventRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    JdbcAuditSink(AuditEventRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void write(List<AuditEvent> batch) {
+        transactionTemplate.executeWithoutResult(s -> repository.insertBatch(batch));
+    }
+
+    @Override
+    public boolean queryable() {
+        return true;
+    }
+}
@@ -0,0 +1,197 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.LeaveView;
+import com.hrms.dto.SyncDelta;
+import com.hrms.dto.UserSummary;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Leave;
+import com.hrms.entity.Tombstone;
+import com.hrms.entity.User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Leave decisions and the per-employee leave ledger.
+ *
+ * employees.leaves holds the number of approved leave days. It is adjusted by a
+ * single relative UPDATE in the same transaction as the status change, so the
+ * balance never has to be recomputed from the full leave history.
+ *
+ * A leave spans [startDate, endDate] and is charged its working days (weekends and
+ * public holidays excluded), fixed when it is applied for. A user's PENDING and
+ * APPROVED leaves never overlap.
+ */
+@Service
+@Transactional
+public class LeaveService {
+
+    private static final Logger LOG = Logger.getLogger(LeaveService.class.getName());
+
+    static final int MAX_SPAN_DAYS = 366;
+
+    private final LeaveRepository leaveRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final WorkingDayCalendar calendar;
+    private final AvailabilityIndex availabilityIndex;
+    private final ChangeTracker changeTracker;
+
+    public LeaveService(LeaveRepository leaveRepository, EmployeeRepository employeeRepository,
+                        UserRepository userRepository, WorkingDayCalendar calendar,
+                        AvailabilityIndex availabilityIndex, ChangeTracker changeTracker) {
+        this.leaveRepository = Objects.requireNonNull(leaveRepository, "leaveRepository");
+        this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
+        this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.calendar = Objects.requireNonNull(calendar, "calendar");
+        this.availabilityIndex = Objects.requireNonNull(availabilityIndex, "availabilityIndex");
+        this.changeTracker = Objects.requireNonNull(changeTracker, "changeTracker");
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveView> listAll() {
+        return leaveRepository.findAllViews();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveView> listByEmail(String email) {
+        return leaveRepository.findViewsByUserEmail(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    @Transactional(readOnly = true)
+    public String listETag() {
+        return changeTracker.eTag(Tombstone.EntityType.LEAVE, leaveRepository.findListVersion());
+    }
+
+    /**
+     * Leaves created or updated after since (or whose user was), in id order.
+     * Throws IllegalStateException if since is older than the change history.
+     */
+    @Transactional(readOnly = true)
+    public SyncDelta<LeaveView> changedSince(Instant since) {
+        changeTracker.checkAnswerable(since);
+        Instant watermark = changeTracker.watermark();
+        Map<Integer, LeaveView> changed = new TreeMap<>();
+        leaveRepository.findViewsUpdatedAfter(since).forEach(v -> changed.put(v.leaveId(), v));
+        leaveRepository.findViewsByUserUpdatedAfter(since).forEach(v -> changed.putIfAbsent(v.leaveId(), v));
+        return new SyncDelta<>(List.copyOf(changed.values()),
+                changeTracker.deletedSince(Tombstone.EntityType.LEAVE, since), watermark);
+    }
+
+    /**
+     * Apply for leave over [start, end] (end defaults to start).
+     * Throws IllegalArgumentException for bad input or an unknown user, and
+     * IllegalStateException if the range overlaps one of the user's pending or approved leaves.
+     */
+    public Leave apply(String email, LocalDate start, LocalDate end, String reason) {
+        if (email == null || email.isBlank()) throw new IllegalArgumentException("email is required");
+        if (start == null) throw new IllegalArgumentException("startDate is required");
+        LocalDate last = end == null ? start : end;
+        if (last.isBefore(start)) throw new IllegalArgumentException("endDate must not be before startDate");
+        if (ChronoUnit.DAYS.between(start, last) >= MAX_SPAN_DAYS) {
+            throw new IllegalArgumentException("a leave can span at most " + MAX_SPAN_DAYS + " days");
+        }
+        int days = calendar.workingDaysBetween(start, last);
+        if (days == 0) throw new IllegalArgumentException("leave covers no working days");
+
+        // lock the user's row so two concurrent applications cannot both pass the overlap check
+        User user = userRepository.findByEmailForUpdate(email.trim().toLowerCase(Locale.ROOT))
+                .orElseThrow(() -> new IllegalArgumentException("User with that email not found"));
+        if (leaveRepository.existsActiveOverlap(user.getUserId(), start, last)) {
+            throw new IllegalStateException("Leave overlaps an existing pending or approved leave");
+        }
+
+        Leave saved = leaveRepository.save(Leave.builder()
+                .user(user)
+                .startDate(start)
+                .endDate(last)
+                .workingDays(days)
+                .status(Leave.Status.PENDING)
+                .reason(reason == null ? "" : reason.trim())
+                .rejectReason(null)
+                .build());
+        LOG.info("Leave applied userId=" + user.getUserId() + " " + start + ".." + last + " workingDays=" + days);
+        return saved;
+    }
+
+    /**
+     * Move a leave to APPROVED or REJECTED and apply the difference to the ledger.
+     * Returns Optional.empty() if the leave does not exist.
+     * Throws IllegalStateException if another request changed the leave concurrently.
+     */
+    public Optional<LeaveView> respond(Integer leaveId, Leave.Status target) {
+        if (target == null) throw new IllegalArgumentException("target status is required");
+
+        Optional<Leave> opt = leaveRepository.findById(leaveId);
+        if (opt.isEmpty()) return Optional.empty();
+
+        Leave leave = opt.get();
+        Leave.Status current = leave.getStatus() == null ? Leave.Status.PENDING : leave.getStatus();
+
+        if (current != target || leave.getRejectReason() != null) {
+            // compare-and-set on the status: the losing side of a race updates 0 rows
+            int changed = leaveRepository.transitionStatus(leaveId, current, target, Instant.now());
+            if (changed == 0) {
+                throw new IllegalStateException("Leave was updated by another request, please reload");
+            }
+
+            int delta = ledgerDelta(current, target, countedDays(leave));
+            if (delta != 0) {
+                Integer userId = leave.getUser().getUserId();
+                if (employeeRepository.adjustLeaves(userId, delta, Instant.now()) == 0) {
+                    LOG.warning("No employee row for userId=" + userId + "; leave ledger not updated");
+                }
+            }
+            if (leave.getStartDate() != null
+                    && (current == Leave.Status.APPROVED) != (target == Leave.Status.APPROVED)) {
+                availabilityIndex.leaveChanged(leave.getUser().getUserId(), leave.getStartDate(), leave.getEndDate(),
+                        target == Leave.Status.APPROVED);
+            }
+        }
+
+        User u = leave.getUser();
+        return Optional.of(new LeaveView(leave.getLeaveId(), leave.getStartDate(), leave.getEndDate(), target,
+                leave.getReason(), null,
+                new UserSummary(u.getUserId(), u.getEmail(), u.getFirstName(), u.getLastName())));
+    }
+
+    /**
+     * Approved leave days for the employee with this email, read from the ledger.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Employee> findBalanceByEmail(String email) {
+        if (email == null) return Optional.empty();
+        return employeeRepository.findByUserEmail(email.trim().toLowerCase(Locale.ROOT));
+    }
+
+    static int ledgerDelta(Leave.Status from, Leave.Status to, int days) {
+        boolean wasApproved = from == Leave.Status.APPROVED;
+        boolean isApproved = to == Leave.Status.APPROVED;
+        if (wasApproved == isApproved) return 0;
+        return isApproved ? days : -days;
+    }
+
+    /**
+     * Days a leave counts against the ledger: working days in the span, so weekends
+     * and public holidays inside a leave are not charged.
+     */
+    int countedDays(Leave leave) {
+        if (leave.getWorkingDays() != null) return leave.getWorkingDays();
+        if (leave.getStartDate() == null) return 1;
+        LocalDate end = leave.getEndDate() == null ? leave.getStartDate() : leave.getEndDate();
+        return calendar.workingDaysBetween(leave.getStartDate(), end);
+    }
+}
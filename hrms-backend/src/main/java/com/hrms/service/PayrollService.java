@@ -0,0 +1,236 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceSummaryRepository;
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.SalaryRepository;
+import com.hrms.dto.AttendanceSummaryView;
+import com.hrms.dto.LeaveSpan;
+import com.hrms.dto.PayrollEmployee;
+import com.hrms.dto.PayrollRunReport;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Salary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side monthly payroll.
+ *
+ * A run first checks that the month's attendance summaries agree with the attendance
+ * table (rebuilding the month if they do not: they are empty for a month that was never
+ * rebuilt), then reads its inputs in four set-based queries (employees, the month's
+ * attendance summaries, approved leaves, already-paid employees), computes pay
+ * on all cores, and writes salaries in chunks of {@link #CHUNK_SIZE}, each chunk
+ * in its own transaction. A (employee, month) pair is paid at most once, so a run
+ * that failed half-way is resumed by simply running the month again.
+ *
+ * Pay = employees.salary * payableDays / workingDays, where payableDays is
+ * full days + half days / 2 + approved leave days, capped at the month's working days.
+ * Working days (and leave days) come from the WorkingDayCalendar: weekends and public
+ * holidays are excluded.
+ */
+@Service
+@Transactional
+public class PayrollService {
+
+    private static final Logger LOG = Logger.getLogger(PayrollService.class.getName());
+
+    static final int CHUNK_SIZE = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceSummaryRepository summaryRepository;
+    private final AttendanceSummaryService summaryService;
+    private final LeaveRepository leaveRepository;
+    private final SalaryRepository salaryRepository;
+    private final WorkingDayCalendar calendar;
+    private final TransactionTemplate transactionTemplate;
+    private final int writerThreads;
+
+    public PayrollService(EmployeeRepository employeeRepository,
+                          AttendanceSummaryRepository summaryRepository,
+                          AttendanceSummaryService summaryService,
+                          LeaveRepository leaveRepository,
+                          SalaryRepository salaryRepository,
+                          WorkingDayCalendar calendar,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${hrms.payroll.writer-threads:4}") int writerThreads) {
+        this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
+        this.summaryRepository = Objects.requireNonNull(summaryRepository, "summaryRepository");
+        this.summaryService = Objects.requireNonNull(summaryService, "summaryService");
+        this.leaveRepository = Objects.requireNonNull(leaveRepository, "leaveRepository");
+        this.salaryRepository = Objects.requireNonNull(salaryRepository, "salaryRepository");
+        this.calendar = Objects.requireNonNull(calendar, "calendar");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the chunk insert tells paid from already-paid rows by the transaction's snapshot
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        if (writerThreads < 1) throw new IllegalArgumentException("hrms.payroll.writer-threads must be >= 1");
+        this.writerThreads = writerThreads;
+    }
+
+    /**
+     * Pay every employee with a salary for the given month.
+     * paymentDate defaults to the last day of the month.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PayrollRunReport run(YearMonth month, LocalDate paymentDate) {
+        if (month == null) throw new IllegalArgumentException("month is required");
+        long started = System.nanoTime();
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        LocalDate paidOn = paymentDate == null ? last : paymentDate;
+        String remarks = "Payroll " + month;
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        checkSummaries(month, readOnly);
+
+        // inputs: one statement each, read in a single read-only transaction
+        PayrollInputs inputs = readOnly.execute(tx -> new PayrollInputs(
+                employeeRepository.findPayrollInputs(),
+                summaryRepository.findViewsByMonth(first).stream()
+                        .collect(Collectors.toMap(AttendanceSummaryView::userId, Function.identity())),
+                leaveRepository.findApprovedSpans(first, last).stream()
+                        .collect(Collectors.groupingBy(LeaveSpan::userId)),
+                salaryRepository.findPaidEmployeeIds(first)));
+
+        int workingDays = calendar.workingDaysBetween(first, last);
+        if (workingDays == 0) throw new IllegalArgumentException("month has no working days: " + month);
+
+        int noSalary = 0;
+        int alreadyPaid = 0;
+        List<PayrollEmployee> toPay = new ArrayList<>();
+        for (PayrollEmployee e : inputs.employees()) {
+            if (e.monthlySalary() == null || e.monthlySalary() <= 0) noSalary++;
+            else if (inputs.paid().contains(e.employeeId())) alreadyPaid++;
+            else toPay.add(e);
+        }
+
+        // pure computation over immutable inputs: safe to spread across cores
+        List<Salary> salaries = toPay.parallelStream()
+                .map(e -> {
+                    double days = payableDays(inputs.summaries().get(e.userId()),
+                            inputs.leaves().getOrDefault(e.userId(), List.of()), first, last, workingDays, calendar);
+                    if (days <= 0) return null;
+                    return Salary.builder()
+                            .employee(Employee.builder().employeeId(e.employeeId()).build())
+                            .amount(amount(e.monthlySalary(), days, workingDays))
+                            .paymentDate(paidOn)
+                            .payrollMonth(first)
+                            .remarks(remarks)
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        int noPayableDays = toPay.size() - salaries.size();
+
+        int paid = 0;
+        int failed = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        try (ExecutorService writers = Executors.newFixedThreadPool(writerThreads)) {
+            List<Future<boolean[]>> futures = new ArrayList<>();
+            for (int from = 0; from < salaries.size(); from += CHUNK_SIZE) {
+                List<Salary> chunk = salaries.subList(from, Math.min(from + CHUNK_SIZE, salaries.size()));
+                futures.add(writers.submit(() ->
+                        transactionTemplate.execute(tx -> salaryRepository.insertPayrollIgnoringExisting(chunk))));
+            }
+            for (int c = 0; c < futures.size(); c++) {
+                List<Salary> chunk = salaries.subList(c * CHUNK_SIZE, Math.min((c + 1) * CHUNK_SIZE, salaries.size()));
+                try {
+                    boolean[] inserted = futures.get(c).get();
+                    for (int i = 0; i < inserted.length; i++) {
+                        if (inserted[i]) {
+                            paid++;
+                            total = total.add(BigDecimal.valueOf(chunk.get(i).getAmount()));
+                        } else {
+                            // a concurrent run got there first
+                            alreadyPaid++;
+                        }
+                    }
+                } catch (ExecutionException ex) {
+                    // the chunk rolled back; its employees are picked up by the next run
+                    failed += chunk.size();
+                    LOG.log(Level.WARNING, "Payroll chunk " + c + " for " + month + " failed", ex.getCause());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Payroll run interrupted", ie);
+                }
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        LOG.info("Payroll " + month + ": paid=" + paid + " alreadyPaid=" + alreadyPaid
+                + " failed=" + failed + " in " + elapsedMs + "ms");
+        return new PayrollRunReport(month, inputs.employees().size(), paid, alreadyPaid, noSalary,
+                noPayableDays, failed, total.doubleValue(), elapsedMs);
+    }
+
+    /**
+     * Pay is computed from the summary counters only, so a month whose counters are missing
+     * or stale would quietly pay nobody (or the wrong amounts). Rebuild such a month once;
+     * if it still disagrees, refuse to run.
+     */
+    private void checkSummaries(YearMonth month, TransactionTemplate readOnly) {
+        LocalDate first = month.atDay(1);
+        Integer mismatched = readOnly.execute(tx -> summaryRepository.countMismatchedUsers(first));
+        if (mismatched == null || mismatched == 0) return;
+
+        LOG.warning("Attendance summaries for " + month + " disagree with attendance for " + mismatched
+                + " users; rebuilding the month before payroll");
+        summaryService.rebuild(month);
+        Integer still = readOnly.execute(tx -> summaryRepository.countMismatchedUsers(first));
+        if (still != null && still > 0) {
+            throw new IllegalStateException("Attendance summaries for " + month + " still disagree with attendance for "
+                    + still + " users after a rebuild; payroll not run");
+        }
+    }
+
+    static double payableDays(AttendanceSummaryView summary, List<LeaveSpan> leaves,
+                              LocalDate first, LocalDate last, int workingDays, WorkingDayCalendar calendar) {
+        double days = 0;
+        if (summary != null) {
+            days += summary.fullDays() + summary.halfDays() / 2.0;
+        }
+        for (LeaveSpan leave : leaves) {
+            LocalDate from = leave.startDate().isBefore(first) ? first : leave.startDate();
+            LocalDate to = leave.endDate().isAfter(last) ? last : leave.endDate();
+            days += calendar.workingDaysBetween(from, to);
+        }
+        return Math.min(days, workingDays);
+    }
+
+    static double amount(double monthlySalary, double payableDays, int workingDays) {
+        return BigDecimal.valueOf(monthlySalary)
+                .multiply(BigDecimal.valueOf(payableDays))
+                .divide(BigDecimal.valueOf(workingDays), 2, RoundingMode.HALF_UP)
+                .doubleValue();
+    }
+
+    private record PayrollInputs(List<PayrollEmployee> employees,
+                                 Map<Integer, AttendanceSummaryView> summaries,
+                                 Map<Integer, List<LeaveSpan>> leaves,
+                                 Set<Integer> paid) {
+    }
+}
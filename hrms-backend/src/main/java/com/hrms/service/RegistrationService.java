@@ -0,0 +1,173 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.BulkRegistrationRequest;
+import com.hrms.dto.BulkRegistrationResult;
+import com.hrms.dto.EmployeeDirectoryEntry;
+import com.hrms.entity.Employee;
+import com.hrms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Bulk HR decisions on pending employee registrations.
+ *
+ * A batch costs a constant number of statements in one transaction: the users are
+ * read and row-locked by one query (so two HR sessions cannot both approve someone),
+ * statuses flip with one bulk UPDATE per target status, and the new employee rows go
+ * in as JDBC batches, read back by one projection query for their ids.
+ */
+@Service
+@Transactional
+public class RegistrationService {
+
+    private static final Logger LOG = Logger.getLogger(RegistrationService.class.getName());
+
+    // cached query over employees joined to users; JDBC inserts do not invalidate it
+    static final String EMPLOYEE_BY_EMAIL_REGION = "hrms.query.employee-by-email";
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final UserLookupCache userCache;
+    private final EmployeeSearchIndex searchIndex;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public RegistrationService(UserRepository userRepository,
+                               EmployeeRepository employeeRepository,
+                               UserLookupCache userCache,
+                               EmployeeSearchIndex searchIndex,
+                               EntityManagerFactory entityManagerFactory) {
+        this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
+        this.userCache = Objects.requireNonNull(userCache, "userCache");
+        this.searchIndex = Objects.requireNonNull(searchIndex, "searchIndex");
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory, "entityManagerFactory");
+    }
+
+    /**
+     * Approve or reject each entry's user. Approval applies to pending EMPLOYEE
+     * registrations and creates the employee row; rejection applies to any pending user.
+     * Per-entry problems are reported in the results (same order as the input).
+     */
+    public List<BulkRegistrationResult> decide(List<BulkRegistrationRequest.Entry> entries) {
+        if (entries == null || entries.isEmpty()) return List.of();
+
+        BulkRegistrationResult[] results = new BulkRegistrationResult[entries.size()];
+        Set<Integer> ids = new HashSet<>();
+        for (BulkRegistrationRequest.Entry e : entries) {
+            if (e != null && e.getUserId() != null) ids.add(e.getUserId());
+        }
+        Map<Integer, User> users = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (User u : userRepository.findAllByIdForUpdate(ids)) users.put(u.getUserId(), u);
+        }
+
+        Map<Integer, Employee> toApprove = new LinkedHashMap<>();
+        Map<Integer, User> toReject = new LinkedHashMap<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BulkRegistrationRequest.Entry e = entries.get(i);
+            Integer userId = e == null ? null : e.getUserId();
+            Boolean approve = e == null ? null : parseDecision(e.getDecision());
+            User user = userId == null ? null : users.get(userId);
+            String problem = userId == null ? "userId is required"
+                    : approve == null ? "decision must be APPROVE or REJECT"
+                    : !seen.add(userId) ? "user appears more than once in the request"
+                    : null;
+            if (problem != null) {
+                results[i] = result(i, userId, BulkRegistrationResult.Outcome.INVALID, problem);
+            } else if (user == null) {
+                results[i] = result(i, userId, BulkRegistrationResult.Outcome.USER_NOT_FOUND, "User not found");
+            } else if (user.getStatus() != User.Status.PENDING
+                    || (approve && user.getRole() != User.Role.EMPLOYEE)) {
+                results[i] = result(i, userId, BulkRegistrationResult.Outcome.NOT_PENDING,
+                        approve ? "User is not a pending employee registration" : "User is not pending");
+            } else if (approve) {
+                results[i] = result(i, userId, BulkRegistrationResult.Outcome.APPROVED, null);
+                toApprove.put(userId, Employee.builder()
+                        .user(user)
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .address(e.getAddress())
+                        .phone(e.getPhone())
+                        .department(e.getDepartment())
+                        .position(e.getPosition())
+                        .salary(e.getSalary())
+                        .build());
+            } else {
+                results[i] = result(i, userId, BulkRegistrationResult.Outcome.REJECTED, null);
+                toReject.put(userId, user);
+            }
+        }
+
+        Instant now = Instant.now();
+        if (!toApprove.isEmpty()) {
+            userRepository.transitionStatus(toApprove.keySet(), User.Status.PENDING, User.Status.ACTIVE, now);
+            employeeRepository.insertBatch(new ArrayList<>(toApprove.values()));
+            Map<Integer, Integer> employeeIds = new HashMap<>();
+            for (EmployeeDirectoryEntry entry : employeeRepository.findDirectoryEntriesByUserIds(toApprove.keySet())) {
+                employeeIds.put(entry.userId(), entry.employeeId());
+                searchIndex.update(entry);
+            }
+            for (BulkRegistrationResult r : results) {
+                if (r.getOutcome() == BulkRegistrationResult.Outcome.APPROVED) r.setEmployeeId(employeeIds.get(r.getUserId()));
+            }
+            evictEmployeeQueries();
+        }
+        if (!toReject.isEmpty()) {
+            userRepository.transitionStatus(toReject.keySet(), User.Status.PENDING, User.Status.REJECTED, now);
+        }
+        toApprove.values().forEach(emp -> userCache.evict(emp.getUser()));
+        toReject.values().forEach(userCache::evict);
+
+        LOG.info("Bulk registration decisions entries=" + entries.size()
+                + " approved=" + toApprove.size() + " rejected=" + toReject.size());
+        return List.of(results);
+    }
+
+    static Boolean parseDecision(String decision) {
+        if (decision == null) return null;
+        return switch (decision.trim().toUpperCase(Locale.ROOT)) {
+            case "APPROVE", "APPROVED", "YES" -> Boolean.TRUE;
+            case "REJECT", "REJECTED", "NO" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private static BulkRegistrationResult result(int index, Integer userId, BulkRegistrationResult.Outcome outcome,
+                                                 String message) {
+        return new BulkRegistrationResult(index, userId, outcome, null, message);
+    }
+
+    // now, and again once committed so a lookup racing the commit cannot re-cache a stale miss
+    private void evictEmployeeQueries() {
+        Runnable eviction = () -> entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(EMPLOYEE_BY_EMAIL_REGION);
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
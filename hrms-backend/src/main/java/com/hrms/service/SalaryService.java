@@ -2,8 +2,10 @@ package com.hrms.service;
 
 import com.hrms.dao.EmployeeRepository;
 import com.hrms.dao.SalaryRepository;
+import com.hrms.dto.SalaryView;
 import com.hrms.entity.Employee;
 import com.hrms.entity.Salary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,18 +23,21 @@ public class SalaryService {
         this.employeeRepository = employeeRepository;
     }
 
-    public List<Salary> findAll() {
-        return salaryRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<SalaryView> findAll() {
+        return salaryRepository.findAllViews();
     }
 
-    public List<Salary> findByEmployeeId(Integer employeeId) {
-        return salaryRepository.findByEmployeeEmployeeId(employeeId);
+    @Transactional(readOnly = true)
+    public List<SalaryView> findByEmployeeId(Integer employeeId) {
+        return salaryRepository.findViewsByEmployeeId(employeeId);
     }
 
     /**
      * Save salary and attach to employee.
      * Throws IllegalArgumentException if employee not found.
      */
+    @Timed(value = "hrms.salary.save", description = "Manual salary posting for one employee")
     public Salary saveForEmployee(Integer employeeId, Salary salary) {
         Employee emp = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new IllegalArgumentException("Employee not found for id: " + employeeId));
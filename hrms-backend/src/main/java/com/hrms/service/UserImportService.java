@@ -0,0 +1,599 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.UserImportReport;
+import com.hrms.dto.UserSummary;
+import com.hrms.entity.Admin;
+import com.hrms.entity.HrManager;
+import com.hrms.entity.User;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk onboarding of users from a CSV or JSON file (migrations from another HR system).
+ *
+ * The upload is spooled to a temp file and imported in the background, one import at a
+ * time, so a large file never holds a request open. Records are read as a stream and
+ * handled {@link #CHUNK_SIZE} at a time: one query finds the chunk's already-registered
+ * emails, BCrypt hashing of the rest is split across hrms.users.import.hash-threads
+ * workers (default: one per core), and the users plus their admins / hr_managers rows
+ * go in as JDBC batches in one transaction per chunk. Progress is published after every
+ * chunk (GET /api/admin/users/import/{id}) and says how far the import has committed,
+ * which is where a failed import resumes.
+ *
+ * As with registration, EMPLOYEE users are created PENDING (HR approval creates their
+ * employees row); ADMIN and HR_MANAGER users are created ACTIVE with their role row.
+ *
+ * CSV header (case-insensitive, any column order, extra columns ignored): email and
+ * password, optionally firstName, lastName, role (default EMPLOYEE), accessLevel (admins),
+ * officeLocation and phone (HR managers). JSON: an array of objects with the same
+ * fields, or one object per line.
+ */
+@Service
+@Transactional
+public class UserImportService {
+
+    private static final Logger LOG = Logger.getLogger(UserImportService.class.getName());
+
+    static final int CHUNK_SIZE = 500;
+    public static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_PENDING_IMPORTS = 4;
+    static final int MAX_RETAINED_IMPORTS = 100;
+    // a chunk racing concurrent registrations is retried without the emails that got in first
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    // cached query over users (HR's pending list); JDBC inserts do not invalidate it
+    static final String USERS_BY_ROLE_STATUS_REGION = "hrms.query.users-by-role-status";
+
+    public enum Format { CSV, JSON }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int hashThreads;
+    private final ExecutorService runner;
+
+    // submission order; finished imports beyond MAX_RETAINED_IMPORTS are dropped oldest first. Guarded by itself
+    private final Map<String, Job> imports = new LinkedHashMap<>();
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             ObjectMapper objectMapper,
+                             EntityManagerFactory entityManagerFactory,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             @Value("${hrms.users.import.hash-threads:0}") int hashThreads) {
+        this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
+        this.passwordEncoder = Objects.requireNonNull(passwordEncoder, "passwordEncoder");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory, "entityManagerFactory");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (hashThreads < 0) throw new IllegalArgumentException("hrms.users.import.hash-threads must be >= 0");
+        this.hashThreads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "hrms-user-import");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Spool the file and queue its import, skipping the first resumeFrom records.
+     * format (CSV or JSON) defaults from the file name's extension.
+     * Throws IllegalArgumentException for a bad format, resumeFrom or CSV header, and
+     * IllegalStateException when MAX_PENDING_IMPORTS imports are already queued or running.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserImportReport submit(String fileName, String format, InputStream in, long resumeFrom)
+            throws IOException {
+        if (resumeFrom < 0) throw new IllegalArgumentException("resumeFrom must not be negative");
+        Format fmt = formatOf(format, fileName);
+
+        // the slot is taken (checked and registered under one lock) before the upload is spooled,
+        // so concurrent uploads cannot all pass the check
+        Path file = Files.createTempFile("hrms-user-import-", fmt == Format.CSV ? ".csv" : ".json");
+        Job job = new Job(UUID.randomUUID().toString(), fileName, fmt, file, resumeFrom, clock.instant());
+        boolean full;
+        synchronized (imports) {
+            full = pendingImports() >= MAX_PENDING_IMPORTS;
+            if (!full) {
+                imports.put(job.id, job);
+                pruneFinished();
+            }
+        }
+        if (full) {
+            Files.deleteIfExists(file);
+            throw new IllegalStateException("Too many imports in progress; try again later");
+        }
+
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            if (fmt == Format.CSV) {
+                // reject an unusable header now rather than in the background
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String header = reader.readLine();
+                    if (header == null) throw new IllegalArgumentException("file is empty");
+                    Columns.of(AttendanceImportService.splitCsv(AttendanceImportService.stripBom(header)));
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            synchronized (imports) {
+                imports.remove(job.id);
+            }
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+
+        runner.execute(() -> run(job));
+        return job.report();
+    }
+
+    public Optional<UserImportReport> report(String importId) {
+        synchronized (imports) {
+            Job job = imports.get(importId);
+            return job == null ? Optional.empty() : Optional.of(job.report());
+        }
+    }
+
+    static Format formatOf(String format, String fileName) {
+        if (format != null && !format.isBlank()) {
+            return switch (format.trim().toUpperCase(Locale.ROOT)) {
+                case "CSV" -> Format.CSV;
+                case "JSON", "JSONL", "NDJSON" -> Format.JSON;
+                default -> throw new IllegalArgumentException("format must be CSV or JSON");
+            };
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".jsonl") || name.endsWith(".ndjson")
+                ? Format.JSON : Format.CSV;
+    }
+
+    private void run(Job job) {
+        job.started();
+        long record = 0;
+        try (ExecutorService hashers = Executors.newFixedThreadPool(hashThreads);
+             RecordSource source = open(job)) {
+            Set<String> seen = new HashSet<>();
+            List<Candidate> chunk = new ArrayList<>(CHUNK_SIZE);
+            long chunkRecords = 0;
+            for (ImportRow row; (row = source.next()) != null; ) {
+                record++;
+                if (record <= job.resumeFrom) continue;
+                job.read();
+                try {
+                    Candidate c = candidate(record, row, clock.instant());
+                    if (!seen.add(c.user().getEmail())) {
+                        job.error(record, c.user().getEmail(), "email appears earlier in the file");
+                    } else {
+                        chunk.add(c);
+                    }
+                } catch (IllegalArgumentException iae) {
+                    job.error(record, row.email(), iae.getMessage());
+                }
+                if (++chunkRecords == CHUNK_SIZE) {
+                    importChunk(job, chunk, record, hashers);
+                    chunk.clear();
+                    chunkRecords = 0;
+                }
+            }
+            if (chunkRecords > 0) importChunk(job, chunk, record, hashers);
+            job.finished(null);
+        } catch (Exception ex) {
+            LOG.log(Level.WARNING, "User import " + job.id + " failed after record " + record, ex);
+            job.finished(ex instanceof IllegalArgumentException || ex instanceof IOException
+                    ? ex.getMessage() : ex.getClass().getSimpleName() + " writing records through " + record);
+        } finally {
+            try {
+                Files.deleteIfExists(job.file);
+            } catch (IOException ioe) {
+                LOG.log(Level.WARNING, "Could not delete " + job.file, ioe);
+            }
+        }
+        UserImportReport report = job.report();
+        LOG.info("User import " + job.id + " " + report.status() + " records=" + report.recordsRead()
+                + " created=" + report.created() + " alreadyRegistered=" + report.alreadyRegistered()
+                + " errors=" + report.errorCount() + " in " + report.elapsedMs() + " ms");
+    }
+
+    /**
+     * Check, hash and write one chunk, then mark everything through lastRecord as committed.
+     */
+    private void importChunk(Job job, List<Candidate> chunk, long lastRecord, ExecutorService hashers)
+            throws InterruptedException {
+        List<Candidate> fresh = withoutRegistered(chunk);
+        long alreadyRegistered = chunk.size() - fresh.size();
+
+        fresh = hash(job, fresh, hashers);
+
+        Written written = new Written(0, 0, 0);
+        for (int attempt = 1; !fresh.isEmpty(); attempt++) {
+            List<Candidate> rows = fresh;
+            try {
+                written = transactionTemplate.execute(tx -> write(rows));
+                break;
+            } catch (DataIntegrityViolationException dive) {
+                List<Candidate> remaining = withoutRegistered(rows);
+                if (remaining.size() == rows.size() || attempt == MAX_WRITE_ATTEMPTS) throw dive;
+                alreadyRegistered += rows.size() - remaining.size();
+                fresh = remaining;
+            }
+        }
+        if (written.users() > 0) evictUserQueries();
+        job.committed(lastRecord, written, alreadyRegistered);
+    }
+
+    private List<Candidate> withoutRegistered(List<Candidate> candidates) {
+        if (candidates.isEmpty()) return candidates;
+        Set<String> emails = new HashSet<>();
+        candidates.forEach(c -> emails.add(c.user().getEmail()));
+        Set<String> registered = new HashSet<>();
+        for (String email : userRepository.findExistingEmails(emails)) {
+            registered.add(email.toLowerCase(Locale.ROOT));
+        }
+        if (registered.isEmpty()) return candidates;
+        return candidates.stream().filter(c -> !registered.contains(c.user().getEmail())).toList();
+    }
+
+    /**
+     * BCrypt the chunk's passwords on the hash workers, one contiguous slice per worker.
+     * Returns the candidates whose password could be hashed; the others are reported.
+     */
+    private List<Candidate> hash(Job job, List<Candidate> candidates, ExecutorService hashers)
+            throws InterruptedException {
+        if (candidates.isEmpty()) return candidates;
+        int slice = (candidates.size() + hashThreads - 1) / hashThreads;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < candidates.size(); from += slice) {
+            List<Candidate> part = candidates.subList(from, Math.min(from + slice, candidates.size()));
+            futures.add(hashers.submit(() -> {
+                for (Candidate c : part) {
+                    try {
+                        c.user().setPasswordHash(passwordEncoder.encode(c.password()));
+                    } catch (IllegalArgumentException iae) {
+                        // e.g. longer than BCrypt's 72 bytes; passwordHash stays null
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Password hashing failed", ex.getCause());
+            }
+        }
+        List<Candidate> hashed = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            if (c.user().getPasswordHash() != null) hashed.add(c);
+            else job.error(c.record(), c.user().getEmail(), "password cannot be hashed");
+        }
+        return hashed;
+    }
+
+    private Written write(List<Candidate> rows) {
+        List<User> users = new ArrayList<>(rows.size());
+        List<String> roleEmails = new ArrayList<>();
+        for (Candidate c : rows) {
+            users.add(c.user());
+            if (c.user().getRole() != User.Role.EMPLOYEE) roleEmails.add(c.user().getEmail());
+        }
+        userRepository.insertUsers(users);
+        if (roleEmails.isEmpty()) return new Written(users.size(), 0, 0);
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (UserSummary s : userRepository.findSummariesByEmailIn(roleEmails)) {
+            ids.put(s.email().toLowerCase(Locale.ROOT), s.userId());
+        }
+        List<Admin> admins = new ArrayList<>();
+        List<HrManager> hrManagers = new ArrayList<>();
+        for (Candidate c : rows) {
+            User u = c.user();
+            if (u.getRole() == User.Role.EMPLOYEE) continue;
+            User ref = User.builder().userId(ids.get(u.getEmail())).build();
+            if (u.getRole() == User.Role.ADMIN) {
+                admins.add(Admin.builder().user(ref).firstName(u.getFirstName()).lastName(u.getLastName())
+                        .accessLevel(c.accessLevel()).build());
+            } else {
+                hrManagers.add(HrManager.builder().user(ref).firstName(u.getFirstName()).lastName(u.getLastName())
+                        .officeLocation(c.officeLocation()).phone(c.phone()).build());
+            }
+        }
+        userRepository.insertAdmins(admins);
+        userRepository.insertHrManagers(hrManagers);
+        return new Written(users.size(), admins.size(), hrManagers.size());
+    }
+
+    private void evictUserQueries() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(USERS_BY_ROLE_STATUS_REGION);
+    }
+
+    /**
+     * Validate one record. Throws IllegalArgumentException with the reason it is rejected.
+     */
+    static Candidate candidate(long record, ImportRow row, Instant createdAt) {
+        String email = trimToNull(row.email());
+        if (email == null) throw new IllegalArgumentException("email is required");
+        email = email.toLowerCase(Locale.ROOT);
+        if (email.indexOf('@') <= 0 || email.length() > 255) throw new IllegalArgumentException("email is invalid");
+        if (row.password() == null || row.password().isEmpty()) throw new IllegalArgumentException("password is required");
+
+        User.Role role = parseRole(row.role());
+        Admin.AccessLevel accessLevel = null;
+        if (role == User.Role.ADMIN) {
+            String level = trimToNull(row.accessLevel());
+            try {
+                accessLevel = level == null ? Admin.AccessLevel.system_admin
+                        : Admin.AccessLevel.valueOf(level.toLowerCase(Locale.ROOT));
+            } catch (IllegalArgumentException iae) {
+                throw new IllegalArgumentException("accessLevel must be super_admin or system_admin");
+            }
+        }
+        User user = User.builder()
+                .createdAt(createdAt)
+                .email(email)
+                .firstName(limit(trimToNull(row.firstName()), 50, "firstName"))
+                .lastName(limit(trimToNull(row.lastName()), 50, "lastName"))
+                .role(role)
+                .status(role == User.Role.EMPLOYEE ? User.Status.PENDING : User.Status.ACTIVE)
+                .build();
+        String officeLocation = role == User.Role.HR_MANAGER ? limit(trimToNull(row.officeLocation()), 100, "officeLocation") : null;
+        String phone = role == User.Role.HR_MANAGER ? limit(trimToNull(row.phone()), 20, "phone") : null;
+        return new Candidate(record, user, row.password(), accessLevel, officeLocation, phone);
+    }
+
+    static User.Role parseRole(String raw) {
+        String role = trimToNull(raw);
+        if (role == null) return User.Role.EMPLOYEE;
+        return switch (role.toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_')) {
+            case "EMPLOYEE" -> User.Role.EMPLOYEE;
+            case "ADMIN" -> User.Role.ADMIN;
+            case "HR", "HR_MANAGER" -> User.Role.HR_MANAGER;
+            default -> throw new IllegalArgumentException("role must be EMPLOYEE, ADMIN or HR_MANAGER");
+        };
+    }
+
+    private static String limit(String value, int max, String field) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " is longer than " + max + " characters");
+        }
+        return value;
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null) return null;
+        String t = s.trim();
+        return t.isEmpty() ? null : t;
+    }
+
+    private RecordSource open(Job job) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(job.file, StandardCharsets.UTF_8);
+        try {
+            if (job.format == Format.JSON) {
+                MappingIterator<ImportRow> rows = objectMapper.readerFor(ImportRow.class).readValues(reader);
+                return new RecordSource() {
+                    @Override
+                    public ImportRow next() throws IOException {
+                        return rows.hasNextValue() ? rows.nextValue() : null;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        rows.close();
+                    }
+                };
+            }
+            Columns columns = Columns.of(AttendanceImportService.splitCsv(
+                    AttendanceImportService.stripBom(Objects.requireNonNullElse(reader.readLine(), ""))));
+            return new RecordSource() {
+                @Override
+                public ImportRow next() throws IOException {
+                    for (String line; (line = reader.readLine()) != null; ) {
+                        if (!line.isBlank()) return columns.row(AttendanceImportService.splitCsv(line));
+                    }
+                    return null;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    reader.close();
+                }
+            };
+        } catch (IOException | RuntimeException ex) {
+            reader.close();
+            throw ex;
+        }
+    }
+
+    private int pendingImports() {
+        int pending = 0;
+        for (Job job : imports.values()) {
+            if (!job.isFinished()) pending++;
+        }
+        return pending;
+    }
+
+    private void pruneFinished() {
+        Iterator<Job> it = imports.values().iterator();
+        while (imports.size() > MAX_RETAINED_IMPORTS && it.hasNext()) {
+            if (it.next().isFinished()) it.remove();
+        }
+    }
+
+    // a running import stops at its next chunk; committed chunks stay and it can be resumed
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * One record as read from the file, before validation.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ImportRow(String email, String password, String firstName, String lastName, String role,
+                     String accessLevel, String officeLocation, String phone) {
+    }
+
+    record Candidate(long record, User user, String password, Admin.AccessLevel accessLevel,
+                     String officeLocation, String phone) {
+    }
+
+    private record Written(long users, long admins, long hrManagers) {
+    }
+
+    private interface RecordSource extends Closeable {
+        // null at the end of the file
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Column positions from the CSV header row.
+     */
+    private record Columns(int email, int password, int firstName, int lastName, int role,
+                           int accessLevel, int officeLocation, int phone) {
+
+        static Columns of(List<String> header) {
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                index.putIfAbsent(header.get(i).toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            Columns c = new Columns(index.getOrDefault("email", -1), index.getOrDefault("password", -1),
+                    index.getOrDefault("firstname", -1), index.getOrDefault("lastname", -1),
+                    index.getOrDefault("role", -1), index.getOrDefault("accesslevel", -1),
+                    index.getOrDefault("officelocation", -1), index.getOrDefault("phone", -1));
+            if (c.email < 0 || c.password < 0) {
+                throw new IllegalArgumentException("header must have email and password columns");
+            }
+            return c;
+        }
+
+        ImportRow row(List<String> fields) {
+            return new ImportRow(field(fields, email), field(fields, password), field(fields, firstName),
+                    field(fields, lastName), field(fields, role), field(fields, accessLevel),
+                    field(fields, officeLocation), field(fields, phone));
+        }
+
+        private static String field(List<String> fields, int i) {
+            if (i < 0 || i >= fields.size() || fields.get(i).isEmpty()) return null;
+            return fields.get(i);
+        }
+    }
+
+    /**
+     * One import's progress. Written by the import thread, read by report requests.
+     */
+    private static final class Job {
+        final String id;
+        final String fileName;
+        final Format format;
+        final Path file;
+        final long resumeFrom;
+        final Instant submittedAt;
+        private final List<UserImportReport.RowError> errors = new ArrayList<>();
+        private UserImportReport.Status status = UserImportReport.Status.QUEUED;
+        private long startedNanos;
+        private long finishedNanos;
+        private long recordsRead;
+        private long created;
+        private long admins;
+        private long hrManagers;
+        private long alreadyRegistered;
+        private long errorCount;
+        private long committedThrough;
+        private String failure;
+
+        Job(String id, String fileName, Format format, Path file, long resumeFrom, Instant submittedAt) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.file = file;
+            this.resumeFrom = resumeFrom;
+            this.submittedAt = submittedAt;
+            this.committedThrough = resumeFrom;
+        }
+
+        synchronized void started() {
+            status = UserImportReport.Status.RUNNING;
+            startedNanos = System.nanoTime();
+        }
+
+        synchronized void read() {
+            recordsRead++;
+        }
+
+        synchronized void error(long record, String email, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new UserImportReport.RowError(record, email, message));
+        }
+
+        synchronized void committed(long lastRecord, Written written, long registered) {
+            committedThrough = lastRecord;
+            created += written.users();
+            admins += written.admins();
+            hrManagers += written.hrManagers();
+            alreadyRegistered += registered;
+        }
+
+        synchronized void finished(String failure) {
+            this.failure = failure;
+            status = failure == null ? UserImportReport.Status.COMPLETED : UserImportReport.Status.FAILED;
+            finishedNanos = System.nanoTime();
+        }
+
+        synchronized boolean isFinished() {
+            return status == UserImportReport.Status.COMPLETED || status == UserImportReport.Status.FAILED;
+        }
+
+        synchronized UserImportReport report() {
+            long elapsedMs = status == UserImportReport.Status.QUEUED ? 0
+                    : ((isFinished() ? finishedNanos : System.nanoTime()) - startedNanos) / 1_000_000;
+            return new UserImportReport(id, fileName, format.name(), status, resumeFrom, recordsRead, created,
+                    admins, hrManagers, alreadyRegistered, errorCount, committedThrough, submittedAt, elapsedMs,
+                    failure, List.copyOf(errors));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.hrms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hrms.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicted read-through cache for user lookups by id and by email.
+ *
+ * Entries are detached snapshots: every read hands out a fresh copy, so callers may
+ * mutate what they get (or pass it to save) without corrupting the cached value.
+ * Misses (unknown id/email) are not cached.
+ */
+@Component
+public class UserLookupCache implements MeterBinder {
+
+    private final Cache<Integer, User> byId;
+    private final Cache<String, User> byEmail;
+
+    public UserLookupCache(@Value("${hrms.cache.users.maximum-size:10000}") long maximumSize,
+                           @Value("${hrms.cache.users.ttl:10m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.byEmail = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+    }
+
+    public Optional<User> getById(Integer id, Function<Integer, Optional<User>> loader) {
+        if (id == null) return Optional.empty();
+        User cached = byId.getIfPresent(id);
+        if (cached != null) return Optional.of(copyOf(cached));
+        Optional<User> loaded = loader.apply(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * The email must already be normalized (trimmed, lower-cased) by the caller.
+     */
+    public Optional<User> getByEmail(String email, Function<String, Optional<User>> loader) {
+        if (email == null) return Optional.empty();
+        User cached = byEmail.getIfPresent(email);
+        if (cached != null) return Optional.of(copyOf(cached));
+        Optional<User> loaded = loader.apply(email);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    private void put(User user) {
+        if (user.getUserId() == null) return;
+        User snapshot = copyOf(user);
+        byId.put(user.getUserId(), snapshot);
+        if (user.getEmail() != null) byEmail.put(user.getEmail().toLowerCase(Locale.ROOT), snapshot);
+    }
+
+    /**
+     * Drop every entry for this user id, whatever email it was cached under
+     * (the email may have changed since it was cached).
+     * Evictions run immediately and again after the surrounding transaction commits,
+     * so a concurrent miss that reads the pre-commit row cannot leave it cached.
+     */
+    public void evictById(Integer id) {
+        if (id == null) return;
+        runNowAndAfterCommit(() -> {
+            byId.invalidate(id);
+            byEmail.asMap().values().removeIf(u -> id.equals(u.getUserId()));
+        });
+    }
+
+    public void evictByEmail(String email) {
+        if (email == null) return;
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        runNowAndAfterCommit(() -> {
+            User removed = byEmail.asMap().remove(key);
+            if (removed != null) byId.invalidate(removed.getUserId());
+        });
+    }
+
+    public void evict(User user) {
+        if (user == null) return;
+        evictById(user.getUserId());
+        evictByEmail(user.getEmail());
+    }
+
+    private static void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    // cache.gets / cache.puts / cache.evictions / cache.size, tagged cache=users.byId|users.byEmail
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(registry, byEmail, "users.byEmail");
+    }
+
+    /**
+     * Hit/miss counters per cache, for the admin cache endpoint.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("usersById", describe(byId));
+        out.put("usersByEmail", describe(byEmail));
+        return out;
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+
+    private static User copyOf(User u) {
+        return User.builder()
+                .userId(u.getUserId())
+                .createdAt(u.getCreatedAt())
+                .email(u.getEmail())
+                .firstName(u.getFirstName())
+                .lastName(u.getLastName())
+                .passwordHash(u.getPasswordHash())
+                .role(u.getRole())
+                .status(u.getStatus())
+                .version(u.getVersion())
+                .updatedAt(u.getUpdatedAt())
+                .build();
+    }
+}
@@ -7,12 +7,15 @@ import com.hrms.dao.UserRepository;
 import com.hrms.entity.Admin;
 import com.hrms.entity.HrManager;
 import com.hrms.entity.User;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,16 +34,20 @@ public class UserService {
     private final AdminRepository adminRepository;
     private final HrManagerRepository hrManagerRepository;
 
+    private final UserLookupCache userCache;
+
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        EmployeeRepository employeeRepository,
                        AdminRepository adminRepository,
-                       HrManagerRepository hrManagerRepository) {
+                       HrManagerRepository hrManagerRepository,
+                       UserLookupCache userCache) {
         this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
         this.passwordEncoder = Objects.requireNonNull(passwordEncoder, "passwordEncoder");
         this.employeeRepository = Objects.requireNonNull(employeeRepository, "employeeRepository");
         this.adminRepository = Objects.requireNonNull(adminRepository, "adminRepository");
         this.hrManagerRepository = Objects.requireNonNull(hrManagerRepository, "hrManagerRepository");
+        this.userCache = Objects.requireNonNull(userCache, "userCache");
     }
 
     /**
@@ -61,13 +68,14 @@ public class UserService {
             throw new IllegalArgumentException("Password is required");
         }
 
-        email = email.trim().toLowerCase();
+        email = email.trim().toLowerCase(Locale.ROOT);
         user.setEmail(email);
 
-        // prevent duplicates
+        // prevent duplicates (straight to the database: the cache does not hold misses)
         userRepository.findByEmail(email).ifPresent(u -> {
             throw new IllegalArgumentException("Email already registered");
         });
+        userCache.evictByEmail(email);
 
         // hash password
         String hashed = passwordEncoder.encode(rawPassword);
@@ -116,28 +124,37 @@ public class UserService {
         }
     }
 
+    // Lookups below go through the user cache. SUPPORTS keeps a cache hit from opening
+    // a transaction (and borrowing a pooled connection); a miss runs in the repository's own.
+
+    @Timed(value = "hrms.auth.authenticate", description = "Login: user lookup plus BCrypt check")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> authenticate(String email, String rawPassword) {
         if (email == null || rawPassword == null) return Optional.empty();
-        email = email.trim().toLowerCase();
-        return userRepository.findByEmail(email)
+        return findByEmail(email)
                 .filter(u -> passwordEncoder.matches(rawPassword, u.getPasswordHash()));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> findById(Integer id) {
-        return userRepository.findById(id);
+        return userCache.getById(id, userRepository::findById);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<User> findByEmail(String email) {
         if (email == null) return Optional.empty();
-        return userRepository.findByEmail(email.trim().toLowerCase());
+        return userCache.getByEmail(email.trim().toLowerCase(Locale.ROOT), userRepository::findByEmail);
     }
 
     public User update(User user) {
         if (user == null) throw new IllegalArgumentException("User cannot be null");
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.evict(saved);
+        return saved;
     }
 
     public void deleteById(Integer id) {
         userRepository.deleteById(id);
+        userCache.evictById(id);
     }
 }
@@ -0,0 +1,120 @@
+package com.hrms.service;
+
+import com.hrms.dao.HolidayRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The single "is this a working day" rule: not a weekend day (hrms.calendar.weekend)
+ * and not a public holiday.
+ *
+ * Each year is built once, from one holiday query, into a bitset of working days
+ * plus running counts, so {@link #isWorkingDay} is a bit test and
+ * {@link #workingDaysBetween} is two array reads per year spanned. Years are built
+ * on first use and all of them are dropped when holidays change ({@link #invalidate}).
+ */
+@Component
+public class WorkingDayCalendar {
+
+    private final HolidayRepository holidayRepository;
+    private final Set<DayOfWeek> weekend;
+
+    // replaced wholesale on invalidation, so a build racing an invalidation lands in the discarded map
+    private volatile Map<Integer, YearDays> years = new ConcurrentHashMap<>();
+
+    public WorkingDayCalendar(HolidayRepository holidayRepository,
+                              @Value("${hrms.calendar.weekend:SATURDAY,SUNDAY}") Set<DayOfWeek> weekend) {
+        this.holidayRepository = Objects.requireNonNull(holidayRepository, "holidayRepository");
+        this.weekend = weekend.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekend);
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return year(date.getYear()).working.get(date.getDayOfYear() - 1);
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return weekend.contains(date.getDayOfWeek());
+    }
+
+    /**
+     * Working days in [from, to], both inclusive; 0 if to is before from.
+     */
+    public int workingDaysBetween(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from");
+        Objects.requireNonNull(to, "to");
+        if (to.isBefore(from)) return 0;
+        if (from.getYear() == to.getYear()) {
+            return year(from.getYear()).between(from.getDayOfYear(), to.getDayOfYear());
+        }
+        int days = year(from.getYear()).between(from.getDayOfYear(), Year.of(from.getYear()).length());
+        for (int y = from.getYear() + 1; y < to.getYear(); y++) days += year(y).total();
+        return days + year(to.getYear()).between(1, to.getDayOfYear());
+    }
+
+    /**
+     * Drop every built year. Inside a transaction this happens after commit, so the
+     * rebuild sees the new holidays.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    years = new ConcurrentHashMap<>();
+                }
+            });
+        } else {
+            years = new ConcurrentHashMap<>();
+        }
+    }
+
+    private YearDays year(int year) {
+        Map<Integer, YearDays> current = years;
+        YearDays days = current.get(year);
+        return days != null ? days : current.computeIfAbsent(year, this::build);
+    }
+
+    private YearDays build(int year) {
+        LocalDate first = LocalDate.ofYearDay(year, 1);
+        int length = first.lengthOfYear();
+        BitSet working = new BitSet(length);
+        for (int d = 0; d < length; d++) {
+            if (!weekend.contains(first.plusDays(d).getDayOfWeek())) working.set(d);
+        }
+        for (LocalDate holiday : holidayRepository.findPublicHolidayDates(first, first.plusDays(length - 1))) {
+            working.clear(holiday.getDayOfYear() - 1);
+        }
+        int[] cumulative = new int[length + 1];
+        for (int d = 0; d < length; d++) {
+            cumulative[d + 1] = cumulative[d] + (working.get(d) ? 1 : 0);
+        }
+        return new YearDays(working, cumulative);
+    }
+
+    /**
+     * working: bit (dayOfYear - 1) set for working days.
+     * cumulative[n]: working days among the first n days of the year.
+     */
+    private record YearDays(BitSet working, int[] cumulative) {
+
+        int between(int fromDayOfYear, int toDayOfYear) {
+            return cumulative[toDayOfYear] - cumulative[fromDayOfYear - 1];
+        }
+
+        int total() {
+            return cumulative[cumulative.length - 1];
+        }
+    }
+}
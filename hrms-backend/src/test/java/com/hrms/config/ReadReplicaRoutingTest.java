@@ -0,0 +1,101 @@
+package com.hrms.config;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Salary;
+import com.hrms.entity.User;
+import com.hrms.service.SalaryService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replica routing against two embedded databases: the replica stand-in gets the primary's
+ * schema but not its rows, so every read shows which database answered it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hrms_routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "hrms.datasource.replica.enabled=true",
+        "hrms.datasource.replica.jdbc-url=jdbc:h2:mem:hrms_routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "hrms.datasource.replica.username=sa",
+        "hrms.datasource.limiter.enabled=true"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SalaryService salaryService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeAll
+    void copySchemaToReplica() {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        for (String statement : new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("CREATE USER")) replicaJdbc.execute(statement);
+        }
+    }
+
+    @Test
+    void limiterWrapsEachPool() {
+        assertThat(primary).isInstanceOf(ConnectionLimitingDataSource.class);
+        assertThat(replica).isInstanceOf(ConnectionLimitingDataSource.class);
+    }
+
+    @Test
+    void lagTolerantEndpointReadsTheReplicaAndWritesStayOnThePrimary() throws Exception {
+        User user = userRepository.save(User.builder().email("rita@example.com").passwordHash("x")
+                .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+        Employee emp = employeeRepository.save(Employee.builder().user(user).firstName("Rita").lastName("Rao").build());
+        // written inside a stale-reads scope: still a read-write transaction, so the primary
+        ReadWriteRoutingDataSource.withStaleReads(() -> salaryService.saveForEmployee(emp.getEmployeeId(),
+                Salary.builder().amount(1000.0).paymentDate(LocalDate.of(2025, 9, 30)).build()));
+        assertThat(new JdbcTemplate(primary).queryForObject("select count(*) from salaries", Integer.class)).isEqualTo(1);
+        assertThat(new JdbcTemplate(replica).queryForObject("select count(*) from salaries", Integer.class)).isZero();
+
+        // @ReplicaReads endpoint: the replica has not caught up
+        mockMvc.perform(get("/api/salaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        // the same read outside such an endpoint goes to the primary
+        assertThat(salaryService.findAll()).hasSize(1);
+        assertThat(ReadWriteRoutingDataSource.withStaleReads(salaryService::findAll)).isEmpty();
+
+        // endpoints without the annotation read the primary
+        mockMvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
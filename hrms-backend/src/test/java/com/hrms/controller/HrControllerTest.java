@@ -0,0 +1,128 @@
+package com.hrms.controller;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Single approve/reject decisions: a decision on a user that is no longer pending,
+ * including one that lost a race, answers 409 and changes nothing.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_hr;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class HrControllerTest {
+
+    // one instance per test method, one database for the class
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired private MockMvc mvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    // the JCache regions are shared by every test context in the JVM (one CacheManager per
+    // ehcache.xml), so users cached from another test's database can carry these ids
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void approveCreatesTheEmployeeOnce() throws Exception {
+        User user = pending();
+
+        mvc.perform(post("/api/admin/users/{id}/approve", user.getUserId())
+                        .contentType("application/json").content("{\"department\":\"ENG\",\"salary\":30000}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.department").value("ENG"));
+        mvc.perform(post("/api/admin/users/{id}/approve", user.getUserId()))
+                .andExpect(status().isConflict());
+        mvc.perform(post("/api/admin/users/{id}/reject", user.getUserId()))
+                .andExpect(status().isConflict());
+
+        assertThat(userRepository.findById(user.getUserId()).orElseThrow().getStatus()).isEqualTo(User.Status.ACTIVE);
+        assertThat(employeeRepository.findByUserEmail(user.getEmail())).isPresent();
+    }
+
+    @Test
+    void rejectAnswersTheUserWithoutAnEmployee() throws Exception {
+        User user = pending();
+
+        mvc.perform(post("/api/admin/users/{id}/reject", user.getUserId())
+                        .contentType("application/json").content("{\"reason\":\"duplicate\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+        mvc.perform(post("/api/admin/users/{id}/approve", user.getUserId()))
+                .andExpect(status().isConflict());
+
+        assertThat(employeeRepository.findByUserEmail(user.getEmail())).isEmpty();
+    }
+
+    @Test
+    void unknownUserIsNotFound() throws Exception {
+        mvc.perform(post("/api/admin/users/{id}/approve", 999_999)).andExpect(status().isNotFound());
+        mvc.perform(post("/api/admin/users/{id}/reject", 999_999)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void racingDecisionsHaveOneWinnerAndA409() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            User user = pending();
+            List<Integer> statuses = race(user.getUserId());
+
+            User.Status status = userRepository.findById(user.getUserId()).orElseThrow().getStatus();
+            assertThat(status).isIn(User.Status.ACTIVE, User.Status.REJECTED);
+            assertThat(statuses).containsExactlyInAnyOrder(status == User.Status.ACTIVE ? 201 : 200, 409);
+            assertThat(employeeRepository.findByUserEmail(user.getEmail()).isPresent())
+                    .isEqualTo(status == User.Status.ACTIVE);
+        }
+    }
+
+    private List<Integer> race(Integer userId) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> decisions = new ArrayList<>();
+            for (String decision : List.of("approve", "reject")) {
+                decisions.add(pool.submit(() -> {
+                    go.await();
+                    return mvc.perform(post("/api/admin/users/{id}/" + decision, userId))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            go.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> decision : decisions) statuses.add(decision.get());
+            return statuses;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private User pending() {
+        return userRepository.save(User.builder()
+                .email("hr" + USERS.incrementAndGet() + "@example.com").firstName("First").lastName("Last")
+                .passwordHash("hash").role(User.Role.EMPLOYEE).status(User.Status.PENDING).build());
+    }
+}
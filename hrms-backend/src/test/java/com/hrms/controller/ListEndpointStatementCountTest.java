@@ -0,0 +1,169 @@
+package com.hrms.controller;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.SalaryRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Leave;
+import com.hrms.entity.Salary;
+import com.hrms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints must issue a constant number of SQL statements, however many
+ * distinct users the rows belong to (no per-row user/employee selects), and a
+ * conditional GET of an unchanged list must not load it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListEndpointStatementCountTest {
+
+    private static final int USERS = 8;
+
+    @Autowired private MockMvc mvc;
+    @Autowired private EntityManagerFactory emf;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private AttendanceRepository attendanceRepository;
+    @Autowired private LeaveRepository leaveRepository;
+    @Autowired private SalaryRepository salaryRepository;
+
+    private Integer firstUserId;
+
+    @BeforeAll
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            User u = userRepository.save(User.builder()
+                    .email("fetch" + i + "@example.com")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .passwordHash("hash")
+                    .role(User.Role.EMPLOYEE)
+                    .status(User.Status.ACTIVE)
+                    .build());
+            if (firstUserId == null) firstUserId = u.getUserId();
+
+            Employee e = employeeRepository.save(Employee.builder()
+                    .user(u).firstName("First" + i).lastName("Last" + i).department("ENG").build());
+
+            for (int d = 1; d <= 3; d++) {
+                attendanceRepository.save(Attendance.builder()
+                        .user(u).date(LocalDate.of(2025, 1, d)).status(Attendance.Status.FULL_DAY).build());
+            }
+            leaveRepository.save(Leave.builder()
+                    .user(u).startDate(LocalDate.of(2025, 2, 3)).endDate(LocalDate.of(2025, 2, 3))
+                    .status(Leave.Status.PENDING).reason("r").build());
+            salaryRepository.save(Salary.builder()
+                    .employee(e).amount(1000.0).paymentDate(LocalDate.of(2025, 1, 31)).build());
+        }
+    }
+
+    private Statistics statistics() {
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+
+    @Test
+    void attendanceStreamIsOneStatement() throws Exception {
+        Statistics stats = statistics();
+        MvcResult started = mvc.perform(get("/api/attendance/all"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS * 3))
+                .andExpect(jsonPath("$[0].user.email").exists())
+                .andExpect(jsonPath("$[0].user.passwordHash").doesNotExist());
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void attendancePageIsOneStatement() throws Exception {
+        Statistics stats = statistics();
+        mvc.perform(get("/api/attendance/page").param("department", "ENG").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(jsonPath("$.hasMore").value(true));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void attendanceForUserIsTwoStatements() throws Exception {
+        Statistics stats = statistics();
+        mvc.perform(get("/api/attendance").param("userId", firstUserId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].user.email").value("fetch0@example.com"));
+        // user existence check + projection
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void leaveListIsTwoStatements() throws Exception {
+        Statistics stats = statistics();
+        mvc.perform(get("/api/leave"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS))
+                .andExpect(jsonPath("$[0].user.email").exists());
+        // ETag aggregates + projection
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void salaryListIsOneStatement() throws Exception {
+        Statistics stats = statistics();
+        mvc.perform(get("/api/salaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS))
+                .andExpect(jsonPath("$[0].employeeName").value("First0 Last0"));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void employeeListIsTwoStatements() throws Exception {
+        Statistics stats = statistics();
+        mvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USERS))
+                .andExpect(jsonPath("$[0].user.email").exists());
+        // ETag aggregates + list
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void unchangedListIsOneStatement() throws Exception {
+        String eTag = mvc.perform(get("/api/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(eTag).isNotBlank();
+
+        Statistics stats = statistics();
+        mvc.perform(get("/api/employees").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
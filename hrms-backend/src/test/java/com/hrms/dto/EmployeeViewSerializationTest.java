@@ -0,0 +1,71 @@
+package com.hrms.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hrms.entity.Employee;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/employees used to serialize entities; it now serializes EmployeeView records.
+ * Same rows both ways, on the application's ObjectMapper: the records must keep the JSON
+ * clients read (only the nested user shrinks) and be smaller. Serialization time is
+ * compared in the JMH JsonSerializationBenchmark.
+ */
+@JsonTest
+class EmployeeViewSerializationTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    void viewsKeepTheEntityJsonWithASlimUser() throws Exception {
+        List<Employee> entities = new ArrayList<>(ROWS);
+        List<EmployeeView> views = new ArrayList<>(ROWS);
+        Instant now = Instant.parse("2025-10-01T09:30:00Z");
+        for (int i = 0; i < ROWS; i++) {
+            User u = User.builder()
+                    .userId(i + 1).createdAt(now).email("user" + i + "@example.com")
+                    .firstName("First" + i).lastName("Last" + i)
+                    .passwordHash("$2a$10$abcdefghijklmnopqrstuv" + i)
+                    .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).version(2).updatedAt(now)
+                    .build();
+            Employee e = Employee.builder()
+                    .employeeId(i + 1).user(u).firstName("First" + i).lastName("Last" + i)
+                    .address(i + " Main Street").department("Engineering").position("Developer")
+                    .phone("555-01" + i).salary(52_000.5 + i).gender("other")
+                    .hireDate(Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(i % 1_000))).leaves(i % 12)
+                    .version(3).updatedAt(now)
+                    .build();
+            entities.add(e);
+            views.add(new EmployeeView(e.getEmployeeId(), e.getFirstName(), e.getLastName(), e.getAddress(),
+                    e.getAddress2(), e.getDepartment(), e.getPosition(), e.getPhone(), e.getSalary(), e.getGender(),
+                    e.getHireDate(), e.getLeaves(), e.getVersion(), e.getUpdatedAt(),
+                    u.getUserId(), u.getEmail(), u.getFirstName(), u.getLastName()));
+        }
+
+        byte[] entityJson = objectMapper.writeValueAsBytes(entities);
+        byte[] viewJson = objectMapper.writeValueAsBytes(views);
+
+        JsonNode expected = objectMapper.readTree(entityJson);
+        for (JsonNode row : expected) {
+            ((ObjectNode) row.get("user")).retain("userId", "email", "firstName", "lastName");
+        }
+        assertThat(objectMapper.readTree(viewJson)).isEqualTo(expected);
+        assertThat(new String(viewJson, StandardCharsets.UTF_8)).doesNotContain("passwordHash");
+        assertThat(viewJson.length).isLessThan(entityJson.length);
+    }
+}
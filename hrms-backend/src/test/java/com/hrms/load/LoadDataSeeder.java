@@ -0,0 +1,127 @@
+package com.hrms.load;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Leave;
+import com.hrms.entity.User;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic company through the application's own repositories:
+ * active employees across departments, a full month of attendance history
+ * (the month payroll day pays), one approved past leave each and a pending
+ * leave for every other employee (the HR approval storm's backlog).
+ */
+class LoadDataSeeder {
+
+    static final String PASSWORD = "load-test-password";
+
+    private static final String[] DEPARTMENTS = {"ENG", "OPS", "SALES", "HR", "FINANCE", "SUPPORT"};
+    private static final String[] POSITIONS = {"Associate", "Engineer", "Senior Engineer", "Lead", "Manager"};
+
+    private final ApplicationContext context;
+    private final Random random = new Random(42);
+
+    LoadDataSeeder(ApplicationContext context) {
+        this.context = context;
+    }
+
+    record Seeded(List<String> emails,
+                  List<Integer> employeeIds,
+                  List<Integer> pendingLeaveIds,
+                  YearMonth payrollMonth) {
+    }
+
+    Seeded seed(int employees, LocalDate today) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        AttendanceRepository attendanceRepository = context.getBean(AttendanceRepository.class);
+        LeaveRepository leaveRepository = context.getBean(LeaveRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        // one hash shared by every user: hashing thousands of passwords would dominate seeding
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        YearMonth payrollMonth = YearMonth.from(today).minusMonths(1);
+
+        List<User> users = new ArrayList<>(employees);
+        List<Employee> staff = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            User u = User.builder()
+                    .email("load" + i + "@example.com")
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .passwordHash(hash)
+                    .role(User.Role.EMPLOYEE)
+                    .status(User.Status.ACTIVE)
+                    .createdAt(Instant.parse("2024-01-01T09:00:00Z"))
+                    .build();
+            users.add(u);
+            staff.add(Employee.builder()
+                    .user(u)
+                    .firstName(u.getFirstName())
+                    .lastName(u.getLastName())
+                    .department(DEPARTMENTS[i % DEPARTMENTS.length])
+                    .position(POSITIONS[random.nextInt(POSITIONS.length)])
+                    .salary(30_000.0 + random.nextInt(70) * 1_000)
+                    .leaves(0)
+                    .build());
+        }
+        tx.executeWithoutResult(s -> {
+            userRepository.saveAll(users);
+            employeeRepository.saveAll(staff);
+        });
+
+        // last month's attendance: ~85% full days, ~10% half days, the rest absent
+        List<Attendance> history = new ArrayList<>();
+        for (LocalDate d = payrollMonth.atDay(1); !d.isAfter(payrollMonth.atEndOfMonth()); d = d.plusDays(1)) {
+            if (d.getDayOfWeek() == DayOfWeek.SATURDAY || d.getDayOfWeek() == DayOfWeek.SUNDAY) continue;
+            for (User u : users) {
+                int roll = random.nextInt(100);
+                Attendance.Status status = roll < 85 ? Attendance.Status.FULL_DAY
+                        : roll < 95 ? Attendance.Status.HALF_DAY : Attendance.Status.ABSENT;
+                history.add(Attendance.builder()
+                        .user(u)
+                        .date(d)
+                        .status(status)
+                        .checkIn(status == Attendance.Status.ABSENT ? null : LocalTime.of(9, random.nextInt(60)))
+                        .build());
+            }
+        }
+        tx.executeWithoutResult(s -> attendanceRepository.insertIgnoringDuplicates(history));
+
+        List<Leave> leaves = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            LocalDate past = payrollMonth.atDay(1 + random.nextInt(20));
+            leaves.add(Leave.builder().user(users.get(i)).startDate(past).endDate(past)
+                    .status(Leave.Status.APPROVED).reason("Personal").build());
+            if (i % 2 == 0) {
+                LocalDate upcoming = today.plusDays(7 + random.nextInt(14));
+                leaves.add(Leave.builder().user(users.get(i)).startDate(upcoming).endDate(upcoming)
+                        .status(Leave.Status.PENDING).reason("Vacation").build());
+            }
+        }
+        tx.executeWithoutResult(s -> leaveRepository.saveAll(leaves));
+
+        return new Seeded(
+                users.stream().map(User::getEmail).toList(),
+                staff.stream().map(Employee::getEmployeeId).toList(),
+                leaves.stream().filter(l -> l.getStatus() == Leave.Status.PENDING).map(Leave::getLeaveId).toList(),
+                payrollMonth);
+    }
+}
@@ -0,0 +1,170 @@
+package com.hrms.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal closed-loop HTTP driver: a fixed number of client threads work through
+ * a list of calls as fast as the server answers, and every response time is
+ * recorded under the call's endpoint label (e.g. "PUT /api/leave/{id}").
+ */
+class LoadDriver {
+
+    private final String baseUrl;
+    private final HttpClient client;
+
+    LoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * One HTTP request; a session is a sequence of calls one client makes in order
+     * (e.g. log in, then check in).
+     */
+    record Call(String endpoint, String method, String path, String json) {
+
+        static Call get(String endpoint, String path) {
+            return new Call(endpoint, "GET", path, null);
+        }
+
+        static Call post(String endpoint, String path, String json) {
+            return new Call(endpoint, "POST", path, json);
+        }
+
+        static Call put(String endpoint, String path, String json) {
+            return new Call(endpoint, "PUT", path, json);
+        }
+    }
+
+    ScenarioResult run(String scenario, int concurrency, List<List<Call>> sessions) throws Exception {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(concurrency)) {
+            List<Future<?>> futures = new ArrayList<>(sessions.size());
+            for (List<Call> session : sessions) {
+                futures.add(clients.submit(() -> {
+                    for (Call call : session) {
+                        execute(call, stats.computeIfAbsent(call.endpoint(), k -> new EndpointStats()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        }
+        long elapsedNanos = System.nanoTime() - started;
+
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> endpoints.put(e.getKey(), e.getValue().report(elapsedNanos)));
+        return new ScenarioResult(scenario, concurrency, elapsedNanos / 1_000_000, endpoints);
+    }
+
+    private void execute(Call call, EndpointStats stats) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                .timeout(Duration.ofSeconds(60));
+        if (call.json() != null) {
+            request.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.json()));
+        } else {
+            request.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            status = -1;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.record(System.nanoTime() - start, status);
+    }
+
+    /**
+     * Latency samples for one endpoint. Percentiles are exact (samples are sorted
+     * at report time), which is affordable for the request counts a run makes.
+     */
+    static final class EndpointStats {
+        private long[] samples = new long[1024];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+        private final Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+
+        synchronized void add(long nanos) {
+            if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+            samples[count++] = nanos;
+        }
+
+        void record(long nanos, int status) {
+            add(nanos);
+            statuses.computeIfAbsent(status, k -> new AtomicLong()).incrementAndGet();
+            if (status < 200 || status >= 300) errors.incrementAndGet();
+        }
+
+        synchronized EndpointReport report(long elapsedNanos) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statuses.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                    .forEach(e -> byStatus.put(String.valueOf(e.getKey()), e.getValue().get()));
+            return new EndpointReport(count, errors.get(),
+                    count / (elapsedNanos / 1e9),
+                    millis(percentile(sorted, 0.50)),
+                    millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    byStatus);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) return 0;
+            int rank = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 10_000.0) / 100.0;
+        }
+    }
+
+    record EndpointReport(long requests, long errors, double throughputPerSecond,
+                          double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                          Map<String, Long> statusCounts) {
+    }
+
+    record ScenarioResult(String scenario, int concurrency, long elapsedMs,
+                          Map<String, EndpointReport> endpoints) {
+
+        String format() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%n== %s (%d clients, %d ms)%n", scenario, concurrency, elapsedMs));
+            sb.append(String.format("%-32s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+            endpoints.forEach((name, r) -> sb.append(String.format("%-32s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, r.requests(), r.errors(), r.throughputPerSecond(),
+                    r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs())));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.hrms.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hrms.HrmsBackendApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load suite: boots the whole application on a random port against
+ * H2 in MySQL mode (profile "loadtest"), seeds a synthetic company and replays
+ * three workloads over HTTP, reporting throughput and latency percentiles per endpoint.
+ *
+ * Each execution mode gets a fresh application and dataset: "platform" (Tomcat's
+ * fixed thread pool) and "virtual" (profile "virtual-threads": virtual threads plus
+ * the JDBC connection limiter). With both, a side-by-side comparison is printed.
+ *
+ * Excluded from the normal build; run with
+ *   ./mvnw -Pload test [-Dload.modes=platform,virtual] [-Dload.employees=1000] [-Dload.concurrency=64]
+ * Use a concurrency above server.tomcat.threads.max (200) to see the thread cap.
+ * The report is printed and written as JSON to target/load-report.json (-Dload.report=...).
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadTestSuite {
+
+    private final int employees = Integer.getInteger("load.employees", 1000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 64);
+    private final String reportPath = System.getProperty("load.report", "target/load-report.json");
+
+    private final Map<String, List<LoadDriver.ScenarioResult>> results = new LinkedHashMap<>();
+
+    Stream<String> modes() {
+        return Arrays.stream(System.getProperty("load.modes", "platform,virtual").split(","))
+                .map(String::trim)
+                .filter(m -> !m.isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0} threads")
+    @MethodSource("modes")
+    void run(String mode) throws Exception {
+        String[] profiles = switch (mode) {
+            case "platform" -> new String[]{"loadtest"};
+            case "virtual" -> new String[]{"loadtest", "virtual-threads"};
+            default -> throw new IllegalArgumentException("unknown load.modes entry: " + mode);
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HrmsBackendApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "spring.devtools.restart.enabled=false")
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://localhost:" + port);
+            LocalDate today = LocalDate.now(context.getBean(Clock.class));
+            LoadDataSeeder.Seeded data = new LoadDataSeeder(context).seed(employees, today);
+
+            List<LoadDriver.ScenarioResult> scenarios = new ArrayList<>();
+            results.put(mode, scenarios);
+            System.out.printf("%n#### %s threads%n", mode);
+            for (LoadDriver.ScenarioResult result : List.of(
+                    driver.run("morning check-in burst", concurrency, morningCheckInBurst(data, today)),
+                    driver.run("HR approval storm", concurrency, hrApprovalStorm(data)),
+                    driver.run("payroll day", concurrency, payrollDay(data)))) {
+                scenarios.add(result);
+                System.out.print(result.format());
+                assertNoErrors(result);
+            }
+        }
+    }
+
+    @AfterAll
+    void report() throws Exception {
+        if (results.size() > 1) System.out.print(comparison());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("employees", employees);
+        report.put("concurrency", concurrency);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("modes", results);
+        File out = new File(reportPath);
+        if (out.getParentFile() != null) out.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, report);
+        System.out.println("Load report written to " + out.getAbsolutePath());
+    }
+
+    /**
+     * 9 a.m.: every employee logs in and checks in within a few seconds of each other.
+     */
+    private static List<List<LoadDriver.Call>> morningCheckInBurst(LoadDataSeeder.Seeded data, LocalDate today) {
+        List<List<LoadDriver.Call>> sessions = new ArrayList<>(data.emails().size());
+        for (String email : data.emails()) {
+            sessions.add(List.of(
+                    LoadDriver.Call.post("POST /auth/api/login", "/auth/api/login",
+                            "{\"email\":\"" + email + "\",\"password\":\"" + LoadDataSeeder.PASSWORD + "\"}"),
+                    LoadDriver.Call.post("POST /api/attendance/mark", "/api/attendance/mark",
+                            "{\"email\":\"" + email + "\",\"date\":\"" + today + "\",\"status\":\"FULL_DAY\"}")));
+        }
+        return sessions;
+    }
+
+    /**
+     * HR works through the pending-leave backlog: reload the list, decide a batch, repeat.
+     */
+    private static List<List<LoadDriver.Call>> hrApprovalStorm(LoadDataSeeder.Seeded data) {
+        List<Integer> pending = data.pendingLeaveIds();
+        List<List<LoadDriver.Call>> sessions = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += 25) {
+            List<LoadDriver.Call> session = new ArrayList<>();
+            session.add(LoadDriver.Call.get("GET /api/leave", "/api/leave"));
+            for (int i = from; i < Math.min(from + 25, pending.size()); i++) {
+                String response = i % 3 == 2 ? "No" : "Yes";
+                session.add(LoadDriver.Call.put("PUT /api/leave/{id}", "/api/leave/" + pending.get(i),
+                        "{\"response\":\"" + response + "\"}"));
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    /**
+     * Payroll runs for last month while employees check their payslips and HR reviews the list.
+     */
+    private static List<List<LoadDriver.Call>> payrollDay(LoadDataSeeder.Seeded data) {
+        List<List<LoadDriver.Call>> sessions = new ArrayList<>();
+        sessions.add(List.of(LoadDriver.Call.post("POST /api/salaries/payroll",
+                "/api/salaries/payroll?month=" + data.payrollMonth(), null)));
+        for (int i = 0; i < data.employeeIds().size(); i++) {
+            sessions.add(List.of(LoadDriver.Call.get("GET /api/salaries/employee/{id}",
+                    "/api/salaries/employee/" + data.employeeIds().get(i))));
+            if (i % 100 == 0) {
+                sessions.add(List.of(LoadDriver.Call.get("GET /api/salaries", "/api/salaries")));
+            }
+        }
+        return sessions;
+    }
+
+    // req/s and p99 per endpoint, one column pair per mode
+    private String comparison() {
+        List<String> modes = new ArrayList<>(results.keySet());
+        StringBuilder sb = new StringBuilder(String.format("%n== mode comparison (req/s | p99 ms)%n%-56s", ""));
+        for (String mode : modes) sb.append(String.format(" %22s", mode));
+        sb.append(System.lineSeparator());
+        List<LoadDriver.ScenarioResult> first = results.get(modes.get(0));
+        for (int s = 0; s < first.size(); s++) {
+            for (String endpoint : first.get(s).endpoints().keySet()) {
+                sb.append(String.format("%-56s", first.get(s).scenario() + " / " + endpoint));
+                for (String mode : modes) {
+                    LoadDriver.EndpointReport r = results.get(mode).get(s).endpoints().get(endpoint);
+                    sb.append(r == null ? String.format(" %22s", "-")
+                            : String.format(" %10.1f | %9.2f", r.throughputPerSecond(), r.p99Ms()));
+                }
+                sb.append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static void assertNoErrors(LoadDriver.ScenarioResult result) {
+        result.endpoints().forEach((endpoint, r) ->
+                assertThat(r.errors()).as("%s in %s, statuses %s", endpoint, result.scenario(), r.statusCounts())
+                        .isZero());
+    }
+}
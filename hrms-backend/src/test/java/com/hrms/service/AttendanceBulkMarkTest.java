@@ -0,0 +1,117 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.AttendanceSummaryRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.AttendanceSummaryView;
+import com.hrms.dto.BulkAttendanceResult;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Bulk marking counts only the rows it actually inserted: entries already marked,
+ * whether seen up front or inserted by someone else mid-call, are ALREADY_MARKED
+ * and stay out of the monthly summary. Any other constraint violation fails the batch.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hrms_bulk_mark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "hrms.clock.fixed-date=2025-03-12"
+})
+class AttendanceBulkMarkTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    @Autowired private AttendanceService attendanceService;
+    @Autowired private AttendanceRepository attendanceRepository;
+    @Autowired private AttendanceSummaryRepository summaryRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void partlyMarkedBatchCountsOnlyNewRows() {
+        User marked = user("bulk-marked@example.com");
+        User first = user("bulk-first@example.com");
+        User second = user("bulk-second@example.com");
+        attendanceService.markAttendance(marked.getUserId(), DAY, Attendance.Status.FULL_DAY);
+
+        List<BulkAttendanceResult> results = attendanceService.markAttendanceBulk(DAY, List.of(
+                new AttendanceService.BulkMark(0, marked.getUserId(), null, Attendance.Status.FULL_DAY),
+                new AttendanceService.BulkMark(1, first.getUserId(), null, Attendance.Status.FULL_DAY),
+                new AttendanceService.BulkMark(2, null, "BULK-SECOND@example.com", Attendance.Status.HALF_DAY),
+                new AttendanceService.BulkMark(3, first.getUserId(), null, Attendance.Status.HALF_DAY)));
+
+        assertThat(results).extracting(BulkAttendanceResult::getOutcome).containsExactly(
+                BulkAttendanceResult.Outcome.ALREADY_MARKED,
+                BulkAttendanceResult.Outcome.MARKED,
+                BulkAttendanceResult.Outcome.MARKED,
+                BulkAttendanceResult.Outcome.ALREADY_MARKED);
+
+        Map<Integer, AttendanceSummaryView> summaries = summaryRepository.findViewsByMonth(DAY.withDayOfMonth(1))
+                .stream().collect(Collectors.toMap(AttendanceSummaryView::userId, Function.identity()));
+        assertThat(summaries.get(marked.getUserId()).fullDays()).isEqualTo(1);
+        assertThat(summaries.get(first.getUserId()).fullDays()).isEqualTo(1);
+        assertThat(summaries.get(first.getUserId()).halfDays()).isZero();
+        assertThat(summaries.get(second.getUserId()).halfDays()).isEqualTo(1);
+    }
+
+    @Test
+    void rowInsertedBehindTheBatchIsReportedAsSkipped() {
+        User raced = user("bulk-raced@example.com");
+        User fresh = user("bulk-fresh@example.com");
+        // a concurrent mark the caller's own already-marked check did not see
+        jdbcTemplate.update("INSERT INTO attendance (user_id, attendance_date, status) VALUES (?, ?, ?)",
+                raced.getUserId(), Date.valueOf(DAY), Attendance.Status.HALF_DAY.name());
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        boolean[] inserted = tx.execute(s -> attendanceRepository.insertIgnoringDuplicates(List.of(
+                Attendance.builder().user(raced).date(DAY).status(Attendance.Status.FULL_DAY).build(),
+                Attendance.builder().user(fresh).date(DAY).status(Attendance.Status.FULL_DAY).build(),
+                Attendance.builder().user(fresh).date(DAY).status(Attendance.Status.HALF_DAY).build())));
+
+        assertThat(inserted).containsExactly(false, true, false);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM attendance WHERE user_id = ? AND attendance_date = ?",
+                String.class, raced.getUserId(), Date.valueOf(DAY))).isEqualTo(Attendance.Status.HALF_DAY.name());
+    }
+
+    @Test
+    void rowThatIsNotADuplicateFailsTheBatch() {
+        User fresh = user("bulk-fk@example.com");
+        User unknown = User.builder().userId(999_999).build();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        assertThatThrownBy(() -> tx.execute(s -> attendanceRepository.insertIgnoringDuplicates(List.of(
+                Attendance.builder().user(fresh).date(DAY).status(Attendance.Status.FULL_DAY).build(),
+                Attendance.builder().user(unknown).date(DAY).status(Attendance.Status.FULL_DAY).build()))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE user_id = ?",
+                Integer.class, fresh.getUserId())).isZero();
+    }
+
+    private User user(String email) {
+        return userRepository.save(User.builder()
+                .email(email).firstName("First").lastName("Last").passwordHash("hash")
+                .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+    }
+}
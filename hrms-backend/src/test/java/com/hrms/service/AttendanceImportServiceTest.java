@@ -0,0 +1,177 @@
+package com.hrms.service;
+
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.AttendanceImportReport;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * CSV punch import: header detection, the two time layouts, BOM handling, the
+ * min/max merge with rows already imported, and error reporting.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hrms_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "hrms.clock.fixed-date=2025-03-31"
+})
+class AttendanceImportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 12);
+
+    // one instance per test method, one database for the class
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired private AttendanceImportService importService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void headerIsMatchedCaseInsensitivelyInAnyOrder() throws IOException {
+        User user = user();
+        AttendanceImportReport report = importCsv("Device,TIMESTAMP,User_Id\n"
+                + "gate-1,2025-03-12T09:00:00," + user.getUserId() + "\n"
+                + "gate-2,2025-03-12 17:30:00," + user.getUserId() + "\n");
+
+        assertThat(report.errorCount()).isZero();
+        assertThat(report.punches()).isEqualTo(2);
+        assertThat(row(user, DAY)).containsEntry("check_in", "09:00").containsEntry("check_out", "17:30")
+                .containsEntry("status", "FULL_DAY");
+    }
+
+    @Test
+    void unusableHeadersAreRejected() {
+        assertThatThrownBy(() -> importCsv("")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("empty");
+        assertThatThrownBy(() -> importCsv("name,timestamp\n")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("userId or email");
+        assertThatThrownBy(() -> importCsv("email,date\n")).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("timestamp");
+    }
+
+    @Test
+    void dateAndTimeColumnsAndEmailsWork() throws IOException {
+        User user = user();
+        AttendanceImportReport report = importCsv("email,date,time\n"
+                + user.getEmail().toUpperCase(Locale.ROOT) + ",2025-03-13,08:15\n"
+                + "\"" + user.getEmail() + "\",2025-03-13,11:45:30\n");
+
+        assertThat(report.errorCount()).isZero();
+        assertThat(report.inserted()).isEqualTo(1);
+        assertThat(row(user, DAY.plusDays(1))).containsEntry("check_in", "08:15").containsEntry("check_out", "11:45")
+                .containsEntry("status", "HALF_DAY");
+    }
+
+    @Test
+    void timestampFallsBackToDateAndTimeWhenEmpty() throws IOException {
+        User user = user();
+        importCsv("userId,timestamp,date,time\n"
+                + user.getUserId() + ",,2025-03-14,10:00\n"
+                + user.getUserId() + ",2025-03-14T19:00:00,,\n");
+
+        assertThat(row(user, DAY.plusDays(2))).containsEntry("check_in", "10:00").containsEntry("check_out", "19:00");
+    }
+
+    @Test
+    void byteOrderMarkIsStripped() throws IOException {
+        User user = user();
+        AttendanceImportReport report = importCsv("\uFEFFuserId,timestamp\n"
+                + user.getUserId() + ",2025-03-17T09:00:00\n");
+
+        assertThat(report.errorCount()).isZero();
+        assertThat(row(user, LocalDate.of(2025, 3, 17))).containsEntry("check_in", "09:00")
+                .containsEntry("check_out", null).containsEntry("status", "HALF_DAY");
+    }
+
+    @Test
+    void reimportMergesFirstAndLastPunch() throws IOException {
+        User user = user();
+        LocalDate day = LocalDate.of(2025, 3, 18);
+        String first = "userId,timestamp\n"
+                + user.getUserId() + ",2025-03-18T09:00:00\n"
+                + user.getUserId() + ",2025-03-18T13:00:00\n";
+
+        AttendanceImportReport initial = importCsv(first);
+        assertThat(initial.inserted()).isEqualTo(1);
+        assertThat(row(user, day)).containsEntry("check_in", "09:00").containsEntry("check_out", "13:00")
+                .containsEntry("status", "HALF_DAY");
+
+        // another device's punches for the same day widen the span
+        AttendanceImportReport second = importCsv("userId,timestamp\n"
+                + user.getUserId() + ",2025-03-18T12:00:00\n"
+                + user.getUserId() + ",2025-03-18T18:00:00\n");
+        assertThat(second.inserted()).isZero();
+        assertThat(second.updated()).isEqualTo(1);
+        assertThat(row(user, day)).containsEntry("check_in", "09:00").containsEntry("check_out", "18:00")
+                .containsEntry("status", "FULL_DAY");
+
+        // re-importing the first file changes nothing
+        importCsv(first);
+        assertThat(row(user, day)).containsEntry("check_in", "09:00").containsEntry("check_out", "18:00")
+                .containsEntry("status", "FULL_DAY");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance WHERE user_id = ?",
+                Integer.class, user.getUserId())).isEqualTo(1);
+    }
+
+    @Test
+    void badRowsAreReportedInLineOrder() throws IOException {
+        User user = user();
+        AttendanceImportReport report = importCsv("userId,timestamp\n"
+                + "999999,2025-03-19T09:00:00\n"
+                + "abc,2025-03-19T09:00:00\n"
+                + user.getUserId() + ",not-a-time\n"
+                + user.getUserId() + ",2025-04-02T09:00:00\n"
+                + user.getUserId() + ",2025-03-19T09:00:00\n");
+
+        assertThat(report.rows()).isEqualTo(5);
+        assertThat(report.punches()).isEqualTo(1);
+        assertThat(report.errorCount()).isEqualTo(4);
+        assertThat(report.errors()).extracting(AttendanceImportReport.RowError::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(report.errors().get(0).error()).contains("User not found");
+        assertThat(report.errors().get(1).error()).contains("not a number");
+        assertThat(report.errors().get(3).error()).contains("future");
+    }
+
+    @Test
+    void reportedErrorsAreCapped() throws IOException {
+        int bad = AttendanceImportService.MAX_REPORTED_ERRORS + 25;
+        StringBuilder csv = new StringBuilder("userId,timestamp\n");
+        for (int i = 0; i < bad; i++) csv.append("x").append(i).append(",2025-03-20T09:00:00\n");
+
+        AttendanceImportReport report = importCsv(csv.toString());
+
+        assertThat(report.errorCount()).isEqualTo(bad);
+        assertThat(report.errors()).hasSize(AttendanceImportService.MAX_REPORTED_ERRORS);
+        assertThat(report.errors().get(0).line()).isEqualTo(2);
+    }
+
+    private AttendanceImportReport importCsv(String csv) throws IOException {
+        return importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Map<String, Object> row(User user, LocalDate date) {
+        return jdbcTemplate.queryForMap("SELECT FORMATDATETIME(check_in, 'HH:mm') AS check_in, "
+                        + "FORMATDATETIME(check_out, 'HH:mm') AS check_out, status "
+                        + "FROM attendance WHERE user_id = ? AND attendance_date = ?",
+                user.getUserId(), Date.valueOf(date));
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("import" + USERS.incrementAndGet() + "@example.com").firstName("First").lastName("Last")
+                .passwordHash("hash").role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+    }
+}
@@ -0,0 +1,116 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dao.AuditEventRepository;
+import com.hrms.entity.AuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * What AuditLog does when its buffer is full: DROP counts the event as dropped at once,
+ * BLOCK waits for the writer to make room and drops only after the block timeout.
+ */
+class AuditLogTest {
+
+    private final List<AuditEvent> written = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void dropDiscardsEventsOnceTheBufferIsFull() throws Exception {
+        AuditLog log = auditLog(AuditLog.Overflow.DROP, 4, Duration.ofSeconds(5), 0);
+        // writer not started yet: nothing frees a slot
+        for (int i = 0; i < 6; i++) publish(log, i);
+
+        assertThat(count("hrms.audit.published")).isEqualTo(4);
+        assertThat(count("hrms.audit.dropped")).isEqualTo(2);
+
+        log.start();
+        log.stop();
+        assertThat(written).extracting(AuditEvent::getSubjectId).containsExactly("0", "1", "2", "3");
+    }
+
+    @Test
+    void blockGivesUpAfterTheTimeout() throws Exception {
+        AuditLog log = auditLog(AuditLog.Overflow.BLOCK, 2, Duration.ofMillis(200), 0);
+        publish(log, 0);
+        publish(log, 1);
+
+        long started = System.nanoTime();
+        publish(log, 2);
+        long waitedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(waitedMs).isGreaterThanOrEqualTo(200);
+        assertThat(count("hrms.audit.published")).isEqualTo(2);
+        assertThat(count("hrms.audit.dropped")).isEqualTo(1);
+        log.stop();
+    }
+
+    @Test
+    void blockWaitsForTheWriterInsteadOfDropping() throws Exception {
+        // a slow sink and a tiny buffer: publishers keep finding it full
+        AuditLog log = auditLog(AuditLog.Overflow.BLOCK, 4, Duration.ofSeconds(10), 2);
+        log.start();
+        int threads = 4;
+        int perThread = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> publishers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                publishers.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) publish(log, thread * perThread + i);
+                }));
+            }
+            for (Future<?> f : publishers) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        log.stop();
+
+        assertThat(count("hrms.audit.dropped")).isZero();
+        assertThat(count("hrms.audit.published")).isEqualTo(threads * perThread);
+        assertThat(count("hrms.audit.written")).isEqualTo(threads * perThread);
+        assertThat(written).extracting(AuditEvent::getSubjectId).doesNotHaveDuplicates().hasSize(threads * perThread);
+    }
+
+    private AuditLog auditLog(AuditLog.Overflow overflow, int capacity, Duration blockTimeout, long sinkDelayMs)
+            throws Exception {
+        AuditEventRepository repository = mock(AuditEventRepository.class);
+        doAnswer(call -> {
+            if (sinkDelayMs > 0) Thread.sleep(sinkDelayMs);
+            written.addAll(call.getArgument(0));
+            return null;
+        }).when(repository).insertBatch(anyList());
+        AuditLog log = new AuditLog(repository, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                Clock.systemUTC(), "jdbc", capacity, 2, Duration.ofMillis(10), overflow, blockTimeout,
+                Path.of("target", "audit-test.jsonl"), DataSize.ofMegabytes(1), 1);
+        log.bindTo(registry);
+        return log;
+    }
+
+    private static void publish(AuditLog log, int id) {
+        log.publish(AuditEvent.Action.LEAVE_APPROVED, AuditEvent.SubjectType.LEAVE, id, null);
+    }
+
+    private double count(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+}
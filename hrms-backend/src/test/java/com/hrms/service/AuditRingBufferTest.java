@@ -0,0 +1,145 @@
+package com.hrms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The ring buffer is FIFO, bounded, and under concurrent producers neither loses
+ * nor duplicates an element.
+ */
+class AuditRingBufferTest {
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new AuditRingBuffer<Integer>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AuditRingBuffer<Integer>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerReturnsFalseWhenFullAndSucceedsOnceASlotIsFreed() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) assertThat(buffer.offer(i)).isTrue();
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+
+        List<Integer> out = new ArrayList<>();
+        assertThat(buffer.drainTo(out, 10)).isEqualTo(4);
+        assertThat(out).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void keepsOrderOverManyLaps() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(8);
+        int next = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+            if (i % 3 != 0) {
+                assertThat(buffer.poll()).isEqualTo(next++);
+            }
+            while (buffer.size() >= 7) assertThat(buffer.poll()).isEqualTo(next++);
+        }
+        for (Integer e; (e = buffer.poll()) != null; ) assertThat(e).isEqualTo(next++);
+        assertThat(next).isEqualTo(10_000);
+    }
+
+    @Test
+    void concurrentProducersFillExactlyTheCapacity() throws Exception {
+        int capacity = 1024;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(capacity);
+        int producers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> accepted = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                accepted.add(pool.submit(() -> {
+                    go.await();
+                    int n = 0;
+                    while (buffer.offer(producer * 1_000_000 + n)) n++;
+                    return n;
+                }));
+            }
+            go.countDown();
+            int total = 0;
+            for (Future<Integer> f : accepted) total += f.get(30, TimeUnit.SECONDS);
+
+            assertThat(total).isEqualTo(capacity);
+            assertThat(buffer.offer(-1)).isFalse();
+            List<Integer> out = new ArrayList<>();
+            buffer.drainTo(out, Integer.MAX_VALUE);
+            assertThat(out).hasSize(capacity).doesNotHaveDuplicates();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(256);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch go = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> rejections = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                rejections.add(pool.submit(() -> {
+                    go.await();
+                    int full = 0;
+                    for (int n = 0; n < perProducer; n++) {
+                        while (!buffer.offer(producer * perProducer + n)) {
+                            full++;
+                            Thread.yield();
+                        }
+                    }
+                    return full;
+                }));
+            }
+            go.countDown();
+
+            // single consumer: every element exactly once, each producer's elements in order
+            boolean[] seen = new boolean[producers * perProducer];
+            int[] nextPerProducer = new int[producers];
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (received < seen.length) {
+                Integer e = buffer.poll();
+                if (e == null) {
+                    assertThat(System.nanoTime()).as("consumer timed out after %d elements", received).isLessThan(deadline);
+                    Thread.yield();
+                    continue;
+                }
+                assertThat(seen[e]).as("duplicate %d", e).isFalse();
+                seen[e] = true;
+                int producer = e / perProducer;
+                assertThat(e % perProducer).isEqualTo(nextPerProducer[producer]++);
+                received++;
+            }
+            for (Future<Integer> f : rejections) f.get(30, TimeUnit.SECONDS);
+
+            assertThat(buffer.poll()).isNull();
+            assertThat(nextPerProducer).containsOnly(perProducer);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hrms.service;
+
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A month is loaded from a snapshot taken after it was registered, never from an older
+ * one the caller's transaction happens to hold.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_availability;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class AvailabilityIndexTest {
+
+    @Autowired private AvailabilityIndex index;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void markCommittedAfterTheCallersSnapshotIsLoaded() {
+        User user = userRepository.save(User.builder()
+                .email("availability@example.com").firstName("First").lastName("Last").passwordHash("hash")
+                .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+        LocalDate day = LocalDate.of(2025, 5, 14);
+        RoaringBitmap users = RoaringBitmap.bitmapOf(user.getUserId());
+
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+        caller.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        caller.setReadOnly(true);
+        List<AvailabilityIndex.Day> days = caller.execute(tx -> {
+            // the caller's snapshot starts here
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance", Integer.class);
+            // a mark commits before the month is registered, so its own update finds nothing to apply to
+            CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                    "INSERT INTO attendance (user_id, attendance_date, status) VALUES (?, ?, ?)",
+                    user.getUserId(), Date.valueOf(day), Attendance.Status.FULL_DAY.name())).join();
+            return index.days(day, day, users);
+        });
+
+        assertThat(days).singleElement().satisfies(d -> assertThat(d.present().contains(user.getUserId())).isTrue());
+    }
+}
@@ -0,0 +1,140 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dto.EmployeeDirectoryEntry;
+import com.hrms.dto.EmployeeSearchPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Matching and ranking of the directory search index, and its after-commit updates.
+ */
+class EmployeeSearchIndexTest {
+
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void build() {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findDirectoryEntries()).thenReturn(List.of(
+                entry(1, "Jane", "Smith", "jane.smith@example.com", "Engineering", "Developer", "555-1234"),
+                entry(2, "Jakob", "Smithers", "jakob@example.com", "Sales", "Manager", "555-9876"),
+                entry(3, "Anja", "Johnson", "asmith@example.com", "Engineering", "Tester", null),
+                entry(4, "José", "Álvarez", "jose@example.com", "Finance", "Analyst", "555-4321")));
+        index = new EmployeeSearchIndex(repository);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shortWordsMatchWordPrefixesOnly() {
+        // "Anja" contains "ja" but does not start with it
+        assertThat(ids("ja")).containsExactlyInAnyOrder(1, 2);
+        assertThat(ids("j")).containsExactlyInAnyOrder(1, 2, 3, 4);
+    }
+
+    @Test
+    void longerWordsMatchInsideWords() {
+        assertThat(ids("ohn")).containsExactly(3);
+        assertThat(ids("ohnso")).containsExactly(3);
+        assertThat(ids("ithe")).containsExactly(2);
+        assertThat(ids("xyz")).isEmpty();
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        assertThat(ids("engineering jane")).containsExactly(1);
+        assertThat(ids("sales jane")).isEmpty();
+    }
+
+    @Test
+    void accentsCaseAndPhoneSeparatorsAreIgnored() {
+        assertThat(ids("ALVAREZ")).containsExactly(4);
+        assertThat(ids("jose")).containsExactly(4);
+        assertThat(ids("5551234")).containsExactly(1);
+        assertThat(ids("1234")).containsExactly(1);
+    }
+
+    @Test
+    void exactWordBeatsPrefixBeatsSubstringAndNameBeatsEmail() {
+        // 1: exact name word; 2: name prefix; 3: only inside the email word "asmith"
+        assertThat(ids("smith")).containsExactly(1, 2, 3);
+        // department matches tie on score and fall back to name order
+        assertThat(ids("engineering")).containsExactly(3, 1);
+    }
+
+    @Test
+    void pagesFollowTheRanking() {
+        EmployeeSearchPage first = index.search("smith", 0, 2);
+        EmployeeSearchPage second = index.search("smith", 1, 2);
+
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(first.items()).extracting(EmployeeDirectoryEntry::employeeId).containsExactly(1, 2);
+        assertThat(second.items()).extracting(EmployeeDirectoryEntry::employeeId).containsExactly(3);
+    }
+
+    @Test
+    void rejectsQueriesWithoutWords() {
+        assertThatThrownBy(() -> index.search(" -- ", 0, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void updatesApplyOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.update(entry(5, "Priya", "Nair", "priya@example.com", "Sales", "Lead", null));
+        index.update(entry(2, "Jakob", "Berg", "jakob@example.com", "Sales", "Manager", "555-9876"));
+        index.delete(1);
+
+        assertThat(ids("priya")).isEmpty();
+        assertThat(ids("smith")).containsExactly(1, 2, 3);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(ids("priya")).containsExactly(5);
+        assertThat(ids("smith")).containsExactly(3);
+        assertThat(ids("berg")).containsExactly(2);
+    }
+
+    @Test
+    void rolledBackUpdatesAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.update(entry(5, "Priya", "Nair", "priya@example.com", "Sales", "Lead", null));
+        index.delete(1);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(ids("priya")).isEmpty();
+        assertThat(ids("jane")).containsExactly(1);
+    }
+
+    private List<Integer> ids(String q) {
+        return index.search(q, 0, EmployeeSearchIndex.MAX_PAGE_SIZE).items().stream()
+                .map(EmployeeDirectoryEntry::employeeId)
+                .toList();
+    }
+
+    private static EmployeeDirectoryEntry entry(int id, String first, String last, String email,
+                                                String department, String position, String phone) {
+        return new EmployeeDirectoryEntry(id, 100 + id, first, last, email, department, position, phone);
+    }
+}
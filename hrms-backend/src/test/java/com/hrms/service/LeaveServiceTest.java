@@ -0,0 +1,161 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Leave;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Overlap rules of apply, and the ledger staying exact when decisions on one leave race.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_leave;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class LeaveServiceTest {
+
+    // Mon 10 .. Fri 14 March 2025
+    private static final LocalDate START = LocalDate.of(2025, 3, 10);
+    private static final LocalDate END = LocalDate.of(2025, 3, 14);
+
+    // one instance per test method, one database for the class
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired private LeaveService leaveService;
+    @Autowired private LeaveRepository leaveRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+
+    @Test
+    void overlappingRangesAreRejected() {
+        String email = employee();
+        leaveService.apply(email, START, END, "trip");
+
+        // same range, sharing the first day, sharing the last day, inside, around
+        assertOverlap(email, START, END);
+        assertOverlap(email, LocalDate.of(2025, 3, 6), START);
+        assertOverlap(email, END, LocalDate.of(2025, 3, 18));
+        assertOverlap(email, LocalDate.of(2025, 3, 12), LocalDate.of(2025, 3, 12));
+        assertOverlap(email, LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 21));
+    }
+
+    @Test
+    void adjacentRangesAreAccepted() {
+        String email = employee();
+        leaveService.apply(email, START, END, "trip");
+
+        Leave before = leaveService.apply(email, LocalDate.of(2025, 3, 7), LocalDate.of(2025, 3, 7), "day before");
+        Leave after = leaveService.apply(email, LocalDate.of(2025, 3, 17), null, "day after");
+
+        assertThat(before.getWorkingDays()).isEqualTo(1);
+        assertThat(after.getEndDate()).isEqualTo(after.getStartDate());
+    }
+
+    @Test
+    void approvedLeavesBlockAndRejectedOnesDoNot() {
+        String email = employee();
+        Leave approved = leaveService.apply(email, START, END, "trip");
+        leaveService.respond(approved.getLeaveId(), Leave.Status.APPROVED);
+        assertOverlap(email, LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 11));
+
+        leaveService.respond(approved.getLeaveId(), Leave.Status.REJECTED);
+        Leave again = leaveService.apply(email, LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 11), "again");
+        assertThat(again.getStatus()).isEqualTo(Leave.Status.PENDING);
+    }
+
+    @Test
+    void otherUsersLeavesDoNotOverlap() {
+        leaveService.apply(employee(), START, END, "trip");
+        Leave other = leaveService.apply(employee(), START, END, "same week");
+        assertThat(other.getLeaveId()).isNotNull();
+    }
+
+    @Test
+    void racingApprovalsChargeTheLedgerOnce() throws Exception {
+        String email = employee();
+        for (int round = 0; round < 10; round++) {
+            LocalDate start = START.plusWeeks(round);
+            Leave leave = leaveService.apply(email, start, start.plusDays(4), "round " + round);
+            race(leave.getLeaveId(), Leave.Status.APPROVED, Leave.Status.APPROVED);
+            assertThat(leaveRepository.findById(leave.getLeaveId()).orElseThrow().getStatus())
+                    .isEqualTo(Leave.Status.APPROVED);
+            assertThat(ledger(email)).isEqualTo(5 * (round + 1));
+        }
+    }
+
+    @Test
+    void racingApproveAndRejectLeaveLedgerMatchingStatus() throws Exception {
+        String email = employee();
+        int approvedDays = 0;
+        for (int round = 0; round < 10; round++) {
+            LocalDate start = START.plusWeeks(round);
+            Leave leave = leaveService.apply(email, start, start.plusDays(4), "round " + round);
+            race(leave.getLeaveId(), Leave.Status.APPROVED, Leave.Status.REJECTED);
+            Leave.Status status = leaveRepository.findById(leave.getLeaveId()).orElseThrow().getStatus();
+            if (status == Leave.Status.APPROVED) approvedDays += 5;
+            assertThat(ledger(email)).isEqualTo(approvedDays);
+        }
+    }
+
+    /**
+     * Both decisions start together; a loser may fail with the concurrent-update conflict.
+     */
+    private void race(Integer leaveId, Leave.Status first, Leave.Status second) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> decisions = new ArrayList<>();
+            for (Leave.Status target : List.of(first, second)) {
+                decisions.add(pool.submit(() -> {
+                    go.await();
+                    return leaveService.respond(leaveId, target);
+                }));
+            }
+            go.countDown();
+            for (Future<?> decision : decisions) {
+                try {
+                    decision.get();
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertOverlap(String email, LocalDate start, LocalDate end) {
+        assertThatThrownBy(() -> leaveService.apply(email, start, end, "overlap"))
+                .as("%s..%s", start, end)
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private int ledger(String email) {
+        return employeeRepository.findByUserEmail(email).orElseThrow().getLeaves();
+    }
+
+    private String employee() {
+        String email = "leave" + USERS.incrementAndGet() + "@example.com";
+        User u = userRepository.save(User.builder()
+                .email(email).firstName("First").lastName("Last").passwordHash("hash")
+                .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+        employeeRepository.save(Employee.builder().user(u).firstName("First").lastName("Last").leaves(0).build());
+        return email;
+    }
+}
@@ -0,0 +1,216 @@
+package com.hrms.service;
+
+import com.hrms.dao.AttendanceRepository;
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.LeaveRepository;
+import com.hrms.dao.SalaryRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.PayrollRunReport;
+import com.hrms.entity.Attendance;
+import com.hrms.entity.Employee;
+import com.hrms.entity.Leave;
+import com.hrms.entity.Salary;
+import com.hrms.entity.User;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payroll pays salary * payableDays / workingDays once per employee and month:
+ * a rerun pays nobody twice, and a run resumed after a partial one pays only the rest.
+ * Attendance summaries that are missing or stale are rebuilt before pay is computed.
+ * Each test uses its own month over the same five employees.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_payroll;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayrollServiceTest {
+
+    @Autowired private PayrollService payrollService;
+    @Autowired private AttendanceSummaryService summaryService;
+    @Autowired private WorkingDayCalendar calendar;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private AttendanceRepository attendanceRepository;
+    @Autowired private LeaveRepository leaveRepository;
+    @Autowired private SalaryRepository salaryRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    // full days only / full and half days plus leave / no salary / nothing payable / leave over the whole month
+    private Employee attending;
+    private Employee onLeave;
+    private Employee unsalaried;
+    private Employee absent;
+    private Employee capped;
+
+    @BeforeAll
+    void seed() {
+        attending = employee("pay-attending@example.com", 4000.0);
+        onLeave = employee("pay-onleave@example.com", 3000.0);
+        unsalaried = employee("pay-unsalaried@example.com", null);
+        absent = employee("pay-absent@example.com", 5000.0);
+        capped = employee("pay-capped@example.com", 1000.0);
+    }
+
+    @Test
+    void payIsSalaryTimesPayableDaysOverWorkingDays() {
+        YearMonth month = YearMonth.of(2025, 2); // 20 working days
+        seedMonth(month);
+        leave(onLeave, LocalDate.of(2025, 2, 17), LocalDate.of(2025, 2, 21), Leave.Status.APPROVED);
+        leave(onLeave, LocalDate.of(2025, 2, 24), LocalDate.of(2025, 2, 25), Leave.Status.PENDING);
+        leave(capped, LocalDate.of(2025, 1, 27), LocalDate.of(2025, 2, 28), Leave.Status.APPROVED);
+
+        PayrollRunReport report = payrollService.run(month, null);
+
+        assertThat(report.employees()).isEqualTo(5);
+        assertThat(report.paid()).isEqualTo(3);
+        assertThat(report.noSalary()).isEqualTo(1);
+        assertThat(report.noPayableDays()).isEqualTo(1);
+        assertThat(report.alreadyPaid()).isZero();
+        assertThat(report.failed()).isZero();
+
+        Map<Integer, Salary> paid = paidIn(month);
+        // 4000 * 10 / 20
+        assertThat(paid.get(attending.getEmployeeId()).getAmount()).isEqualTo(2000.0);
+        // 3000 * (2 full + 2 half + 5 approved leave days) / 20; the pending leave does not count
+        assertThat(paid.get(onLeave.getEmployeeId()).getAmount()).isEqualTo(1200.0);
+        // 3 attended + 20 on leave, capped at the 20 working days
+        assertThat(paid.get(capped.getEmployeeId()).getAmount()).isEqualTo(1000.0);
+        assertThat(paid).doesNotContainKeys(unsalaried.getEmployeeId(), absent.getEmployeeId());
+        assertThat(paid.get(attending.getEmployeeId()).getPaymentDate()).isEqualTo(month.atEndOfMonth());
+        assertThat(report.totalPaid()).isEqualTo(4200.0);
+    }
+
+    @Test
+    void staleSummariesAreRebuiltBeforePaying() {
+        YearMonth month = YearMonth.of(2025, 10);
+        seedMonth(month);
+        summaryService.rebuild(month);
+        // written after the rebuild, outside the summary hooks
+        LocalDate extra = month.atDay(1).datesUntil(month.atEndOfMonth().plusDays(1))
+                .filter(calendar::isWorkingDay).skip(10).findFirst().orElseThrow();
+        attend(attending, extra, Attendance.Status.FULL_DAY);
+
+        PayrollRunReport report = payrollService.run(month, null);
+
+        int workingDays = calendar.workingDaysBetween(month.atDay(1), month.atEndOfMonth());
+        assertThat(report.paid()).isEqualTo(3);
+        assertThat(paidIn(month).get(attending.getEmployeeId()).getAmount())
+                .isEqualTo(PayrollService.amount(4000.0, 11, workingDays));
+        assertThat(summaryService.getMonth(month))
+                .filteredOn(v -> v.userId().equals(attending.getUser().getUserId()))
+                .singleElement().satisfies(v -> assertThat(v.fullDays()).isEqualTo(11));
+    }
+
+    @Test
+    void amountRoundsToCents() {
+        // 1000 * 7.5 / 22 = 340.909...
+        assertThat(PayrollService.amount(1000.0, 7.5, 22)).isEqualTo(340.91);
+    }
+
+    @Test
+    void rerunPaysNobodyTwice() {
+        YearMonth month = YearMonth.of(2025, 4);
+        seedMonth(month);
+
+        PayrollRunReport first = payrollService.run(month, null);
+        PayrollRunReport second = payrollService.run(month, null);
+
+        assertThat(first.paid()).isEqualTo(3);
+        assertThat(second.paid()).isZero();
+        assertThat(second.alreadyPaid()).isEqualTo(3);
+        assertThat(second.totalPaid()).isZero();
+        assertThat(paidIn(month)).hasSize(3);
+    }
+
+    @Test
+    void resumedRunPaysOnlyTheRest() {
+        YearMonth month = YearMonth.of(2025, 6);
+        seedMonth(month);
+        // the chunk of an earlier, interrupted run that did commit
+        salaryRepository.save(Salary.builder().employee(attending).amount(1.0)
+                .paymentDate(month.atEndOfMonth()).payrollMonth(month.atDay(1)).remarks("partial").build());
+
+        PayrollRunReport report = payrollService.run(month, null);
+
+        assertThat(report.paid()).isEqualTo(2);
+        assertThat(report.alreadyPaid()).isEqualTo(1);
+        Map<Integer, Salary> paid = paidIn(month);
+        assertThat(paid).hasSize(3);
+        assertThat(paid.get(attending.getEmployeeId()).getAmount()).isEqualTo(1.0);
+    }
+
+    @Test
+    void salaryPaidBehindTheRunIsNotCountedAsPaid() {
+        LocalDate month = LocalDate.of(2025, 8, 1);
+        // committed by a racing run after this one read who was already paid
+        jdbcTemplate.update("INSERT INTO salaries (amount, payment_date, remarks, employee_id, payroll_month) "
+                + "VALUES (?, ?, ?, ?, ?)", 1.0, Date.valueOf(month.plusDays(30)), "other run",
+                absent.getEmployeeId(), Date.valueOf(month));
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        boolean[] inserted = tx.execute(s -> salaryRepository.insertPayrollIgnoringExisting(List.of(
+                salary(absent, month, 2.0), salary(attending, month, 3.0))));
+
+        assertThat(inserted).containsExactly(false, true);
+        assertThat(jdbcTemplate.queryForObject("SELECT amount FROM salaries WHERE employee_id = ? AND payroll_month = ?",
+                Double.class, absent.getEmployeeId(), Date.valueOf(month))).isEqualTo(1.0);
+    }
+
+    /**
+     * attending: 10 full days; onLeave: 2 full and 2 half days; capped: 3 full days.
+     */
+    private void seedMonth(YearMonth month) {
+        List<LocalDate> workingDays = month.atDay(1).datesUntil(month.atEndOfMonth().plusDays(1))
+                .filter(calendar::isWorkingDay).toList();
+        for (int d = 0; d < 10; d++) attend(attending, workingDays.get(d), Attendance.Status.FULL_DAY);
+        for (int d = 0; d < 4; d++) attend(onLeave, workingDays.get(d), d < 2 ? Attendance.Status.FULL_DAY : Attendance.Status.HALF_DAY);
+        for (int d = 0; d < 3; d++) attend(capped, workingDays.get(d), Attendance.Status.FULL_DAY);
+        // no summary rebuild: the rows bypass the summary hooks, so the run has to rebuild the month
+    }
+
+    private Map<Integer, Salary> paidIn(YearMonth month) {
+        return salaryRepository.findAll().stream()
+                .filter(s -> month.atDay(1).equals(s.getPayrollMonth()))
+                .collect(Collectors.toMap(s -> s.getEmployee().getEmployeeId(), s -> s));
+    }
+
+    private Employee employee(String email, Double salary) {
+        User u = userRepository.save(User.builder()
+                .email(email).firstName("First").lastName("Last").passwordHash("hash")
+                .role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+        return employeeRepository.save(Employee.builder()
+                .user(u).firstName("First").lastName("Last").department("ENG").salary(salary).build());
+    }
+
+    private void attend(Employee e, LocalDate date, Attendance.Status status) {
+        attendanceRepository.save(Attendance.builder().user(e.getUser()).date(date).status(status).build());
+    }
+
+    private void leave(Employee e, LocalDate from, LocalDate to, Leave.Status status) {
+        leaveRepository.save(Leave.builder().user(e.getUser()).startDate(from).endDate(to)
+                .status(status).reason("r").build());
+    }
+
+    private static Salary salary(Employee e, LocalDate month, double amount) {
+        return Salary.builder().employee(Employee.builder().employeeId(e.getEmployeeId()).build())
+                .amount(amount).paymentDate(month.plusDays(30)).payrollMonth(month).remarks("run").build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.hrms.service;
+
+import com.hrms.dao.EmployeeRepository;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.BulkRegistrationRequest;
+import com.hrms.dto.BulkRegistrationResult;
+import com.hrms.dto.EmployeeDirectoryEntry;
+import com.hrms.entity.Employee;
+import com.hrms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk registration decisions: per-entry outcomes, the employee rows approvals create,
+ * and no cache (user lookups, employee-by-email query, search index) left showing the
+ * users as they were before.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_registration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class RegistrationServiceTest {
+
+    // one instance per test method, one database for the class
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired private RegistrationService registrationService;
+    @Autowired private UserService userService;
+    @Autowired private EmployeeSearchIndex searchIndex;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // the JCache regions are shared by every test context in the JVM (one CacheManager per
+    // ehcache.xml), so users cached from another test's database can carry these ids
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void mixedBatchReportsEveryEntryInOrder() {
+        User approved = user("Quillfeather", User.Role.EMPLOYEE, User.Status.PENDING);
+        User approvedToo = user("Quillfeather", User.Role.EMPLOYEE, User.Status.PENDING);
+        User rejected = user("Marrowby", User.Role.EMPLOYEE, User.Status.PENDING);
+        User active = user("Active", User.Role.EMPLOYEE, User.Status.ACTIVE);
+        User hrManager = user("Manager", User.Role.HR_MANAGER, User.Status.PENDING);
+        User undecided = user("Undecided", User.Role.EMPLOYEE, User.Status.PENDING);
+
+        List<BulkRegistrationResult> results = registrationService.decide(List.of(
+                approve(approved.getUserId(), "ENG", 30000.0),
+                reject(rejected.getUserId()),
+                approve(999_999, null, null),
+                reject(approved.getUserId()),
+                approve(active.getUserId(), null, null),
+                approve(hrManager.getUserId(), null, null),
+                entry(approvedToo.getUserId(), "yes"),
+                entry(null, "APPROVE"),
+                entry(undecided.getUserId(), "maybe")));
+
+        assertThat(results).extracting(BulkRegistrationResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+        assertThat(results).extracting(BulkRegistrationResult::getOutcome).containsExactly(
+                BulkRegistrationResult.Outcome.APPROVED,
+                BulkRegistrationResult.Outcome.REJECTED,
+                BulkRegistrationResult.Outcome.USER_NOT_FOUND,
+                BulkRegistrationResult.Outcome.INVALID,
+                BulkRegistrationResult.Outcome.NOT_PENDING,
+                BulkRegistrationResult.Outcome.NOT_PENDING,
+                BulkRegistrationResult.Outcome.APPROVED,
+                BulkRegistrationResult.Outcome.INVALID,
+                BulkRegistrationResult.Outcome.INVALID);
+        assertThat(results.get(3).getMessage()).contains("more than once");
+        assertThat(results.get(5).getMessage()).contains("pending employee registration");
+
+        assertThat(status(approved)).isEqualTo(User.Status.ACTIVE);
+        assertThat(status(approvedToo)).isEqualTo(User.Status.ACTIVE);
+        assertThat(status(rejected)).isEqualTo(User.Status.REJECTED);
+        assertThat(status(active)).isEqualTo(User.Status.ACTIVE);
+        assertThat(status(hrManager)).isEqualTo(User.Status.PENDING);
+        assertThat(status(undecided)).isEqualTo(User.Status.PENDING);
+        assertThat(userRepository.findById(approved.getUserId()).orElseThrow().getVersion())
+                .isGreaterThan(approved.getVersion());
+
+        assertThat(employeeCount(rejected)).isZero();
+        assertThat(employeeCount(active)).isZero();
+        assertThat(employeeCount(hrManager)).isZero();
+    }
+
+    @Test
+    void approvalsCreateEmployeesAndReturnTheirIds() {
+        User first = user("Brackenridge", User.Role.EMPLOYEE, User.Status.PENDING);
+        User second = user("Brackenridge", User.Role.EMPLOYEE, User.Status.PENDING);
+
+        List<BulkRegistrationResult> results = registrationService.decide(List.of(
+                approve(first.getUserId(), "ENG", 30000.0),
+                approve(second.getUserId(), "OPS", null)));
+
+        Employee firstEmployee = employeeRepository.findByUserEmail(first.getEmail()).orElseThrow();
+        Employee secondEmployee = employeeRepository.findByUserEmail(second.getEmail()).orElseThrow();
+        assertThat(results).extracting(BulkRegistrationResult::getEmployeeId)
+                .containsExactly(firstEmployee.getEmployeeId(), secondEmployee.getEmployeeId());
+        assertThat(firstEmployee.getDepartment()).isEqualTo("ENG");
+        assertThat(firstEmployee.getSalary()).isEqualTo(30000.0);
+        assertThat(firstEmployee.getFirstName()).isEqualTo(first.getFirstName());
+        assertThat(firstEmployee.getLastName()).isEqualTo("Brackenridge");
+        assertThat(secondEmployee.getDepartment()).isEqualTo("OPS");
+
+        // deciding again changes nothing
+        List<BulkRegistrationResult> again = registrationService.decide(List.of(
+                approve(first.getUserId(), "ENG", 30000.0), reject(second.getUserId())));
+        assertThat(again).extracting(BulkRegistrationResult::getOutcome)
+                .containsOnly(BulkRegistrationResult.Outcome.NOT_PENDING);
+        assertThat(employeeCount(first)).isEqualTo(1);
+        assertThat(status(second)).isEqualTo(User.Status.ACTIVE);
+    }
+
+    @Test
+    void cachesNoLongerShowTheUsersAsPending() {
+        User approved = user("Thistlewood", User.Role.EMPLOYEE, User.Status.PENDING);
+        User rejected = user("Thistlewood", User.Role.EMPLOYEE, User.Status.PENDING);
+        // prime every cache the decision has to invalidate
+        assertThat(userService.findById(approved.getUserId()).orElseThrow().getStatus()).isEqualTo(User.Status.PENDING);
+        assertThat(userService.findByEmail(approved.getEmail()).orElseThrow().getStatus()).isEqualTo(User.Status.PENDING);
+        assertThat(userService.findByEmail(rejected.getEmail()).orElseThrow().getStatus()).isEqualTo(User.Status.PENDING);
+        assertThat(employeeRepository.findByUserEmail(approved.getEmail())).isEmpty();
+        assertThat(searchIndex.search("Thistlewood", 0, 10).items()).isEmpty();
+
+        List<BulkRegistrationResult> results = registrationService.decide(List.of(
+                approve(approved.getUserId(), null, null), reject(rejected.getUserId())));
+
+        assertThat(userService.findById(approved.getUserId()).orElseThrow().getStatus()).isEqualTo(User.Status.ACTIVE);
+        assertThat(userService.findByEmail(approved.getEmail()).orElseThrow().getStatus()).isEqualTo(User.Status.ACTIVE);
+        assertThat(userService.findByEmail(rejected.getEmail()).orElseThrow().getStatus()).isEqualTo(User.Status.REJECTED);
+        assertThat(userService.findById(rejected.getUserId()).orElseThrow().getStatus()).isEqualTo(User.Status.REJECTED);
+        assertThat(employeeRepository.findByUserEmail(approved.getEmail())).isPresent();
+        assertThat(searchIndex.search("Thistlewood", 0, 10).items()).extracting(EmployeeDirectoryEntry::employeeId)
+                .containsExactly(results.get(0).getEmployeeId());
+    }
+
+    @Test
+    void emptyBatchDecidesNothing() {
+        assertThat(registrationService.decide(List.of())).isEmpty();
+        assertThat(registrationService.decide(null)).isEmpty();
+        List<BulkRegistrationRequest.Entry> onlyNull = new ArrayList<>();
+        onlyNull.add(null);
+        assertThat(registrationService.decide(onlyNull)).extracting(BulkRegistrationResult::getOutcome)
+                .containsExactly(BulkRegistrationResult.Outcome.INVALID);
+    }
+
+    private User.Status status(User user) {
+        return userRepository.findById(user.getUserId()).orElseThrow().getStatus();
+    }
+
+    private int employeeCount(User user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE user_id = ?", Integer.class,
+                user.getUserId());
+    }
+
+    private static BulkRegistrationRequest.Entry approve(Integer userId, String department, Double salary) {
+        BulkRegistrationRequest.Entry e = entry(userId, "APPROVE");
+        e.setDepartment(department);
+        e.setSalary(salary);
+        return e;
+    }
+
+    private static BulkRegistrationRequest.Entry reject(Integer userId) {
+        BulkRegistrationRequest.Entry e = entry(userId, "REJECT");
+        e.setReason("duplicate");
+        return e;
+    }
+
+    private static BulkRegistrationRequest.Entry entry(Integer userId, String decision) {
+        BulkRegistrationRequest.Entry e = new BulkRegistrationRequest.Entry();
+        e.setUserId(userId);
+        e.setDecision(decision);
+        return e;
+    }
+
+    private User user(String lastName, User.Role role, User.Status status) {
+        int n = USERS.incrementAndGet();
+        return userRepository.save(User.builder()
+                .email("registration" + n + "@example.com").firstName("First" + n).lastName(lastName)
+                .passwordHash("hash").role(role).status(status).build());
+    }
+}
@@ -0,0 +1,238 @@
+package com.hrms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.dao.UserRepository;
+import com.hrms.dto.UserImportReport;
+import com.hrms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Background user import: duplicates inside the file and against registered users,
+ * role rows for ADMIN and HR_MANAGER, resuming a failed import from committedThrough,
+ * and the cap on pending imports under concurrent uploads.
+ *
+ * Services are built by hand around a plain-text encoder so multi-chunk files stay fast
+ * (and so an encoder can fail or stall on purpose).
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:hrms_user_import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+class UserImportServiceTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private Clock clock;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final List<UserImportService> services = new ArrayList<>();
+
+    @AfterEach
+    void stopServices() {
+        services.forEach(UserImportService::stop);
+    }
+
+    @Test
+    void duplicatesInTheFileAndAgainstRegisteredUsersAreSkipped() throws Exception {
+        userRepository.save(User.builder().email("dup-registered@example.com").firstName("Old").lastName("User")
+                .passwordHash("hash").role(User.Role.EMPLOYEE).status(User.Status.ACTIVE).build());
+        UserImportService service = service(plain());
+
+        UserImportReport report = await(service, service.submit("users.csv", null, upload("email,password\n"
+                + "dup-new@example.com,pw1\n"
+                + "DUP-NEW@example.com,pw2\n"
+                + "dup-registered@example.com,pw3\n"
+                + "dup-other@example.com,pw4\n"), 0));
+
+        assertThat(report.status()).isEqualTo(UserImportReport.Status.COMPLETED);
+        assertThat(report.recordsRead()).isEqualTo(4);
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.alreadyRegistered()).isEqualTo(1);
+        assertThat(report.errors()).extracting(UserImportReport.RowError::record).containsExactly(2L);
+        assertThat(report.errors().get(0).error()).contains("earlier in the file");
+        assertThat(userRepository.findByEmail("dup-new@example.com").orElseThrow().getPasswordHash())
+                .isEqualTo("plain:pw1");
+        assertThat(userRepository.findByEmail("dup-registered@example.com").orElseThrow().getFirstName())
+                .isEqualTo("Old");
+    }
+
+    @Test
+    void adminAndHrManagerGetTheirRoleRows() throws Exception {
+        UserImportService service = service(plain());
+
+        UserImportReport report = await(service, service.submit("users.json", null, upload("""
+                [{"email": "role-admin@example.com", "password": "a", "role": "admin", "accessLevel": "SUPER_ADMIN"},
+                 {"email": "role-hr@example.com", "password": "h", "role": "HR", "officeLocation": "Pune", "phone": "123"},
+                 {"email": "role-emp@example.com", "password": "e", "firstName": "Emp"}]
+                """), 0));
+
+        assertThat(report.status()).isEqualTo(UserImportReport.Status.COMPLETED);
+        assertThat(report.created()).isEqualTo(3);
+        assertThat(report.admins()).isEqualTo(1);
+        assertThat(report.hrManagers()).isEqualTo(1);
+
+        assertThat(userRepository.findByEmail("role-admin@example.com").orElseThrow().getStatus())
+                .isEqualTo(User.Status.ACTIVE);
+        assertThat(userRepository.findByEmail("role-emp@example.com").orElseThrow().getStatus())
+                .isEqualTo(User.Status.PENDING);
+        assertThat(jdbcTemplate.queryForObject("SELECT a.access_level FROM admins a JOIN users u ON u.user_id = a.user_id "
+                + "WHERE u.email = ?", String.class, "role-admin@example.com")).isEqualTo("super_admin");
+        Map<String, Object> hr = jdbcTemplate.queryForMap("SELECT h.office_location, h.phone FROM hr_managers h "
+                + "JOIN users u ON u.user_id = h.user_id WHERE u.email = ?", "role-hr@example.com");
+        assertThat(hr).containsEntry("office_location", "Pune").containsEntry("phone", "123");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM admins a JOIN users u ON u.user_id = a.user_id "
+                + "WHERE u.email LIKE 'role-%'", Integer.class)
+                + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hr_managers h JOIN users u ON u.user_id = h.user_id "
+                + "WHERE u.email LIKE 'role-%'", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void failedImportResumesFromCommittedThrough() throws Exception {
+        int records = 2 * UserImportService.CHUNK_SIZE + 10;
+        StringBuilder file = new StringBuilder("email,password\n");
+        for (int i = 1; i <= records; i++) {
+            file.append("resume").append(i).append("@example.com,").append(i == 600 ? "boom" : "pw" + i).append('\n');
+        }
+
+        // the second chunk fails while hashing: the first stays committed
+        UserImportService failing = service(new PlainEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                if ("boom".contentEquals(raw)) throw new IllegalStateException("encoder down");
+                return super.encode(raw);
+            }
+        });
+        UserImportReport failed = await(failing, failing.submit("users.csv", null, upload(file.toString()), 0));
+        assertThat(failed.status()).isEqualTo(UserImportReport.Status.FAILED);
+        assertThat(failed.committedThrough()).isEqualTo(UserImportService.CHUNK_SIZE);
+        assertThat(failed.created()).isEqualTo(UserImportService.CHUNK_SIZE);
+
+        // resuming a little before committedThrough is harmless: those records are already registered
+        long resumeFrom = failed.committedThrough() - 50;
+        UserImportService service = service(plain());
+        UserImportReport resumed = await(service, service.submit("users.csv", null, upload(file.toString()), resumeFrom));
+
+        assertThat(resumed.status()).isEqualTo(UserImportReport.Status.COMPLETED);
+        assertThat(resumed.resumeFrom()).isEqualTo(resumeFrom);
+        assertThat(resumed.recordsRead()).isEqualTo(records - resumeFrom);
+        assertThat(resumed.alreadyRegistered()).isEqualTo(50);
+        assertThat(resumed.created()).isEqualTo(records - UserImportService.CHUNK_SIZE);
+        assertThat(resumed.committedThrough()).isEqualTo(records);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE email LIKE 'resume%'", Integer.class))
+                .isEqualTo(records);
+    }
+
+    @Test
+    void concurrentUploadsCannotExceedThePendingCap() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        UserImportService service = service(new PlainEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                try {
+                    release.await();
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(raw);
+            }
+        });
+
+        int uploads = 3 * UserImportService.MAX_PENDING_IMPORTS;
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(uploads);
+        List<UserImportReport> accepted = new ArrayList<>();
+        int rejected = 0;
+        try {
+            List<Future<UserImportReport>> submissions = new ArrayList<>();
+            for (int i = 0; i < uploads; i++) {
+                String csv = "email,password\ncap" + i + "@example.com,pw\n";
+                submissions.add(pool.submit(() -> {
+                    go.await();
+                    return service.submit("users.csv", null, upload(csv), 0);
+                }));
+            }
+            go.countDown();
+            for (Future<UserImportReport> f : submissions) {
+                try {
+                    accepted.add(f.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(IllegalStateException.class);
+                    rejected++;
+                }
+            }
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+
+        assertThat(accepted).hasSize(UserImportService.MAX_PENDING_IMPORTS);
+        assertThat(rejected).isEqualTo(uploads - UserImportService.MAX_PENDING_IMPORTS);
+        for (UserImportReport report : accepted) {
+            assertThat(await(service, report).status()).isEqualTo(UserImportReport.Status.COMPLETED);
+        }
+        assertThatThrownBy(() -> service.submit("users.txt", "xml", upload(""), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UserImportService service(PasswordEncoder encoder) {
+        UserImportService service = new UserImportService(userRepository, encoder, objectMapper, entityManagerFactory,
+                transactionManager, clock, 2);
+        services.add(service);
+        return service;
+    }
+
+    private static UserImportReport await(UserImportService service, UserImportReport submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (true) {
+            UserImportReport report = service.report(submitted.importId()).orElseThrow();
+            if (report.status() == UserImportReport.Status.COMPLETED || report.status() == UserImportReport.Status.FAILED) {
+                return report;
+            }
+            assertThat(System.nanoTime()).as("import %s did not finish", report.importId()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static PasswordEncoder plain() {
+        return new PlainEncoder();
+    }
+
+    private static ByteArrayInputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence raw) {
+            return "plain:" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encode(raw).equals(encoded);
+        }
+    }
+}
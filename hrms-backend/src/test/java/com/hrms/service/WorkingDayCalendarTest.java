@@ -0,0 +1,155 @@
+package com.hrms.service;
+
+import com.hrms.dao.HolidayRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * workingDaysBetween against hand-counted ranges and a day-by-day count, with
+ * holidays served from a mutable set.
+ */
+class WorkingDayCalendarTest {
+
+    private static final Set<DayOfWeek> SAT_SUN = Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    private final Set<LocalDate> holidays = new HashSet<>();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rangeWithinOneYear() {
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+
+        // Mon 3 March .. Fri 14 March 2025
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 14))).isEqualTo(10);
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 3))).isEqualTo(1);
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 3, 8), LocalDate.of(2025, 3, 9))).isZero();
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 3, 14), LocalDate.of(2025, 3, 3))).isZero();
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31))).isEqualTo(261);
+    }
+
+    @Test
+    void rangeAcrossYears() {
+        holidays.add(LocalDate.of(2025, 1, 1));
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+
+        // Mon 30 Dec 2024 .. Fri 3 Jan 2025, New Year's Day off
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3))).isEqualTo(4);
+        // 2023 (260) + 2024 (262) + 2025 (261 - 1 holiday)
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2023, 1, 1), LocalDate.of(2025, 12, 31))).isEqualTo(782);
+    }
+
+    @Test
+    void leapYears() {
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+
+        assertThat(calendar.isWorkingDay(LocalDate.of(2024, 2, 29))).isTrue();
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29))).isEqualTo(21);
+        // day 366 of 2024 (a Tuesday) to the first working day of 2025
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1))).isEqualTo(2);
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))).isEqualTo(262);
+    }
+
+    @Test
+    void holidayOnAWeekendIsNotCountedTwice() {
+        holidays.add(LocalDate.of(2025, 3, 8)); // Saturday
+        holidays.add(LocalDate.of(2025, 3, 12)); // Wednesday
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+
+        assertThat(calendar.workingDaysBetween(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 14))).isEqualTo(9);
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 3, 12))).isFalse();
+        assertThat(calendar.isWeekend(LocalDate.of(2025, 3, 12))).isFalse();
+        assertThat(calendar.isWeekend(LocalDate.of(2025, 3, 8))).isTrue();
+    }
+
+    @Test
+    void customWeekend() {
+        WorkingDayCalendar fridaySaturday = calendar(Set.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY));
+        // Sun 2 March .. Sat 8 March 2025: Sunday to Thursday
+        assertThat(fridaySaturday.workingDaysBetween(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 8))).isEqualTo(5);
+        assertThat(fridaySaturday.isWorkingDay(LocalDate.of(2025, 3, 2))).isTrue();
+        assertThat(fridaySaturday.isWorkingDay(LocalDate.of(2025, 3, 7))).isFalse();
+
+        WorkingDayCalendar noWeekend = calendar(Set.of());
+        assertThat(noWeekend.workingDaysBetween(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 8))).isEqualTo(7);
+    }
+
+    @Test
+    void matchesADayByDayCount() {
+        holidays.addAll(List.of(LocalDate.of(2023, 12, 25), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 7, 4), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 14)));
+        Set<DayOfWeek> weekend = Set.of(DayOfWeek.SUNDAY);
+        WorkingDayCalendar calendar = calendar(weekend);
+
+        LocalDate origin = LocalDate.of(2023, 11, 20);
+        for (int start = 0; start < 800; start += 37) {
+            for (int length = 0; length < 500; length += 23) {
+                LocalDate from = origin.plusDays(start);
+                LocalDate to = from.plusDays(length);
+                long expected = from.datesUntil(to.plusDays(1))
+                        .filter(d -> !weekend.contains(d.getDayOfWeek()) && !holidays.contains(d))
+                        .count();
+                assertThat(calendar.workingDaysBetween(from, to)).as("%s..%s", from, to).isEqualTo((int) expected);
+            }
+        }
+    }
+
+    @Test
+    void invalidateInsideATransactionTakesEffectAfterCompletion() {
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+        LocalDate from = LocalDate.of(2025, 3, 3);
+        LocalDate to = LocalDate.of(2025, 3, 14);
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        holidays.add(LocalDate.of(2025, 3, 12));
+        calendar.invalidate();
+        // not committed yet: built years are kept (a rebuild now could miss the new holiday)
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(10);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(calendar.workingDaysBetween(from, to)).isEqualTo(9);
+    }
+
+    @Test
+    void invalidateOutsideATransactionIsImmediate() {
+        WorkingDayCalendar calendar = calendar(SAT_SUN);
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 3, 12))).isTrue();
+
+        holidays.add(LocalDate.of(2025, 3, 12));
+        calendar.invalidate();
+
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 3, 12))).isFalse();
+    }
+
+    private WorkingDayCalendar calendar(Set<DayOfWeek> weekend) {
+        HolidayRepository repository = mock(HolidayRepository.class);
+        when(repository.findPublicHolidayDates(any(), any())).thenAnswer(call -> {
+            LocalDate from = call.getArgument(0);
+            LocalDate to = call.getArgument(1);
+            return holidays.stream().filter(d -> !d.isBefore(from) && !d.isAfter(to)).toList();
+        });
+        return new WorkingDayCalendar(repository, weekend);
+    }
+}